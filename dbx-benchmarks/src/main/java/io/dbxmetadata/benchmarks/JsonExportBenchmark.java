@@ -0,0 +1,83 @@
+package io.dbxmetadata.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.dbxmetadata.model.*;
+import io.dbxmetadata.util.ExportSink;
+import io.dbxmetadata.util.JsonExporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Writes the same metadata through databind and through the exporter's own serializer. Both
+// write to a discarding stream, so only serialization is measured.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class JsonExportBenchmark {
+
+    @Param({"true", "false"})
+    public boolean prettyPrint;
+
+    // Tables per schema, with 12 columns each
+    @Param({"50", "500"})
+    public int tables;
+
+    private DatabaseMetadata metadata;
+    private ObjectMapper mapper;
+    private ExportOptions options;
+
+    @Setup
+    public void setUp() {
+        DatabaseMetadata.Builder builder = DatabaseMetadata.builder()
+                .productName("PostgreSQL")
+                .productVersion("16.1")
+                .url("jdbc:postgresql://localhost/bench");
+        for (int s = 0; s < 10; s++) {
+            SchemaMetadata.Builder schema = SchemaMetadata.builder("schema_" + s).owner("admin");
+            for (int t = 0; t < tables; t++) {
+                schema.addTable(table("table_" + t));
+            }
+            builder.addSchema(schema.build());
+        }
+        metadata = builder.build();
+
+        mapper = JsonExporter.getObjectMapper().copy()
+                .configure(SerializationFeature.INDENT_OUTPUT, prettyPrint);
+        options = ExportOptions.builder().prettyPrint(prettyPrint).build();
+    }
+
+    @Benchmark
+    public void databind() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), metadata);
+    }
+
+    @Benchmark
+    public long exporter() {
+        return JsonExporter.export(metadata, options, ExportSink.discard()).getBytesWritten();
+    }
+
+    private static TableMetadata table(String name) {
+        TableMetadata.Builder table = TableMetadata.builder(name)
+                .comment("Table " + name)
+                .rowCount(1000L)
+                .primaryKey(PrimaryKeyMetadata.builder().name("pk_" + name).addColumn("id").build())
+                .addIndex(IndexMetadata.builder().name("ix_" + name + "_created").type(IndexMetadata.IndexType.BTREE)
+                        .addColumn("created_at", IndexMetadata.SortOrder.DESC, 1).build())
+                .addForeignKey(ForeignKeyMetadata.builder().name("fk_" + name + "_owner").addColumn("owner_id")
+                        .referencedTable("users").addReferencedColumn("id").build());
+        table.addColumn(ColumnMetadata.builder("id").dataType("bigint").primaryKey(true).nullable(false)
+                .autoIncrement(true).ordinalPosition(1).build());
+        for (int c = 2; c <= 12; c++) {
+            table.addColumn(ColumnMetadata.builder("column_" + c).dataType("varchar").size(255)
+                    .defaultValue(c % 3 == 0 ? "''" : null).comment(c % 2 == 0 ? "Column " + c : null)
+                    .ordinalPosition(c).build());
+        }
+        return table.build();
+    }
+}
@@ -2,19 +2,48 @@ package io.dbxmetadata.api;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExplorationOptions;
 import io.dbxmetadata.model.ExportOptions;
 import io.dbxmetadata.model.ExportResult;
+import io.dbxmetadata.model.MetadataEvent;
 import io.dbxmetadata.model.SchemaMetadata;
+import io.dbxmetadata.util.ExportSink;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 public interface DatabaseExplorer {
 
     DatabaseMetadata explore() throws MetadataExtractionException;
+    DatabaseMetadata explore(ExplorationOptions options) throws MetadataExtractionException;
+    // Extracts only objects changed since the previous exploration, which must have used the same
+    // options, and reuses the others; dropped objects are left out. Vendors without change
+    // tracking explore everything.
+    DatabaseMetadata exploreIncremental(DatabaseMetadata previous) throws MetadataExtractionException;
+    DatabaseMetadata exploreIncremental(DatabaseMetadata previous, ExplorationOptions options)
+            throws MetadataExtractionException;
     Optional<SchemaMetadata> getSchema(String schemaName) throws MetadataExtractionException;
     List<String> listSchemas() throws MetadataExtractionException;
     ExportResult export(ExportOptions options) throws MetadataExtractionException;
+    // Writes to the sink instead of the options' output path
+    ExportResult export(ExportOptions options, ExportSink sink) throws MetadataExtractionException;
+
+    // Non-blocking variants. Cancelling the returned future cancels the catalog queries in flight.
+    CompletableFuture<DatabaseMetadata> exploreAsync(ExplorationOptions options);
+    CompletableFuture<Optional<SchemaMetadata>> getSchemaAsync(String schemaName);
+    CompletableFuture<ExportResult> exportAsync(ExportOptions options);
+    CompletableFuture<ExportResult> exportAsync(ExportOptions options, ExportSink sink);
+
+    // Emits each schema header and object as soon as it is extracted, following subscriber demand.
+    // Nothing is retained, so the catalog never has to fit in memory at once.
+    Flow.Publisher<MetadataEvent> stream(ExplorationOptions options);
+
+    // Drops cached metadata of the table, for example after altering it; the next exploration
+    // extracts it again. Does nothing for explorers without a cache.
+    void invalidate(String schemaName, String tableName);
+
     String getDatabaseProductName();
     String getDatabaseProductVersion();
 }
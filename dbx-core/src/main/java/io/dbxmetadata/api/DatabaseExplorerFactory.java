@@ -2,6 +2,9 @@ package io.dbxmetadata.api;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.impl.DefaultDatabaseExplorer;
+import io.dbxmetadata.impl.MetadataCache;
+import io.dbxmetadata.impl.ParallelExtractor;
+import io.dbxmetadata.impl.TableCache;
 import io.dbxmetadata.strategy.GenericJdbcMetadataStrategy;
 import io.dbxmetadata.strategy.MetadataStrategy;
 import io.dbxmetadata.strategy.MsSqlMetadataStrategy;
@@ -16,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class DatabaseExplorerFactory {
     private static final List<MetadataStrategy> STRATEGIES = new ArrayList<>();
@@ -33,14 +37,26 @@ public class DatabaseExplorerFactory {
     }
 
     public static DatabaseExplorer create(Connection connection) {
+        return create(connection, MetadataCache.disabled());
+    }
+
+    // explore() and export() are served from the cache while it is enabled
+    public static DatabaseExplorer create(Connection connection, MetadataCache cache) {
+        return create(connection, cache, null);
+    }
+
+    // Complete explorations also reuse tables from the table cache, if given
+    public static DatabaseExplorer create(Connection connection, MetadataCache cache, TableCache tableCache) {
         Objects.requireNonNull(connection, "Connection cannot be null");
+        Objects.requireNonNull(cache, "Cache cannot be null");
 
         try {
             DatabaseMetaData dbMetaData = connection.getMetaData();
             String productName = dbMetaData.getDatabaseProductName();
             String productVersion = dbMetaData.getDatabaseProductVersion();
             MetadataStrategy strategy = findStrategy(productName);
-            return new DefaultDatabaseExplorer(connection, strategy, productName, productVersion);
+            return new DefaultDatabaseExplorer(connection, strategy, productName, productVersion, cache,
+                    tableCache);
         } catch (SQLException e) {
             throw new MetadataExtractionException("Failed to detect database vendor", e);
         }
@@ -57,6 +73,39 @@ public class DatabaseExplorerFactory {
         }
     }
 
+    // Explores on up to `parallelism` connections from the DataSource, using virtual threads where
+    // available. Each call borrows connections and returns them to the pool when done.
+    public static DatabaseExplorer create(DataSource dataSource, int parallelism) {
+        return create(dataSource, parallelism, null);
+    }
+
+    public static DatabaseExplorer create(DataSource dataSource, int parallelism, Executor executor) {
+        return create(dataSource, parallelism, executor, MetadataCache.disabled());
+    }
+
+    public static DatabaseExplorer create(DataSource dataSource, int parallelism, Executor executor,
+                                          MetadataCache cache) {
+        return create(dataSource, parallelism, executor, cache, null);
+    }
+
+    public static DatabaseExplorer create(DataSource dataSource, int parallelism, Executor executor,
+                                          MetadataCache cache, TableCache tableCache) {
+        Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        Objects.requireNonNull(cache, "Cache cannot be null");
+        ParallelExtractor extractor = new ParallelExtractor(dataSource, parallelism, executor);
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData dbMetaData = connection.getMetaData();
+            String productName = dbMetaData.getDatabaseProductName();
+            String productVersion = dbMetaData.getDatabaseProductVersion();
+            MetadataStrategy strategy = findStrategy(productName);
+            return new DefaultDatabaseExplorer(dataSource, extractor, strategy, productName, productVersion, cache,
+                    tableCache);
+        } catch (SQLException e) {
+            throw new MetadataExtractionException("Failed to obtain connection from DataSource", e);
+        }
+    }
+
     public static DatabaseExplorer create(Connection connection, MetadataStrategy strategy) {
         Objects.requireNonNull(connection, "Connection cannot be null");
         Objects.requireNonNull(strategy, "Strategy cannot be null");
@@ -8,11 +8,15 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -22,42 +26,131 @@ import java.util.TreeMap;
 
 public abstract class AbstractMetadataStrategy implements MetadataStrategy {
 
-    protected final Logger log = LoggerFactory.getLogger(getClass());
+    // Beyond this many relations, filtered bulk queries read the whole schema instead and rows of
+    // other relations are dropped on the client; SQL Server allows 2100 parameters per statement
+    private static final int MAX_BOUND_NAMES = 1000;
 
-    private final List<String> warnings = new ArrayList<>();
+    protected final Logger log = LoggerFactory.getLogger(getClass());
 
+    // The plain overloads only open a fresh context and delegate. Exploration calls the context
+    // overloads directly and never comes back through these, so subclasses must override the
+    // context overloads; overriding these has no effect on explore().
     @Override
+    @Deprecated
     public DatabaseMetadata explore(Connection connection) throws MetadataExtractionException {
-        warnings.clear();
+        return explore(connection, new ExplorationContext());
+    }
+
+    @Override
+    public DatabaseMetadata explore(Connection connection, ExplorationContext context)
+            throws MetadataExtractionException {
+        return explore(connection, context, (conn, schemaName) -> extractSchema(conn, schemaName, context));
+    }
+
+    @Override
+    public DatabaseMetadata exploreIncremental(Connection connection, DatabaseMetadata previous,
+                                               ExplorationContext context) throws MetadataExtractionException {
+        // Whole seconds, rounded up and widened by one for servers that keep second precision.
+        // Compared against the server's clock, so client clock skew does not matter.
+        Duration age = Duration.ofSeconds(Duration.between(previous.getExtractedAt(), Instant.now()).toSeconds() + 2);
+
+        CatalogFingerprints fingerprints = context.getPreviousFingerprints();
+
+        return explore(connection, context, (conn, schemaName) -> {
+            SchemaMetadata previousSchema = previous.findSchema(schemaName).orElse(null);
+            if (previousSchema != null) {
+                try {
+                    SchemaMetadata schema = extractSchemaChanges(conn, previousSchema,
+                            fingerprints.schema(schemaName), age, context);
+                    if (schema != null) {
+                        return schema;
+                    }
+                } catch (SQLException e) {
+                    context.checkCancelled();
+                    log.debug("Incremental extraction failed for {}, extracting the whole schema: {}",
+                            schemaName, e.getMessage());
+                }
+            }
+            return extractSchema(conn, schemaName, context);
+        });
+    }
+
+    // Extracts the objects of the schema that changed within the given age and takes the others
+    // from the previous extraction; null if the strategy cannot tell which objects changed. The
+    // fingerprints are those recorded with the previous extraction, null if there are none.
+    protected SchemaMetadata extractSchemaChanges(Connection connection, SchemaMetadata previous,
+                                                  CatalogFingerprints.Schema fingerprints, Duration age,
+                                                  ExplorationContext context) throws SQLException {
+        return null;
+    }
+
+    // "AND column IN (?, ...)" restricting a bulk query to the named relations; empty for all
+    protected static String relationFilter(String column, Set<String> names) {
+        if (names == null || names.size() > MAX_BOUND_NAMES) {
+            return "";
+        }
+        return "  AND " + column + " IN (" + String.join(", ", Collections.nCopies(names.size(), "?")) + ")\n";
+    }
+
+    // Binds the parameters of relationFilter, starting at the given index
+    protected static void bindRelationNames(PreparedStatement stmt, int index, Set<String> names)
+            throws SQLException {
+        if (names == null || names.size() > MAX_BOUND_NAMES) {
+            return;
+        }
+        for (String name : names) {
+            stmt.setString(index++, name);
+        }
+    }
 
+    private DatabaseMetadata explore(Connection connection, ExplorationContext context,
+                                     ParallelExtractor.ConnectionFunction<String, SchemaMetadata> extraction)
+            throws MetadataExtractionException {
         try {
             DatabaseMetaData dbMeta = connection.getMetaData();
 
+            // Stamped before extracting, so changes made meanwhile count for the next incremental run
             DatabaseMetadata.Builder builder = DatabaseMetadata.builder()
                     .productName(dbMeta.getDatabaseProductName())
                     .productVersion(dbMeta.getDatabaseProductVersion())
                     .driverName(dbMeta.getDriverName())
                     .driverVersion(dbMeta.getDriverVersion())
                     .url(dbMeta.getURL())
-                    .userName(dbMeta.getUserName());
+                    .userName(dbMeta.getUserName())
+                    .extractedAt(Instant.now());
 
             // Extract schemas
             List<String> schemaNames = listSchemas(connection);
-            for (String schemaName : schemaNames) {
+            List<SchemaMetadata> schemas = context.map(connection, schemaNames, (conn, schemaName) -> {
                 try {
-                    SchemaMetadata schema = extractSchema(connection, schemaName);
-                    builder.addSchema(schema);
+                    SchemaMetadata schema = extraction.apply(conn, schemaName);
+                    return context.isStreaming() ? null : context.cacheTables(schema);
                 } catch (MetadataExtractionException e) {
                     if (e.isPermissionError()) {
-                        warnings.add("Permission denied for schema: " + schemaName);
+                        context.addWarning("Permission denied for schema: " + schemaName);
                         log.warn("Skipping schema due to permission error: {}", schemaName);
-                    } else {
-                        throw e;
+                        return null;
+                    }
+                    if (context.isDeadlineExceeded() && !context.isCancelled()) {
+                        context.addWarning("Schema " + schemaName + " not completed before the deadline: "
+                                + e.getMessage());
+                        return null;
                     }
+                    throw e;
+                }
+            });
+            for (SchemaMetadata schema : schemas) {
+                if (schema != null) {
+                    builder.addSchema(schema);
                 }
             }
 
-            builder.warnings(warnings);
+            if (context.isDeadlineExceeded()) {
+                context.addWarning("Exploration deadline of " + context.getOptions().getTimeout()
+                        + " exceeded; result is partial, " + context.getSkippedCount() + " objects skipped");
+            }
+
+            builder.warnings(context.getWarnings());
             return builder.build();
 
         } catch (SQLException e) {
@@ -102,7 +195,14 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
     }
 
     @Override
+    @Deprecated
     public SchemaMetadata extractSchema(Connection connection, String schemaName) throws MetadataExtractionException {
+        return extractSchema(connection, schemaName, new ExplorationContext());
+    }
+
+    @Override
+    public SchemaMetadata extractSchema(Connection connection, String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
         try {
             DatabaseMetaData dbMeta = connection.getMetaData();
             String catalog = getCatalogForSchema(connection, schemaName);
@@ -111,6 +211,7 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
             SchemaMetadata.Builder builder = SchemaMetadata.builder()
                     .name(schemaName)
                     .catalog(catalog);
+            context.emit(new MetadataEvent.SchemaStarted(builder.build()));
 
             // Extract tables
             List<String[]> tableInfoList = new ArrayList<>();
@@ -124,17 +225,10 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
                 }
             }
 
-            for (String[] tableInfo : tableInfoList) {
-                try {
-                    TableMetadata table = extractTable(connection, tableInfo[0], tableInfo[1], tableInfo[2]);
-                    builder.addTable(table);
-                } catch (MetadataExtractionException e) {
-                    warnings.add("Failed to extract table " + tableInfo[2] + ": " + e.getMessage());
-                    log.warn("Skipping table due to error: {}", tableInfo[2], e);
-                }
-            }
+            // Statements DatabaseMetaData opens internally are not tracked, so check between its calls
+            context.checkCancelled();
 
-            // Extract views
+            // List views up front so a single bulk column call covers tables and views
             List<String[]> viewInfoList = new ArrayList<>();
             try (ResultSet rs = dbMeta.getTables(catalog, schema, null, new String[]{"VIEW"})) {
                 while (rs.next()) {
@@ -146,25 +240,91 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
                 }
             }
 
-            for (String[] viewInfo : viewInfoList) {
+            context.checkCancelled();
+
+            // Cached tables are not extracted again
+            boolean extractsTables = tableInfoList.stream()
+                    .anyMatch(tableInfo -> context.cachedTable(catalog, schemaName, tableInfo[2]) == null);
+
+            // Fetch columns for the whole schema at once; null means per-table fallback
+            Map<String, List<ColumnMetadata>> columnsByTable = !extractsTables && viewInfoList.isEmpty()
+                    ? null
+                    : extractColumnsForSchema(connection, catalog, schema);
+
+            context.checkCancelled();
+
+            // Fetch triggers once per schema and hand each table its own; null means per-table queries
+            boolean includeTriggers = context.getOptions().isIncludeTriggers();
+            Map<String, List<TriggerMetadata>> triggersByTable = !extractsTables || !includeTriggers
+                    ? null
+                    : extractTriggersForSchema(connection, catalog, schema, context);
+
+            // When streaming, each object goes to the sink as soon as it is built and is not kept here
+            List<TableMetadata> tables = context.map(connection, tableInfoList, (conn, tableInfo) -> {
+                TableMetadata table = context.cachedTable(catalog, schemaName, tableInfo[2]);
+                if (table == null) {
+                    try {
+                        table = extractTable(conn, tableInfo[0], tableInfo[1], tableInfo[2],
+                                columnsByTable != null ? columnsByTable.get(tableInfo[2]) : null,
+                                !includeTriggers ? List.of()
+                                        : triggersByTable != null
+                                        ? triggersByTable.getOrDefault(tableInfo[2], List.of())
+                                        : null,
+                                context);
+                    } catch (MetadataExtractionException e) {
+                        context.checkCancelled();
+                        context.addWarning("Failed to extract table " + tableInfo[2] + ": " + e.getMessage());
+                        log.warn("Skipping table due to error: {}", tableInfo[2], e);
+                        return null;
+                    }
+                }
+                context.emit(new MetadataEvent.TableExtracted(schemaName, table));
+                return context.isStreaming() ? null : table;
+            });
+            for (TableMetadata table : tables) {
+                if (table != null) {
+                    builder.addTable(table);
+                }
+            }
+
+            // Extract views
+            List<ViewMetadata> views = context.map(connection, viewInfoList, (conn, viewInfo) -> {
+                ViewMetadata view;
                 try {
-                    ViewMetadata view = extractView(connection, viewInfo[0], viewInfo[1], viewInfo[2]);
-                    builder.addView(view);
+                    view = extractView(conn, viewInfo[0], viewInfo[1], viewInfo[2],
+                            columnsByTable != null ? columnsByTable.get(viewInfo[2]) : null,
+                            context.getOptions().isIncludeViewDefinitions());
                 } catch (MetadataExtractionException e) {
-                    warnings.add("Failed to extract view " + viewInfo[2] + ": " + e.getMessage());
+                    context.checkCancelled();
+                    context.addWarning("Failed to extract view " + viewInfo[2] + ": " + e.getMessage());
                     log.warn("Skipping view due to error: {}", viewInfo[2], e);
+                    return null;
+                }
+                context.emit(new MetadataEvent.ViewExtracted(schemaName, view));
+                return context.isStreaming() ? null : view;
+            });
+            for (ViewMetadata view : views) {
+                if (view != null) {
+                    builder.addView(view);
                 }
             }
 
             // Extract procedures
-            try {
-                List<ProcedureMetadata> procedures = extractProcedures(connection, catalog, schema);
-                for (ProcedureMetadata proc : procedures) {
-                    builder.addProcedure(proc);
+            if (context.getOptions().isIncludeProcedures()) {
+                context.checkCancelled();
+                try {
+                    List<ProcedureMetadata> procedures = extractProcedures(connection, catalog, schema, context);
+                    for (ProcedureMetadata proc : procedures) {
+                        context.emit(new MetadataEvent.ProcedureExtracted(schemaName, proc));
+                        if (!context.isStreaming()) {
+                            builder.addProcedure(proc);
+                        }
+                    }
+                } catch (MetadataExtractionException e) {
+                    context.checkCancelled();
+                    context.addWarning("Failed to extract procedures for schema " + schemaName + ": " + e.getMessage());
+                    log.warn("Skipping procedures due to error", e);
                 }
-            } catch (MetadataExtractionException e) {
-                warnings.add("Failed to extract procedures for schema " + schemaName + ": " + e.getMessage());
-                log.warn("Skipping procedures due to error", e);
             }
 
             return builder.build();
@@ -175,17 +335,37 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
     }
 
     @Override
+    @Deprecated
     public TableMetadata extractTable(Connection connection, String catalog, String schema, String tableName)
             throws MetadataExtractionException {
+        return extractTable(connection, catalog, schema, tableName, new ExplorationContext());
+    }
+
+    @Override
+    public TableMetadata extractTable(Connection connection, String catalog, String schema, String tableName,
+                                      ExplorationContext context) throws MetadataExtractionException {
+        return extractTable(connection, catalog, schema, tableName, null,
+                context.getOptions().isIncludeTriggers() ? null : List.of(), context);
+    }
+
+    // Columns and triggers may be prefetched by the schema-wide bulk calls; null means query them for this table.
+    protected TableMetadata extractTable(Connection connection, String catalog, String schema, String tableName,
+                                         List<ColumnMetadata> prefetchedColumns,
+                                         List<TriggerMetadata> prefetchedTriggers, ExplorationContext context)
+            throws MetadataExtractionException {
         try {
             TableMetadata.Builder builder = TableMetadata.builder()
                     .name(tableName)
                     .type(TableMetadata.TableType.TABLE);
 
             // Extract columns
-            List<ColumnMetadata> columns = extractColumns(connection, catalog, schema, tableName);
+            List<ColumnMetadata> columns = prefetchedColumns != null
+                    ? completeColumns(connection, catalog, schema, tableName, new ArrayList<>(prefetchedColumns))
+                    : extractColumns(connection, catalog, schema, tableName);
             builder.columns(columns);
 
+            context.checkCancelled();
+
             // Extract primary key
             PrimaryKeyMetadata primaryKey = extractPrimaryKey(connection, catalog, schema, tableName);
             if (primaryKey != null) {
@@ -215,22 +395,34 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
                 builder.columns(updatedColumns);
             }
 
+            context.checkCancelled();
+
             // Extract foreign keys
             List<ForeignKeyMetadata> foreignKeys = extractForeignKeys(connection, catalog, schema, tableName);
             builder.foreignKeys(foreignKeys);
 
+            context.checkCancelled();
+
             // Extract indexes
             List<IndexMetadata> indexes = extractIndexes(connection, catalog, schema, tableName);
             builder.indexes(indexes);
 
+            context.checkCancelled();
+
             // Extract triggers (vendor-specific)
-            try {
-                List<TriggerMetadata> triggers = extractTriggersForTable(connection, catalog, schema, tableName);
-                builder.triggers(triggers);
-            } catch (Exception e) {
-                log.debug("Could not extract triggers for table {}: {}", tableName, e.getMessage());
+            if (prefetchedTriggers != null) {
+                builder.triggers(prefetchedTriggers);
+            } else {
+                try {
+                    List<TriggerMetadata> triggers = extractTriggersForTable(connection, catalog, schema, tableName);
+                    builder.triggers(triggers);
+                } catch (Exception e) {
+                    log.debug("Could not extract triggers for table {}: {}", tableName, e.getMessage());
+                }
             }
 
+            context.checkCancelled();
+
             // Extract table comment (vendor-specific)
             String comment = extractTableComment(connection, catalog, schema, tableName);
             builder.comment(comment);
@@ -238,6 +430,7 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
             return builder.build();
 
         } catch (Exception e) {
+            context.checkCancelled();
             throw new MetadataExtractionException("Failed to extract table: " + tableName,
                     "extractTable", tableName, e);
         }
@@ -253,55 +446,117 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
 
             try (ResultSet rs = dbMeta.getColumns(catalog, schema, tableName, null)) {
                 while (rs.next()) {
-                    ColumnMetadata.Builder builder = ColumnMetadata.builder()
-                            .name(rs.getString("COLUMN_NAME"))
-                            .dataType(rs.getString("TYPE_NAME"))
-                            .size(rs.getInt("COLUMN_SIZE"))
-                            .precision(rs.getInt("COLUMN_SIZE"))
-                            .scale(getIntOrDefault(rs, "DECIMAL_DIGITS", 0))
-                            .nullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")))
-                            .ordinalPosition(rs.getInt("ORDINAL_POSITION"));
-
-                    // Default value
-                    String defaultValue = rs.getString("COLUMN_DEF");
-                    if (defaultValue != null) {
-                        builder.defaultValue(defaultValue);
-                    }
+                    columns.add(mapColumn(rs));
+                }
+            }
 
-                    // Auto-increment (if available)
-                    try {
-                        String autoIncrement = rs.getString("IS_AUTOINCREMENT");
-                        builder.autoIncrement("YES".equalsIgnoreCase(autoIncrement));
-                    } catch (SQLException ignored) {
-                        // Column not available in this driver
-                    }
+            return completeColumns(connection, catalog, schema, tableName, columns);
 
-                    // Comment (if available in JDBC result)
-                    try {
-                        String comment = rs.getString("REMARKS");
-                        if (comment != null && !comment.isEmpty()) {
-                            builder.comment(comment);
-                        }
-                    } catch (SQLException ignored) {
-                        // Column not available
-                    }
+        } catch (SQLException e) {
+            throw new MetadataExtractionException("Failed to extract columns for table: " + tableName,
+                    "extractColumns", tableName, e);
+        }
+    }
+
+    // Reads the columns of every relation in the schema with a single getColumns call, grouped by
+    // table name. Returns null when the driver rejects a null table pattern so callers fall back
+    // to per-table queries.
+    protected Map<String, List<ColumnMetadata>> extractColumnsForSchema(Connection connection, String catalog,
+                                                                       String schema) {
+        Map<String, List<ColumnMetadata>> columnsByTable = new HashMap<>();
+
+        try {
+            DatabaseMetaData dbMeta = connection.getMetaData();
 
-                    columns.add(builder.build());
+            try (ResultSet rs = dbMeta.getColumns(catalog, schema, null, null)) {
+                while (rs.next()) {
+                    // Schema and catalog arguments are LIKE patterns, so skip rows from look-alike schemas
+                    if (!matchesName(catalog, rs.getString("TABLE_CAT"))
+                            || !matchesName(schema, rs.getString("TABLE_SCHEM"))) {
+                        continue;
+                    }
+                    columnsByTable.computeIfAbsent(rs.getString("TABLE_NAME"), k -> new ArrayList<>())
+                            .add(mapColumn(rs));
                 }
             }
+        } catch (SQLException e) {
+            log.debug("Schema-wide column extraction failed for {}, falling back to per-table queries: {}",
+                    schema != null ? schema : catalog, e.getMessage());
+            return null;
+        }
 
-            // Sort by ordinal position
-            columns.sort(Comparator.comparingInt(ColumnMetadata::getOrdinalPosition));
+        return columnsByTable;
+    }
 
-            // Enhance with vendor-specific comments if needed
-            enhanceColumnComments(connection, catalog, schema, tableName, columns);
+    protected ColumnMetadata mapColumn(ResultSet rs) throws SQLException {
+        ColumnMetadata.Builder builder = ColumnMetadata.builder()
+                .name(rs.getString("COLUMN_NAME"))
+                .dataType(rs.getString("TYPE_NAME"))
+                .size(rs.getInt("COLUMN_SIZE"))
+                .precision(rs.getInt("COLUMN_SIZE"))
+                .scale(getIntOrDefault(rs, "DECIMAL_DIGITS", 0))
+                .nullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")))
+                .ordinalPosition(rs.getInt("ORDINAL_POSITION"));
+
+        // Default value
+        String defaultValue = rs.getString("COLUMN_DEF");
+        if (defaultValue != null) {
+            builder.defaultValue(defaultValue);
+        }
 
-            return columns;
+        // Auto-increment (if available)
+        try {
+            String autoIncrement = rs.getString("IS_AUTOINCREMENT");
+            builder.autoIncrement("YES".equalsIgnoreCase(autoIncrement));
+        } catch (SQLException ignored) {
+            // Column not available in this driver
+        }
 
-        } catch (SQLException e) {
-            throw new MetadataExtractionException("Failed to extract columns for table: " + tableName,
-                    "extractColumns", tableName, e);
+        // Comment (if available in JDBC result)
+        try {
+            String comment = rs.getString("REMARKS");
+            if (comment != null && !comment.isEmpty()) {
+                builder.comment(comment);
+            }
+        } catch (SQLException ignored) {
+            // Column not available
         }
+
+        return builder.build();
+    }
+
+    private List<ColumnMetadata> completeColumns(Connection connection, String catalog, String schema,
+                                                 String tableName, List<ColumnMetadata> columns) {
+        // Sort by ordinal position
+        columns.sort(Comparator.comparingInt(ColumnMetadata::getOrdinalPosition));
+
+        // Enhance with vendor-specific comments if needed
+        enhanceColumnComments(connection, catalog, schema, tableName, columns);
+
+        return columns;
+    }
+
+    private static boolean matchesName(String expected, String actual) {
+        return expected == null || actual == null || expected.equals(actual);
+    }
+
+    // Groups the schema-wide trigger list by table name. Returns null when it fails so callers
+    // fall back to per-table queries.
+    private Map<String, List<TriggerMetadata>> extractTriggersForSchema(Connection connection, String catalog,
+                                                                        String schema, ExplorationContext context) {
+        Map<String, List<TriggerMetadata>> triggersByTable = new HashMap<>();
+
+        try {
+            for (TriggerMetadata trigger : extractTriggers(connection, catalog, schema, context)) {
+                triggersByTable.computeIfAbsent(trigger.getTableName(), k -> new ArrayList<>()).add(trigger);
+            }
+        } catch (MetadataExtractionException e) {
+            log.debug("Schema-wide trigger extraction failed for {}, falling back to per-table queries: {}",
+                    schema != null ? schema : catalog, e.getMessage());
+            return null;
+        }
+
+        return triggersByTable;
     }
 
     protected PrimaryKeyMetadata extractPrimaryKey(Connection connection, String catalog, String schema, String tableName)
@@ -436,8 +691,15 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
     }
 
     @Override
+    @Deprecated
     public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema)
             throws MetadataExtractionException {
+        return extractTriggers(connection, catalog, schema, new ExplorationContext());
+    }
+
+    @Override
+    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                 ExplorationContext context) throws MetadataExtractionException {
         // Default implementation returns empty list; vendor-specific implementations override
         return new ArrayList<>();
     }
@@ -448,13 +710,24 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
     }
 
     @Override
+    @Deprecated
     public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema)
             throws MetadataExtractionException {
+        return extractProcedures(connection, catalog, schema, new ExplorationContext());
+    }
+
+    @Override
+    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema,
+                                                     ExplorationContext context) throws MetadataExtractionException {
         List<ProcedureMetadata> procedures = new ArrayList<>();
 
         try {
             DatabaseMetaData dbMeta = connection.getMetaData();
 
+            // Fetch parameters of every routine at once; null means per-routine queries
+            Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine =
+                    extractProcedureParametersForSchema(connection, catalog, schema);
+
             try (ResultSet rs = dbMeta.getProcedures(catalog, schema, null)) {
                 while (rs.next()) {
                     String procName = rs.getString("PROCEDURE_NAME");
@@ -473,11 +746,15 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
                         }
                     } catch (SQLException ignored) {}
 
-                    // Extract parameters
-                    try {
-                        extractProcedureParameters(connection, catalog, schema, procName, builder);
-                    } catch (Exception e) {
-                        log.debug("Could not extract parameters for procedure {}: {}", procName, e.getMessage());
+                    // Extract parameters, keyed by specific name so overloads stay apart
+                    if (parametersByRoutine != null) {
+                        builder.parameters(parametersByRoutine.getOrDefault(specificName(rs), List.of()));
+                    } else {
+                        try {
+                            extractProcedureParameters(connection, catalog, schema, procName, builder);
+                        } catch (Exception e) {
+                            log.debug("Could not extract parameters for procedure {}: {}", procName, e.getMessage());
+                        }
                     }
 
                     procedures.add(builder.build());
@@ -499,37 +776,90 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
 
         try (ResultSet rs = dbMeta.getProcedureColumns(catalog, schema, procedureName, null)) {
             while (rs.next()) {
-                String paramName = rs.getString("COLUMN_NAME");
-                String dataType = rs.getString("TYPE_NAME");
-                short columnType = rs.getShort("COLUMN_TYPE");
-                int position = rs.getInt("ORDINAL_POSITION");
-
-                ProcedureMetadata.ParameterMode mode = switch (columnType) {
-                    case DatabaseMetaData.procedureColumnIn -> ProcedureMetadata.ParameterMode.IN;
-                    case DatabaseMetaData.procedureColumnOut -> ProcedureMetadata.ParameterMode.OUT;
-                    case DatabaseMetaData.procedureColumnInOut -> ProcedureMetadata.ParameterMode.INOUT;
-                    case DatabaseMetaData.procedureColumnReturn -> ProcedureMetadata.ParameterMode.RETURN;
-                    default -> ProcedureMetadata.ParameterMode.IN;
-                };
-
-                builder.addParameter(paramName, dataType, mode, position);
+                ProcedureMetadata.ParameterMetadata parameter = mapProcedureParameter(rs);
+                builder.addParameter(parameter.name(), parameter.dataType(), parameter.mode(), parameter.position());
             }
         }
     }
 
+    // Reads the parameters of every routine in the schema with a single getProcedureColumns call,
+    // grouped by specific name. Returns null when the call fails so callers fall back to
+    // per-routine queries.
+    protected Map<String, List<ProcedureMetadata.ParameterMetadata>> extractProcedureParametersForSchema(
+            Connection connection, String catalog, String schema) {
+        Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine = new HashMap<>();
+
+        try {
+            DatabaseMetaData dbMeta = connection.getMetaData();
+
+            try (ResultSet rs = dbMeta.getProcedureColumns(catalog, schema, null, null)) {
+                while (rs.next()) {
+                    if (!matchesName(catalog, rs.getString("PROCEDURE_CAT"))
+                            || !matchesName(schema, rs.getString("PROCEDURE_SCHEM"))) {
+                        continue;
+                    }
+                    parametersByRoutine.computeIfAbsent(specificName(rs), k -> new ArrayList<>())
+                            .add(mapProcedureParameter(rs));
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Schema-wide parameter extraction failed for {}, falling back to per-routine queries: {}",
+                    schema != null ? schema : catalog, e.getMessage());
+            return null;
+        }
+
+        return parametersByRoutine;
+    }
+
+    protected ProcedureMetadata.ParameterMetadata mapProcedureParameter(ResultSet rs) throws SQLException {
+        ProcedureMetadata.ParameterMode mode = switch (rs.getShort("COLUMN_TYPE")) {
+            case DatabaseMetaData.procedureColumnIn -> ProcedureMetadata.ParameterMode.IN;
+            case DatabaseMetaData.procedureColumnOut -> ProcedureMetadata.ParameterMode.OUT;
+            case DatabaseMetaData.procedureColumnInOut -> ProcedureMetadata.ParameterMode.INOUT;
+            case DatabaseMetaData.procedureColumnReturn -> ProcedureMetadata.ParameterMode.RETURN;
+            default -> ProcedureMetadata.ParameterMode.IN;
+        };
+
+        return new ProcedureMetadata.ParameterMetadata(rs.getString("COLUMN_NAME"), rs.getString("TYPE_NAME"),
+                mode, rs.getInt("ORDINAL_POSITION"));
+    }
+
+    // SPECIFIC_NAME tells overloads apart; drivers that predate JDBC 4 only report the routine name
+    private static String specificName(ResultSet rs) throws SQLException {
+        try {
+            String specificName = rs.getString("SPECIFIC_NAME");
+            if (specificName != null) {
+                return specificName;
+            }
+        } catch (SQLException ignored) {
+            // Column not available in this driver
+        }
+        return rs.getString("PROCEDURE_NAME");
+    }
+
     @Override
     public ViewMetadata extractView(Connection connection, String catalog, String schema, String viewName)
             throws MetadataExtractionException {
+        return extractView(connection, catalog, schema, viewName, null, true);
+    }
+
+    protected ViewMetadata extractView(Connection connection, String catalog, String schema, String viewName,
+                                       List<ColumnMetadata> prefetchedColumns,
+                                       boolean includeDefinition) throws MetadataExtractionException {
         try {
             ViewMetadata.Builder builder = ViewMetadata.builder().name(viewName);
 
             // Extract columns (same as table)
-            List<ColumnMetadata> columns = extractColumns(connection, catalog, schema, viewName);
+            List<ColumnMetadata> columns = prefetchedColumns != null
+                    ? completeColumns(connection, catalog, schema, viewName, new ArrayList<>(prefetchedColumns))
+                    : extractColumns(connection, catalog, schema, viewName);
             builder.columns(columns);
 
             // Extract view definition (vendor-specific)
-            String definition = extractViewDefinition(connection, catalog, schema, viewName);
-            builder.definition(definition);
+            if (includeDefinition) {
+                String definition = extractViewDefinition(connection, catalog, schema, viewName);
+                builder.definition(definition);
+            }
 
             return builder.build();
 
@@ -567,10 +897,6 @@ public abstract class AbstractMetadataStrategy implements MetadataStrategy {
         return null;
     }
 
-    protected void addWarning(String warning) {
-        warnings.add(warning);
-    }
-
     protected int getIntOrDefault(ResultSet rs, String columnName, int defaultValue) {
         try {
             int value = rs.getInt(columnName);
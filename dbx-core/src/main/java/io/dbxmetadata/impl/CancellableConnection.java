@@ -0,0 +1,53 @@
+package io.dbxmetadata.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+// Hands every statement created on the wrapped connection to the exploration context, which
+// can then apply the deadline as a query timeout and cancel the statement when the run is cancelled.
+final class CancellableConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final ExplorationContext context;
+
+    private CancellableConnection(Connection target, ExplorationContext context) {
+        this.target = target;
+        this.context = context;
+    }
+
+    static Connection wrap(Connection connection, ExplorationContext context) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof CancellableConnection handler
+                && handler.context == context) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(CancellableConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new CancellableConnection(connection, context));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && args == null) {
+            return System.identityHashCode(proxy);
+        }
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (result instanceof Statement statement) {
+            context.track(statement);
+        }
+        return result;
+    }
+}
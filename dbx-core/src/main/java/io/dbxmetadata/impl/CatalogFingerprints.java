@@ -0,0 +1,56 @@
+package io.dbxmetadata.impl;
+
+import java.util.Map;
+import java.util.Objects;
+
+// Server-side hashes of the catalog rows an exploration read, by schema. They belong to the
+// metadata built from those rows and are kept next to it, so a later incremental exploration of
+// that metadata can tell which relations changed without the strategy holding state between runs.
+public final class CatalogFingerprints {
+
+    // Hash per relation name, and of all routines together; null when routines were not read
+    public record Schema(Map<String, String> relations, String routines) {
+
+        public Schema {
+            relations = Map.copyOf(relations);
+        }
+    }
+
+    private static final CatalogFingerprints EMPTY = new CatalogFingerprints(Map.of());
+
+    private final Map<String, Schema> schemas;
+
+    public CatalogFingerprints(Map<String, Schema> schemas) {
+        this.schemas = Map.copyOf(schemas);
+    }
+
+    public static CatalogFingerprints empty() {
+        return EMPTY;
+    }
+
+    // Null when the schema was not fingerprinted
+    public Schema schema(String name) {
+        return schemas.get(name);
+    }
+
+    public Map<String, Schema> getSchemas() {
+        return schemas;
+    }
+
+    public boolean isEmpty() {
+        return schemas.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CatalogFingerprints that = (CatalogFingerprints) o;
+        return schemas.equals(that.schemas);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(schemas);
+    }
+}
@@ -3,57 +3,178 @@ package io.dbxmetadata.impl;
 import io.dbxmetadata.api.DatabaseExplorer;
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExplorationOptions;
 import io.dbxmetadata.model.ExportOptions;
 import io.dbxmetadata.model.ExportResult;
+import io.dbxmetadata.model.MetadataEvent;
 import io.dbxmetadata.model.SchemaMetadata;
 import io.dbxmetadata.strategy.MetadataStrategy;
+import io.dbxmetadata.util.ExportSink;
 import io.dbxmetadata.util.JsonExporter;
+import io.dbxmetadata.util.MetadataStreamWriter;
+import io.dbxmetadata.util.NdjsonExporter;
+import io.dbxmetadata.util.ShardedExporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public class DefaultDatabaseExplorer implements DatabaseExplorer {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultDatabaseExplorer.class);
 
+    // Either a single connection, or a DataSource borrowed from per call
     private final Connection connection;
+    // Held while the single connection is in use: async calls and cache refreshes run on other
+    // threads than the caller's, and a JDBC connection is not safe for concurrent use
+    private final ReentrantLock connectionLock = new ReentrantLock();
+    private final DataSource dataSource;
+    private final ParallelExtractor extractor;
     private final MetadataStrategy strategy;
     private final String productName;
     private final String productVersion;
 
-    // Cached metadata (optional - populated after first explore() call)
-    private volatile DatabaseMetadata cachedMetadata;
+    // Complete explorations, reused by explore() and export() while enabled
+    private final MetadataCache cache;
+    // Single tables, reused by complete explorations; null without one
+    private final TableCache tableCache;
+    // File name of the cache's stored snapshot, once known
+    private volatile String storeKey;
 
     public DefaultDatabaseExplorer(Connection connection, MetadataStrategy strategy,
                                    String productName, String productVersion) {
+        this(connection, strategy, productName, productVersion, MetadataCache.disabled(), null);
+    }
+
+    public DefaultDatabaseExplorer(Connection connection, MetadataStrategy strategy,
+                                   String productName, String productVersion, MetadataCache cache,
+                                   TableCache tableCache) {
         this.connection = Objects.requireNonNull(connection, "Connection cannot be null");
+        this.dataSource = null;
+        this.extractor = null;
         this.strategy = Objects.requireNonNull(strategy, "Strategy cannot be null");
         this.productName = productName;
         this.productVersion = productVersion;
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+        this.tableCache = tableCache;
 
         log.info("Created DatabaseExplorer for {} {} using {} strategy",
                 productName, productVersion, strategy.getVendorName());
     }
 
+    public DefaultDatabaseExplorer(DataSource dataSource, ParallelExtractor extractor, MetadataStrategy strategy,
+                                   String productName, String productVersion) {
+        this(dataSource, extractor, strategy, productName, productVersion, MetadataCache.disabled(), null);
+    }
+
+    public DefaultDatabaseExplorer(DataSource dataSource, ParallelExtractor extractor, MetadataStrategy strategy,
+                                   String productName, String productVersion, MetadataCache cache,
+                                   TableCache tableCache) {
+        this.connection = null;
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.extractor = Objects.requireNonNull(extractor, "Extractor cannot be null");
+        this.strategy = Objects.requireNonNull(strategy, "Strategy cannot be null");
+        this.productName = productName;
+        this.productVersion = productVersion;
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+        this.tableCache = tableCache;
+
+        log.info("Created DatabaseExplorer for {} {} using {} strategy with parallelism {}",
+                productName, productVersion, strategy.getVendorName(), extractor.getParallelism());
+    }
+
     @Override
     public DatabaseMetadata explore() throws MetadataExtractionException {
+        return explore(ExplorationOptions.defaults());
+    }
+
+    @Override
+    public DatabaseMetadata explore(ExplorationOptions options) throws MetadataExtractionException {
+        Objects.requireNonNull(options, "Exploration options cannot be null");
+        ExplorationContext context = context(options);
+        return options.equals(ExplorationOptions.defaults()) ? exploreDefaults(context) : explore(context);
+    }
+
+    @Override
+    public CompletableFuture<DatabaseMetadata> exploreAsync(ExplorationOptions options) {
+        Objects.requireNonNull(options, "Exploration options cannot be null");
+        ExplorationContext context = context(options);
+        return submit(context, () ->
+                options.equals(ExplorationOptions.defaults()) ? exploreDefaults(context) : explore(context));
+    }
+
+    @Override
+    public DatabaseMetadata exploreIncremental(DatabaseMetadata previous) throws MetadataExtractionException {
+        return exploreIncremental(previous, ExplorationOptions.defaults());
+    }
+
+    @Override
+    public DatabaseMetadata exploreIncremental(DatabaseMetadata previous, ExplorationOptions options)
+            throws MetadataExtractionException {
+        Objects.requireNonNull(previous, "Previous metadata cannot be null");
+        Objects.requireNonNull(options, "Exploration options cannot be null");
+        ExplorationContext context = context(options);
+        return explore(context, conn -> strategy.exploreIncremental(conn, previous, context));
+    }
+
+    public MetadataCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public void invalidate(String schemaName, String tableName) {
+        Objects.requireNonNull(schemaName, "Schema name cannot be null");
+        Objects.requireNonNull(tableName, "Table name cannot be null");
+        if (tableCache != null) {
+            tableCache.invalidate(schemaName, tableName);
+        }
+        cache.invalidate();
+    }
+
+    // Complete runs may reuse cached tables; partial ones would leave them incomplete
+    private ExplorationContext context(ExplorationOptions options) {
+        return new ExplorationContext(options, extractor, null,
+                options.equals(ExplorationOptions.defaults()) ? tableCache : null);
+    }
+
+    @Override
+    public Flow.Publisher<MetadataEvent> stream(ExplorationOptions options) {
+        Objects.requireNonNull(options, "Exploration options cannot be null");
+        return new MetadataPublisher(executor(), options, extractor, this::explore);
+    }
+
+    private DatabaseMetadata explore(ExplorationContext context) throws MetadataExtractionException {
+        return explore(context, conn -> strategy.explore(conn, context));
+    }
+
+    private DatabaseMetadata explore(ExplorationContext context, ConnectionCallback<DatabaseMetadata> exploration)
+            throws MetadataExtractionException {
         log.debug("Starting metadata exploration for {} {}", productName, productVersion);
         long startTime = System.currentTimeMillis();
 
         try {
-            DatabaseMetadata metadata = strategy.explore(connection);
-            cachedMetadata = metadata;
+            DatabaseMetadata metadata = withConnection(conn -> exploration.apply(context.cancellable(conn)));
 
             long elapsed = System.currentTimeMillis() - startTime;
             log.info("Metadata exploration completed in {}ms - {} schemas, {} tables, {} views",
                     elapsed,
-                    metadata.getSchemas().size(),
-                    metadata.getTotalTableCount(),
-                    metadata.getTotalViewCount());
+                    context.getSchemaCount(),
+                    context.getTableCount(),
+                    context.getViewCount());
 
             if (!metadata.getWarnings().isEmpty()) {
                 log.warn("Exploration completed with {} warnings", metadata.getWarnings().size());
@@ -76,11 +197,24 @@ public class DefaultDatabaseExplorer implements DatabaseExplorer {
     @Override
     public Optional<SchemaMetadata> getSchema(String schemaName) throws MetadataExtractionException {
         Objects.requireNonNull(schemaName, "Schema name cannot be null");
+        return getSchema(schemaName, context(ExplorationOptions.defaults()));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SchemaMetadata>> getSchemaAsync(String schemaName) {
+        Objects.requireNonNull(schemaName, "Schema name cannot be null");
+        ExplorationContext context = context(ExplorationOptions.defaults());
+        return submit(context, () -> getSchema(schemaName, context));
+    }
+
+    private Optional<SchemaMetadata> getSchema(String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
         log.debug("Extracting metadata for schema: {}", schemaName);
 
         try {
-            SchemaMetadata schema = strategy.extractSchema(connection, schemaName);
-            return Optional.ofNullable(schema);
+            SchemaMetadata schema = withConnection(conn ->
+                    strategy.extractSchema(context.cancellable(conn), schemaName, context));
+            return Optional.ofNullable(context.cacheTables(schema));
         } catch (MetadataExtractionException e) {
             if (e.isPermissionError()) {
                 log.warn("Permission denied for schema: {}", schemaName);
@@ -93,23 +227,113 @@ public class DefaultDatabaseExplorer implements DatabaseExplorer {
     @Override
     public List<String> listSchemas() throws MetadataExtractionException {
         log.debug("Listing schemas");
-        return strategy.listSchemas(connection);
+        return withConnection(strategy::listSchemas);
     }
 
     @Override
     public ExportResult export(ExportOptions options) throws MetadataExtractionException {
         Objects.requireNonNull(options, "Export options cannot be null");
-        log.debug("Exporting metadata to {} format", options.getFormat());
+        if (options.isSharded()) {
+            return export(options, null, context(ExplorationOptions.defaults()));
+        }
+        return export(options, defaultSink(options));
+    }
+
+    @Override
+    public ExportResult export(ExportOptions options, ExportSink sink) throws MetadataExtractionException {
+        Objects.requireNonNull(options, "Export options cannot be null");
+        Objects.requireNonNull(sink, "Export sink cannot be null");
+        requireUnsharded(options);
+        if (options.isStreaming()) {
+            MetadataStreamWriter writer = MetadataStreamWriter.forOptions(options);
+            return exportStreaming(options, sink, writer, streamingContext(options, writer));
+        }
+        return export(options, sink, context(ExplorationOptions.defaults()));
+    }
+
+    @Override
+    public CompletableFuture<ExportResult> exportAsync(ExportOptions options) {
+        Objects.requireNonNull(options, "Export options cannot be null");
+        if (options.isSharded()) {
+            ExplorationContext context = context(ExplorationOptions.defaults());
+            return submit(context, () -> export(options, null, context));
+        }
+        return exportAsync(options, defaultSink(options));
+    }
 
-        // Get metadata (use cached if available)
-        DatabaseMetadata metadata = cachedMetadata;
-        if (metadata == null) {
-            metadata = explore();
+    @Override
+    public CompletableFuture<ExportResult> exportAsync(ExportOptions options, ExportSink sink) {
+        Objects.requireNonNull(options, "Export options cannot be null");
+        Objects.requireNonNull(sink, "Export sink cannot be null");
+        requireUnsharded(options);
+        if (options.isStreaming()) {
+            MetadataStreamWriter writer = MetadataStreamWriter.forOptions(options);
+            ExplorationContext context = streamingContext(options, writer);
+            return submit(context, () -> exportStreaming(options, sink, writer, context));
         }
+        ExplorationContext context = context(ExplorationOptions.defaults());
+        return submit(context, () -> export(options, sink, context));
+    }
+
+    // A complete exploration, from the cache while it is enabled. A first load may be shared with
+    // other callers, so the cache runs it on a detached copy of the caller's context and cancels it
+    // once every caller waiting for it has cancelled. Background refreshes serve no caller and run
+    // on a context of their own.
+    private DatabaseMetadata exploreDefaults(ExplorationContext context) throws MetadataExtractionException {
+        return cache.get(this::storeKey, context, this::explore, this::refresh, executor());
+    }
+
+    // Re-reads what changed since the cached exploration, by the fingerprints kept with it, and
+    // records new ones for the next refresh
+    private TrackedMetadata refresh(TrackedMetadata previous) throws MetadataExtractionException {
+        ExplorationContext context = context(ExplorationOptions.defaults()).trackChanges(previous.fingerprints());
+        DatabaseMetadata metadata = explore(context, conn -> strategy.exploreIncremental(conn, previous.metadata(),
+                context));
+        return new TrackedMetadata(metadata, context.getFingerprints());
+    }
+
+    // Names the cache's stored snapshot after the database, user and product version
+    private String storeKey() throws MetadataExtractionException {
+        String key = storeKey;
+        if (key == null) {
+            key = withConnection(conn -> {
+                try {
+                    DatabaseMetaData metaData = conn.getMetaData();
+                    return MetadataStore.key(metaData.getURL(), metaData.getUserName(), productVersion);
+                } catch (SQLException e) {
+                    throw new MetadataExtractionException("Failed to read connection metadata", e);
+                }
+            });
+            storeKey = key;
+        }
+        return key;
+    }
+
+    // A sharded export writes several files into the output directory, which no single sink can take
+    private static void requireUnsharded(ExportOptions options) {
+        if (options.isSharded()) {
+            throw new IllegalArgumentException("Sharded exports are written to the output path, not to a sink");
+        }
+    }
+
+    // Without an output path only the size is reported
+    private static ExportSink defaultSink(ExportOptions options) {
+        return options.getOutputPath() != null ? ExportSink.toPath(options.getOutputPath()) : ExportSink.discard();
+    }
+
+    private ExportResult export(ExportOptions options, ExportSink sink, ExplorationContext context)
+            throws MetadataExtractionException {
+        log.debug("Exporting metadata to {} format", options.getFormat());
+
+        DatabaseMetadata metadata = exploreDefaults(context);
 
         try {
+            if (options.isSharded()) {
+                return ShardedExporter.export(metadata, options);
+            }
             return switch (options.getFormat()) {
-                case JSON -> JsonExporter.export(metadata, options);
+                case JSON, SMILE, CBOR -> JsonExporter.export(metadata, options, sink);
+                case NDJSON -> NdjsonExporter.export(metadata, options, sink);
             };
         } catch (Exception e) {
             log.error("Export failed: {}", e.getMessage());
@@ -117,6 +341,123 @@ public class DefaultDatabaseExplorer implements DatabaseExplorer {
         }
     }
 
+    // Writers are not thread-safe and the JSON one needs objects in tree order, so a streaming export
+    // extracts on a single connection. Whatever the export leaves out is not extracted in the first place.
+    private static ExplorationContext streamingContext(ExportOptions options, MetadataStreamWriter writer) {
+        ExplorationOptions explorationOptions = ExplorationOptions.builder()
+                .includeProcedures(options.isIncludeProcedures())
+                .includeTriggers(options.isIncludeTriggers())
+                .includeViewDefinitions(options.isIncludeViewDefinitions())
+                .build();
+        return new ExplorationContext(explorationOptions, null, writer);
+    }
+
+    private ExportResult exportStreaming(ExportOptions options, ExportSink sink, MetadataStreamWriter writer,
+                                         ExplorationContext context) throws MetadataExtractionException {
+        log.debug("Streaming metadata export in {} format", options.getFormat());
+        long startTime = System.nanoTime();
+
+        try {
+            withConnection(conn -> {
+                writeStreaming(context.cancellable(conn), sink, writer, context);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            log.error("Export failed: {}", e.getMessage());
+            return ExportResult.failure(options.getFormat() + " export failed: " + e.getMessage());
+        } catch (MetadataExtractionException e) {
+            // Write failures surface wrapped when they happen inside extraction
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof UncheckedIOException) {
+                    log.error("Export failed: {}", cause.getMessage());
+                    return ExportResult.failure(options.getFormat() + " export failed: " + cause.getMessage());
+                }
+            }
+            throw e;
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+        log.info("Streamed {} tables and {} views in {}ms ({} bytes)", context.getTableCount(),
+                context.getViewCount(), elapsed.toMillis(), sink.getBytesWritten());
+        return ExportResult.success(sink.getPath(), sink.getBytesWritten(), sink.getUncompressedBytes(), elapsed);
+    }
+
+    private void writeStreaming(Connection connection, ExportSink sink, MetadataStreamWriter writer,
+                                ExplorationContext context) throws MetadataExtractionException {
+        try {
+            DatabaseMetaData dbMeta = connection.getMetaData();
+            writer.start(sink, DatabaseMetadata.builder()
+                    .productName(dbMeta.getDatabaseProductName())
+                    .productVersion(dbMeta.getDatabaseProductVersion())
+                    .driverName(dbMeta.getDriverName())
+                    .driverVersion(dbMeta.getDriverVersion())
+                    .url(dbMeta.getURL())
+                    .userName(dbMeta.getUserName())
+                    .build());
+
+            DatabaseMetadata result = strategy.explore(connection, context);
+            // Strategies that do not emit events hand back the whole tree instead
+            for (SchemaMetadata schema : result.getSchemas()) {
+                context.emitSchema(schema);
+            }
+            writer.finish(result.getWarnings(), result.getExtractedAt());
+        } catch (SQLException e) {
+            throw new MetadataExtractionException("Failed to read database information", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Runs the task on the extractor's executor, or the shared default one for single-connection
+    // explorers, so callers never block. Cancelling the future cancels the context. On a single
+    // connection the task still waits for any other call using it to finish.
+    private <T> CompletableFuture<T> submit(ExplorationContext context, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                context.cancel();
+            }
+        });
+
+        executor().execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private Executor executor() {
+        return extractor != null ? extractor.getExecutor() : ParallelExtractor.defaultExecutor();
+    }
+
+    private <T> T withConnection(ConnectionCallback<T> callback) throws MetadataExtractionException {
+        if (connection != null) {
+            connectionLock.lock();
+            try {
+                return callback.apply(connection);
+            } finally {
+                connectionLock.unlock();
+            }
+        }
+
+        try (Connection pooled = dataSource.getConnection()) {
+            return callback.apply(pooled);
+        } catch (SQLException e) {
+            throw new MetadataExtractionException("Failed to obtain connection from DataSource", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionCallback<T> {
+        T apply(Connection connection) throws MetadataExtractionException;
+    }
+
     @Override
     public String getDatabaseProductName() {
         return productName;
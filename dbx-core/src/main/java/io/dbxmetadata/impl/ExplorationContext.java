@@ -0,0 +1,329 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.model.ExplorationOptions;
+import io.dbxmetadata.model.MetadataEvent;
+import io.dbxmetadata.model.ProcedureMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
+import io.dbxmetadata.model.TableMetadata;
+import io.dbxmetadata.model.ViewMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// State of a single exploration run: options, the optional parallel extractor, warnings and
+// counters. A fresh context per run keeps strategies stateless and safe to share between threads.
+// It also owns the run's deadline and cancellation: statements created on connections passed
+// through cancellable() are cancelled together, and work not started before the deadline is skipped.
+// With a sink, every object is handed over as soon as it is built instead of being kept in the tree.
+public final class ExplorationContext {
+
+    private static final Logger log = LoggerFactory.getLogger(ExplorationContext.class);
+
+    private final ExplorationOptions options;
+    private final ParallelExtractor extractor;
+    private final Consumer<MetadataEvent> sink;
+    private final TableCache tableCache;
+    // Appended to from extraction threads when running in parallel
+    private final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger schemaCount = new AtomicInteger();
+    private final AtomicInteger tableCount = new AtomicInteger();
+    private final AtomicInteger viewCount = new AtomicInteger();
+    private final AtomicInteger procedureCount = new AtomicInteger();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> cancelActions = new CopyOnWriteArrayList<>();
+    // Null unless changes are tracked
+    private volatile CatalogFingerprints previousFingerprints;
+    private final Map<String, CatalogFingerprints.Schema> fingerprints = new ConcurrentHashMap<>();
+    // System.nanoTime() deadline, only meaningful when hasDeadline is set
+    private final boolean hasDeadline;
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    public ExplorationContext() {
+        this(ExplorationOptions.defaults(), null);
+    }
+
+    public ExplorationContext(ExplorationOptions options) {
+        this(options, null);
+    }
+
+    public ExplorationContext(ExplorationOptions options, ParallelExtractor extractor) {
+        this(options, extractor, null);
+    }
+
+    public ExplorationContext(ExplorationOptions options, ParallelExtractor extractor,
+                              Consumer<MetadataEvent> sink) {
+        this(options, extractor, sink, null);
+    }
+
+    // Tables found in the cache are reused instead of extracted; only for complete, non-streaming runs
+    public ExplorationContext(ExplorationOptions options, ParallelExtractor extractor,
+                              Consumer<MetadataEvent> sink, TableCache tableCache) {
+        this.options = Objects.requireNonNull(options, "Exploration options cannot be null");
+        this.extractor = extractor;
+        this.sink = sink;
+        this.tableCache = tableCache;
+
+        Duration timeout = options.getTimeout();
+        this.hasDeadline = timeout != null;
+        this.deadline = hasDeadline ? System.nanoTime() + saturatedNanos(timeout) : 0L;
+    }
+
+    // Same options, extractor, sink and table cache, with a cancellation and deadline of its own
+    ExplorationContext detached() {
+        return new ExplorationContext(options, extractor, sink, tableCache);
+    }
+
+    // Has strategies that detect changes by fingerprint record what they read, for a later
+    // incremental run. The fingerprints of the exploration being refreshed, if any, tell them
+    // what changed since.
+    public ExplorationContext trackChanges(CatalogFingerprints previous) {
+        this.previousFingerprints = previous != null ? previous : CatalogFingerprints.empty();
+        return this;
+    }
+
+    public boolean isTrackingChanges() {
+        return previousFingerprints != null;
+    }
+
+    CatalogFingerprints getPreviousFingerprints() {
+        return previousFingerprints != null ? previousFingerprints : CatalogFingerprints.empty();
+    }
+
+    public void recordFingerprints(String schema, CatalogFingerprints.Schema schemaFingerprints) {
+        fingerprints.put(schema, schemaFingerprints);
+    }
+
+    // Recorded so far; empty unless changes are tracked
+    public CatalogFingerprints getFingerprints() {
+        return new CatalogFingerprints(fingerprints);
+    }
+
+    public ExplorationOptions getOptions() {
+        return options;
+    }
+
+    public ParallelExtractor getExtractor() {
+        return extractor;
+    }
+
+    // True when objects go to a sink; strategies then leave them out of the returned tree
+    public boolean isStreaming() {
+        return sink != null;
+    }
+
+    // The cached table, or null if there is none or no cache
+    public TableMetadata cachedTable(String catalog, String schema, String table) {
+        return tableCache != null ? tableCache.get(catalog, schema, table) : null;
+    }
+
+    // Replaces tables equal to cached ones by the cached instances and caches the others
+    public SchemaMetadata cacheTables(SchemaMetadata schema) {
+        if (tableCache == null || schema == null) {
+            return schema;
+        }
+        List<TableMetadata> tables = tableCache.reuse(schema.getCatalog(), schema.getName(), schema.getTables());
+        return SchemaMetadata.builder()
+                .name(schema.getName())
+                .catalog(schema.getCatalog())
+                .tables(tables)
+                .views(schema.getViews())
+                .procedures(schema.getProcedures())
+                .owner(schema.getOwner())
+                .build();
+    }
+
+    public void addWarning(String warning) {
+        warnings.add(warning);
+        if (sink != null) {
+            sink.accept(new MetadataEvent.Warning(warning));
+        }
+    }
+
+    public List<String> getWarnings() {
+        synchronized (warnings) {
+            return List.copyOf(warnings);
+        }
+    }
+
+    // Counts the object and passes it to the sink, which may block until the consumer catches up
+    public void emit(MetadataEvent event) {
+        if (event instanceof MetadataEvent.SchemaStarted) {
+            schemaCount.incrementAndGet();
+        } else if (event instanceof MetadataEvent.TableExtracted) {
+            tableCount.incrementAndGet();
+        } else if (event instanceof MetadataEvent.ViewExtracted) {
+            viewCount.incrementAndGet();
+        } else if (event instanceof MetadataEvent.ProcedureExtracted) {
+            procedureCount.incrementAndGet();
+        }
+        if (sink != null) {
+            sink.accept(event);
+        }
+    }
+
+    // For strategies that assemble a whole schema at once
+    public void emitSchema(SchemaMetadata schema) {
+        emit(new MetadataEvent.SchemaStarted(SchemaMetadata.builder()
+                .name(schema.getName())
+                .catalog(schema.getCatalog())
+                .owner(schema.getOwner())
+                .build()));
+        for (TableMetadata table : schema.getTables()) {
+            emit(new MetadataEvent.TableExtracted(schema.getName(), table));
+        }
+        for (ViewMetadata view : schema.getViews()) {
+            emit(new MetadataEvent.ViewExtracted(schema.getName(), view));
+        }
+        for (ProcedureMetadata procedure : schema.getProcedures()) {
+            emit(new MetadataEvent.ProcedureExtracted(schema.getName(), procedure));
+        }
+    }
+
+    public int getSchemaCount() {
+        return schemaCount.get();
+    }
+
+    public int getTableCount() {
+        return tableCount.get();
+    }
+
+    public int getViewCount() {
+        return viewCount.get();
+    }
+
+    public int getProcedureCount() {
+        return procedureCount.get();
+    }
+
+    // Number of schemas, tables and views left out because the deadline passed
+    public int getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Stops the run: in-flight statements are cancelled and pending work fails fast
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : statements) {
+            try {
+                if (!statement.isClosed()) {
+                    statement.cancel();
+                }
+            } catch (SQLException e) {
+                log.debug("Could not cancel statement: {}", e.getMessage());
+            }
+        }
+        statements.clear();
+        for (Runnable action : cancelActions) {
+            if (cancelActions.remove(action)) {
+                action.run();
+            }
+        }
+    }
+
+    // Runs the action once when the run is cancelled, right away if it already is
+    void onCancel(Runnable action) {
+        cancelActions.add(action);
+        if (cancelled && cancelActions.remove(action)) {
+            action.run();
+        }
+    }
+
+    public void checkCancelled() throws MetadataExtractionException {
+        if (cancelled) {
+            throw new MetadataExtractionException("Exploration was cancelled");
+        }
+    }
+
+    // Wraps the connection so statements created on it follow this run's deadline and cancellation
+    public Connection cancellable(Connection connection) {
+        return CancellableConnection.wrap(connection, this);
+    }
+
+    void track(Statement statement) throws SQLException {
+        if (cancelled) {
+            statement.cancel();
+            throw new SQLException("Exploration was cancelled");
+        }
+        if (hasDeadline) {
+            long remainingNanos = deadline - System.nanoTime();
+            statement.setQueryTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    Duration.ofNanos(remainingNanos).toSeconds() + 1)));
+        }
+
+        statements.removeIf(ExplorationContext::isClosed);
+        statements.add(statement);
+    }
+
+    // Runs the function for each item, on pooled connections when an extractor is set and
+    // inline on the caller's connection otherwise. Results keep the input order.
+    // Items not started before the deadline come back as null.
+    public <T, R> List<R> map(Connection connection, List<T> items,
+                              ParallelExtractor.ConnectionFunction<T, R> function)
+            throws MetadataExtractionException {
+        ParallelExtractor.ConnectionFunction<T, R> guarded = (conn, item) -> {
+            checkCancelled();
+            if (isDeadlineExceeded()) {
+                skippedCount.incrementAndGet();
+                return null;
+            }
+            return function.apply(cancellable(conn), item);
+        };
+
+        if (extractor != null) {
+            return extractor.map(connection, items, guarded);
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (T item : items) {
+            try {
+                results.add(guarded.apply(connection, item));
+            } catch (MetadataExtractionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MetadataExtractionException("Extraction failed", e);
+            }
+        }
+        return results;
+    }
+
+    private static boolean isClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.model.DatabaseMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Complete explorations, kept for a time to live. Once an entry is older than that it is still
+// returned right away while one background exploration replaces it, so after the first load no
+// caller waits on the database; a failed refresh keeps the old entry. Concurrent first loads share
+// a single exploration, which runs on a context of its own and is cancelled only once every caller
+// waiting for it has cancelled. With a store, every exploration is also written to disk with its
+// fingerprints and the first call after a restart returns the stored one at once, already stale so
+// that it is validated in the background and only what changed is read again.
+public final class MetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MetadataCache.class);
+
+    private record Entry(TrackedMetadata tracked, long loadedAt) {
+    }
+
+    public record Stats(long hits, long misses, long refreshes, long refreshFailures) {
+    }
+
+    // An exploration in flight and the callers waiting for it. Refreshes have no context and
+    // cannot be cancelled; a first load counts its waiters down to zero before it is. The
+    // generation is the cache's when the load started.
+    private record Load(CompletableFuture<TrackedMetadata> future, ExplorationContext context,
+                        AtomicInteger waiters, long generation) {
+
+        // False once every waiter has left and the load is being cancelled
+        boolean join() {
+            return context == null || waiters.getAndUpdate(n -> n > 0 ? n + 1 : n) > 0;
+        }
+    }
+
+    private final Duration ttl;
+    private final LongSupplier clock;
+    // Null when kept in memory only
+    private final MetadataStore store;
+    private volatile Entry entry;
+    private volatile boolean restored;
+    // Bumped by invalidate(); loads started under an older one are neither stored nor joined
+    private volatile long generation;
+    // Exploration in flight, either a first load or a refresh
+    private final AtomicReference<Load> loading = new AtomicReference<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    MetadataCache(Duration ttl, LongSupplier clock) {
+        this(ttl, clock, null);
+    }
+
+    MetadataCache(Duration ttl, LongSupplier clock, MetadataStore store) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.store = store;
+    }
+
+    public static MetadataCache withTtl(Duration ttl) {
+        return new MetadataCache(requirePositive(ttl), System::nanoTime);
+    }
+
+    // Also keeps explorations in the directory, for warm starts across restarts
+    public static MetadataCache withTtl(Duration ttl, Path directory) {
+        return new MetadataCache(requirePositive(ttl), System::nanoTime, new MetadataStore(directory));
+    }
+
+    // Nothing is kept; every call explores
+    public static MetadataCache disabled() {
+        return new MetadataCache(null, System::nanoTime);
+    }
+
+    private static Duration requirePositive(Duration ttl) {
+        Objects.requireNonNull(ttl, "TTL cannot be null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        return ttl;
+    }
+
+    public boolean isEnabled() {
+        return ttl != null;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public boolean isPersistent() {
+        return store != null;
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), refreshes.get(), refreshFailures.get());
+    }
+
+    // Drops the entry; the next call explores again. An exploration already in flight may have
+    // read the catalog before the change, so its result is discarded and no later call waits for it.
+    public synchronized void invalidate() {
+        generation++;
+        entry = null;
+    }
+
+    DatabaseMetadata get(Supplier<DatabaseMetadata> loader, Executor executor) {
+        return get(null, loader, previous -> loader.get(), executor);
+    }
+
+    DatabaseMetadata get(Supplier<String> key, Supplier<DatabaseMetadata> loader,
+                         Function<DatabaseMetadata, DatabaseMetadata> refresher, Executor executor) {
+        return get(key, new ExplorationContext(), context -> loader.get(),
+                previous -> new TrackedMetadata(refresher.apply(previous.metadata()), CatalogFingerprints.empty()),
+                executor);
+    }
+
+    // The loader explores on the context it is given: the caller's own when nothing is cached, or a
+    // detached copy of it for a first load other callers may share. Cancelling the caller's context
+    // stops its wait. A cached load tracks changes, and the fingerprints it records are kept with
+    // the metadata; the refresher gets both, so it can re-read only what changed. The key names the
+    // stored snapshot and is only asked for by a persistent cache.
+    DatabaseMetadata get(Supplier<String> key, ExplorationContext context,
+                         Function<ExplorationContext, DatabaseMetadata> loader,
+                         Function<TrackedMetadata, TrackedMetadata> refresher, Executor executor) {
+        if (!isEnabled()) {
+            return loader.apply(context);
+        }
+
+        Entry current = entry;
+        if (current == null && store != null && !restored) {
+            current = restore(key.get());
+        }
+        if (current == null) {
+            misses.incrementAndGet();
+            return load(context, key, shared -> new TrackedMetadata(loader.apply(shared),
+                    shared.getFingerprints())).metadata();
+        }
+        hits.incrementAndGet();
+        if (clock.getAsLong() - current.loadedAt() >= ttl.toNanos()) {
+            TrackedMetadata previous = current.tracked();
+            refresh(key, () -> refresher.apply(previous), executor);
+        }
+        return current.tracked().metadata();
+    }
+
+    // Once per cache; a stored snapshot starts out stale
+    private synchronized Entry restore(String key) {
+        if (!restored) {
+            restored = true;
+            store.loadTracked(key).ifPresent(tracked -> entry = new Entry(tracked, clock.getAsLong() - ttl.toNanos()));
+        }
+        return entry;
+    }
+
+    // Runs on the calling thread unless another load of the same generation is in flight, in which
+    // case the caller waits for that one instead
+    private TrackedMetadata load(ExplorationContext caller, Supplier<String> key,
+                                 Function<ExplorationContext, TrackedMetadata> loader) {
+        Load load = new Load(new CompletableFuture<>(), caller.detached().trackChanges(CatalogFingerprints.empty()),
+                new AtomicInteger(1), generation);
+        Load inFlight;
+        while ((inFlight = loading.compareAndExchange(null, load)) != null) {
+            if (inFlight.generation() != load.generation()) {
+                // Started before an invalidation; it runs on but its result is discarded
+                if (loading.compareAndSet(inFlight, load)) {
+                    break;
+                }
+            } else if (inFlight.join()) {
+                return await(inFlight, caller);
+            }
+            // An abandoned load is still being cleared
+            Thread.onSpinWait();
+        }
+        caller.onCancel(() -> leave(load));
+        try {
+            TrackedMetadata tracked = store(key, load, loader.apply(load.context()));
+            load.future().complete(tracked);
+            return tracked;
+        } catch (RuntimeException e) {
+            load.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.compareAndSet(load, null);
+        }
+    }
+
+    private TrackedMetadata await(Load load, ExplorationContext caller) {
+        CompletableFuture<TrackedMetadata> waiting = load.future().copy();
+        caller.onCancel(() -> {
+            waiting.completeExceptionally(new MetadataExtractionException("Exploration was cancelled"));
+            if (load.context() != null) {
+                leave(load);
+            }
+        });
+        return join(waiting);
+    }
+
+    // The last waiter to leave cancels the load and lets the next caller start a new one
+    private void leave(Load load) {
+        if (load.waiters().decrementAndGet() == 0) {
+            loading.compareAndSet(load, null);
+            load.context().cancel();
+        }
+    }
+
+    private void refresh(Supplier<String> key, Supplier<TrackedMetadata> loader, Executor executor) {
+        Load load = new Load(new CompletableFuture<>(), null, null, generation);
+        if (!loading.compareAndSet(null, load)) {
+            return;
+        }
+        CompletableFuture<TrackedMetadata> future = load.future();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(store(key, load, loader.get()));
+                    refreshes.incrementAndGet();
+                } catch (RuntimeException e) {
+                    refreshFailures.incrementAndGet();
+                    log.warn("Metadata refresh failed, keeping cached metadata: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                } finally {
+                    loading.compareAndSet(load, null);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor shut down or saturated; the next stale read tries again
+            loading.compareAndSet(load, null);
+            future.completeExceptionally(e);
+        }
+    }
+
+    // Keeps the result unless the cache was invalidated since the load started. Written to disk
+    // under the same lock, so a discarded result never overwrites a newer snapshot.
+    private TrackedMetadata store(Supplier<String> key, Load load, TrackedMetadata tracked) {
+        String name = store != null ? key.get() : null;
+        synchronized (this) {
+            if (load.generation() != generation) {
+                log.debug("Discarding metadata explored before the cache was invalidated");
+                return tracked;
+            }
+            entry = new Entry(tracked, clock.getAsLong());
+            if (store != null) {
+                store.save(name, tracked);
+            }
+        }
+        return tracked;
+    }
+
+    private static TrackedMetadata join(CompletableFuture<TrackedMetadata> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MetadataExtractionException cause) {
+                throw cause;
+            }
+            throw new MetadataExtractionException("Metadata exploration failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.model.ExplorationOptions;
+import io.dbxmetadata.model.MetadataEvent;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Runs one exploration per subscriber and delivers its events as they are built. Extraction
+// threads block in the sink while the subscriber has no outstanding demand, so a slow consumer
+// pauses extraction instead of buffering the catalog. Only a single subscriber is supported.
+final class MetadataPublisher implements Flow.Publisher<MetadataEvent> {
+
+    private final Executor executor;
+    private final ExplorationOptions options;
+    private final ParallelExtractor extractor;
+    private final Consumer<ExplorationContext> exploration;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    MetadataPublisher(Executor executor, ExplorationOptions options, ParallelExtractor extractor,
+                      Consumer<ExplorationContext> exploration) {
+        this.executor = executor;
+        this.options = options;
+        this.extractor = extractor;
+        this.exploration = exploration;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super MetadataEvent> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("Metadata publisher supports a single subscriber"));
+            return;
+        }
+
+        EventSubscription subscription = new EventSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        executor.execute(subscription::run);
+    }
+
+    private final class EventSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super MetadataEvent> subscriber;
+        private final ExplorationContext context;
+        // Guards demand and serializes signals to the subscriber
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demandAvailable = lock.newCondition();
+        private long demand;
+        private volatile boolean cancelled;
+        private Throwable protocolError;
+
+        EventSubscription(Flow.Subscriber<? super MetadataEvent> subscriber) {
+            this.subscriber = subscriber;
+            this.context = new ExplorationContext(options, extractor, this::deliver);
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    protocolError = new IllegalArgumentException("Requested demand must be positive, was " + n);
+                    cancelled = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                demandAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (cancelled) {
+                context.cancel();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            context.cancel();
+            lock.lock();
+            try {
+                demandAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void run() {
+            Throwable failure = null;
+            if (!cancelled) {
+                try {
+                    exploration.accept(context);
+                } catch (Throwable t) {
+                    failure = t;
+                }
+            }
+
+            lock.lock();
+            try {
+                if (protocolError != null) {
+                    subscriber.onError(protocolError);
+                } else if (!cancelled) {
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void deliver(MetadataEvent event) {
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled) {
+                    demandAvailable.await();
+                }
+                if (cancelled) {
+                    throw new MetadataExtractionException("Exploration was cancelled");
+                }
+                demand--;
+                subscriber.onNext(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+                context.cancel();
+                throw new MetadataExtractionException("Interrupted while waiting for subscriber demand", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExportResult;
+import io.dbxmetadata.util.MetadataSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Complete explorations kept on disk as metadata snapshots, one file per database, user and
+// product version, so a restarted JVM starts from the last one. A snapshot is written to a
+// temporary file in the same directory and renamed over the previous one, so a reader or a
+// crashed writer never leaves a partial file behind. Files are read whole rather than mapped, so
+// nothing holds them open when the next one is renamed over them.
+//
+// The catalog fingerprints taken with an exploration follow its snapshot in the same file, then
+// their length and FINGERPRINTS; a file without them is a plain snapshot.
+public final class MetadataStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MetadataStore.class);
+
+    private static final String EXTENSION = ".dbxs";
+    private static final int FINGERPRINTS = 0x44425846; // "DBXF"
+    private static final int TRAILER_SIZE = 8;
+
+    private final Path directory;
+
+    public MetadataStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // File name for a database: a hash, so URLs with credentials or odd characters stay out of it
+    public static String key(String url, String userName, String productVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((url + '\n' + userName + '\n' + productVersion)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Empty if there is no snapshot or it cannot be read
+    public Optional<DatabaseMetadata> load(String key) {
+        return loadTracked(key).map(TrackedMetadata::metadata);
+    }
+
+    // Failures are logged; the metadata stays cached in memory either way
+    public void save(String key, DatabaseMetadata metadata) {
+        save(key, new TrackedMetadata(metadata, CatalogFingerprints.empty()));
+    }
+
+    // With the fingerprints stored next to it; empty ones if there are none
+    Optional<TrackedMetadata> loadTracked(String key) {
+        Path path = path(key);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            CatalogFingerprints fingerprints = CatalogFingerprints.empty();
+            int end = buffer.limit() - TRAILER_SIZE;
+            if (end >= 0 && buffer.getInt(end + 4) == FINGERPRINTS) {
+                int length = buffer.getInt(end);
+                if (length < 0 || length > end) {
+                    throw new IOException("Corrupt fingerprints");
+                }
+                fingerprints = readFingerprints(new DataInputStream(
+                        new ByteArrayInputStream(buffer.array(), end - length, length)));
+                buffer.limit(end - length);
+            }
+            DatabaseMetadata metadata = MetadataSnapshot.wrap(buffer).toMetadata();
+            log.info("Loaded cached metadata from {}, extracted at {}", path, metadata.getExtractedAt());
+            return Optional.of(new TrackedMetadata(metadata, fingerprints));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable cached metadata {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void save(String key, TrackedMetadata tracked) {
+        Path path = path(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            ExportResult result = MetadataSnapshot.write(tracked.metadata(), temp);
+            if (!result.isSuccess()) {
+                log.warn("Could not write cached metadata {}: {}", path, result.getErrorMessage());
+                return;
+            }
+            if (!tracked.fingerprints().isEmpty()) {
+                appendFingerprints(temp, tracked.fingerprints());
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            log.warn("Could not write cached metadata {}: {}", path, e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}: {}", temp, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void appendFingerprints(Path path, CatalogFingerprints fingerprints) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(fingerprints.getSchemas().size());
+        for (Map.Entry<String, CatalogFingerprints.Schema> schema : fingerprints.getSchemas().entrySet()) {
+            data.writeUTF(schema.getKey());
+            data.writeInt(schema.getValue().relations().size());
+            for (Map.Entry<String, String> relation : schema.getValue().relations().entrySet()) {
+                data.writeUTF(relation.getKey());
+                data.writeUTF(relation.getValue());
+            }
+            String routines = schema.getValue().routines();
+            data.writeBoolean(routines != null);
+            if (routines != null) {
+                data.writeUTF(routines);
+            }
+        }
+        data.writeInt(bytes.size());
+        data.writeInt(FINGERPRINTS);
+        Files.write(path, bytes.toByteArray(), StandardOpenOption.APPEND);
+    }
+
+    private static CatalogFingerprints readFingerprints(DataInputStream data) throws IOException {
+        int schemaCount = data.readInt();
+        Map<String, CatalogFingerprints.Schema> schemas = new HashMap<>();
+        for (int i = 0; i < schemaCount; i++) {
+            String name = data.readUTF();
+            int relationCount = data.readInt();
+            Map<String, String> relations = new HashMap<>();
+            for (int j = 0; j < relationCount; j++) {
+                relations.put(data.readUTF(), data.readUTF());
+            }
+            String routines = data.readBoolean() ? data.readUTF() : null;
+            schemas.put(name, new CatalogFingerprints.Schema(relations, routines));
+        }
+        return new CatalogFingerprints(schemas);
+    }
+
+    Path path(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+}
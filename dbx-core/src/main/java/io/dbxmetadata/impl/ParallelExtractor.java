@@ -0,0 +1,154 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs extraction work on up to `parallelism` pooled connections. The calling thread always takes
+// part with its own connection; helpers only join while connection permits are free, so nested
+// calls never wait on each other. Results come back in input order.
+public final class ParallelExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelExtractor.class);
+
+    @FunctionalInterface
+    public interface ConnectionFunction<T, R> {
+        R apply(Connection connection, T item) throws Exception;
+    }
+
+    private final DataSource dataSource;
+    private final Executor executor;
+    private final int parallelism;
+    // Connections beyond the caller's own
+    private final Semaphore helperPermits;
+
+    public ParallelExtractor(DataSource dataSource, int parallelism) {
+        this(dataSource, parallelism, null);
+    }
+
+    public ParallelExtractor(DataSource dataSource, int parallelism, Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.executor = executor != null ? executor : DefaultExecutor.INSTANCE;
+        this.parallelism = parallelism;
+        this.helperPermits = new Semaphore(parallelism - 1);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    public <T, R> List<R> map(Connection connection, List<T> items, ConnectionFunction<T, R> function)
+            throws MetadataExtractionException {
+        int size = items.size();
+        Object[] results = new Object[size];
+        Throwable[] failures = new Throwable[size];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(size);
+
+        for (int i = 1; i < Math.min(parallelism, size); i++) {
+            if (!helperPermits.tryAcquire()) {
+                break;
+            }
+            try {
+                executor.execute(() -> {
+                    try (Connection helperConnection = dataSource.getConnection()) {
+                        runItems(helperConnection, items, function, next, results, failures, done);
+                    } catch (SQLException e) {
+                        log.debug("Could not open helper connection, continuing with fewer: {}", e.getMessage());
+                    } finally {
+                        helperPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                helperPermits.release();
+                break;
+            }
+        }
+
+        runItems(connection, items, function, next, results, failures, done);
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetadataExtractionException("Interrupted while waiting for parallel extraction", e);
+        }
+
+        for (Throwable failure : failures) {
+            if (failure instanceof MetadataExtractionException mee) {
+                throw mee;
+            }
+            if (failure != null) {
+                throw new MetadataExtractionException("Parallel extraction failed", failure);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> ordered = (List<R>) new ArrayList<>(Arrays.asList(results));
+        return ordered;
+    }
+
+    private static <T, R> void runItems(Connection connection, List<T> items, ConnectionFunction<T, R> function,
+                                        AtomicInteger next, Object[] results, Throwable[] failures,
+                                        CountDownLatch done) {
+        int index;
+        while ((index = next.getAndIncrement()) < items.size()) {
+            try {
+                results[index] = function.apply(connection, items.get(index));
+            } catch (Throwable t) {
+                failures[index] = t;
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    // Virtual threads when the runtime has them (Java 21+), otherwise a cached pool of daemon threads
+    private static final class DefaultExecutor {
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                return (ExecutorService) MethodHandles.publicLookup()
+                        .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                MethodType.methodType(ExecutorService.class))
+                        .invoke();
+            } catch (Throwable e) {
+                AtomicInteger counter = new AtomicInteger();
+                return Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "dbx-extractor-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Collects flat catalog rows for one schema and assembles tables and views on the client.
+// Relations must be registered before their columns, keys, indexes and triggers; rows for
+// unregistered relations are ignored. Relations are emitted in registration order.
+public final class SchemaAssembler {
+
+    private final Map<String, Relation> relations = new LinkedHashMap<>();
+
+    public void addTable(String name, String comment) {
+        Relation relation = new Relation(name, false);
+        relation.comment = comment;
+        relations.put(name, relation);
+    }
+
+    public void addView(String name, String definition) {
+        Relation relation = new Relation(name, true);
+        relation.definition = definition;
+        relations.put(name, relation);
+    }
+
+    public boolean contains(String relationName) {
+        return relations.containsKey(relationName);
+    }
+
+    public void addColumn(String relationName, ColumnMetadata column) {
+        Relation relation = relations.get(relationName);
+        if (relation != null) {
+            relation.columns.add(column);
+        }
+    }
+
+    public void primaryKey(String tableName, PrimaryKeyMetadata primaryKey) {
+        Relation relation = relations.get(tableName);
+        if (relation != null && !relation.view) {
+            relation.primaryKey = primaryKey;
+        }
+    }
+
+    // Returns the builder for the named foreign key, or null if the table is not registered.
+    public ForeignKeyMetadata.Builder foreignKey(String tableName, String foreignKeyName) {
+        Relation relation = relations.get(tableName);
+        if (relation == null || relation.view) {
+            return null;
+        }
+        return relation.foreignKeys.computeIfAbsent(foreignKeyName,
+                k -> ForeignKeyMetadata.builder().name(foreignKeyName));
+    }
+
+    // Returns the builder for the named index, or null if the table is not registered.
+    public IndexMetadata.Builder index(String tableName, String indexName) {
+        Relation relation = relations.get(tableName);
+        if (relation == null || relation.view) {
+            return null;
+        }
+        return relation.indexes.computeIfAbsent(indexName, k -> IndexMetadata.builder().name(indexName));
+    }
+
+    public void addTrigger(TriggerMetadata trigger) {
+        Relation relation = relations.get(trigger.getTableName());
+        if (relation != null && !relation.view) {
+            relation.triggers.add(trigger);
+        }
+    }
+
+    public void addTo(SchemaMetadata.Builder builder) {
+        for (Relation relation : relations.values()) {
+            relation.columns.sort(Comparator.comparingInt(ColumnMetadata::getOrdinalPosition));
+
+            if (relation.view) {
+                builder.addView(ViewMetadata.builder()
+                        .name(relation.name)
+                        .columns(relation.columns)
+                        .definition(relation.definition)
+                        .build());
+                continue;
+            }
+
+            List<ForeignKeyMetadata> foreignKeys = new ArrayList<>();
+            for (ForeignKeyMetadata.Builder fk : relation.foreignKeys.values()) {
+                foreignKeys.add(fk.build());
+            }
+
+            List<IndexMetadata> indexes = new ArrayList<>();
+            for (IndexMetadata.Builder index : relation.indexes.values()) {
+                indexes.add(index.build());
+            }
+
+            builder.addTable(TableMetadata.builder()
+                    .name(relation.name)
+                    .type(TableMetadata.TableType.TABLE)
+                    .columns(markPrimaryKeyColumns(relation.columns, relation.primaryKey))
+                    .primaryKey(relation.primaryKey)
+                    .foreignKeys(foreignKeys)
+                    .indexes(indexes)
+                    .triggers(relation.triggers)
+                    .comment(relation.comment)
+                    .build());
+        }
+    }
+
+    private static List<ColumnMetadata> markPrimaryKeyColumns(List<ColumnMetadata> columns,
+                                                              PrimaryKeyMetadata primaryKey) {
+        if (primaryKey == null) {
+            return columns;
+        }
+
+        Set<String> pkColumns = new HashSet<>(primaryKey.getColumns());
+        List<ColumnMetadata> updatedColumns = new ArrayList<>(columns.size());
+        for (ColumnMetadata col : columns) {
+            if (pkColumns.contains(col.getName()) && !col.isPrimaryKey()) {
+                updatedColumns.add(ColumnMetadata.builder()
+                        .name(col.getName())
+                        .dataType(col.getDataType())
+                        .size(col.getSize())
+                        .precision(col.getPrecision())
+                        .scale(col.getScale())
+                        .nullable(col.isNullable())
+                        .primaryKey(true)
+                        .autoIncrement(col.isAutoIncrement())
+                        .defaultValue(col.getDefaultValue())
+                        .comment(col.getComment())
+                        .ordinalPosition(col.getOrdinalPosition())
+                        .build());
+            } else {
+                updatedColumns.add(col);
+            }
+        }
+        return updatedColumns;
+    }
+
+    private static final class Relation {
+        private final String name;
+        private final boolean view;
+        private final List<ColumnMetadata> columns = new ArrayList<>();
+        private final Map<String, ForeignKeyMetadata.Builder> foreignKeys = new LinkedHashMap<>();
+        private final Map<String, IndexMetadata.Builder> indexes = new LinkedHashMap<>();
+        private final List<TriggerMetadata> triggers = new ArrayList<>();
+        private PrimaryKeyMetadata primaryKey;
+        private String comment;
+        private String definition;
+
+        private Relation(String name, boolean view) {
+            this.name = name;
+            this.view = view;
+        }
+    }
+}
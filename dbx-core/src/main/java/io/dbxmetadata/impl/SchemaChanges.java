@@ -0,0 +1,106 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.*;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// What changed in one schema since a previous extraction. Relations are registered in the order
+// a full extraction lists them; those the server reports as changed, and those the previous
+// extraction does not have, are extracted again and the others are reused as they are. Relations
+// that are not registered have been dropped.
+public final class SchemaChanges {
+
+    private final SchemaMetadata previous;
+    private final boolean includeTriggers;
+    private final boolean includeProcedures;
+    private final Map<String, TableMetadata> previousTables;
+    private final Map<String, ViewMetadata> previousViews;
+    // Relation name to whether it is a view, in schema order
+    private final Map<String, Boolean> relations = new LinkedHashMap<>();
+    private final Set<String> changed = new LinkedHashSet<>();
+    private boolean proceduresChanged;
+
+    public SchemaChanges(SchemaMetadata previous, ExplorationOptions options) {
+        this.previous = previous;
+        this.includeTriggers = options.isIncludeTriggers();
+        this.includeProcedures = options.isIncludeProcedures();
+        this.previousTables = previous.getTables().stream()
+                .collect(Collectors.toMap(TableMetadata::getName, Function.identity(), (a, b) -> a));
+        this.previousViews = previous.getViews().stream()
+                .collect(Collectors.toMap(ViewMetadata::getName, Function.identity(), (a, b) -> a));
+    }
+
+    // A dropped or added trigger leaves no timestamp behind, so the table also counts as changed
+    // when its number of triggers differs
+    public void addTable(String name, boolean modified, int triggerCount) {
+        relations.put(name, false);
+        TableMetadata table = previousTables.get(name);
+        if (modified || table == null || (includeTriggers && table.getTriggers().size() != triggerCount)) {
+            changed.add(name);
+        }
+    }
+
+    public void addView(String name, boolean modified) {
+        relations.put(name, true);
+        if (modified || !previousViews.containsKey(name)) {
+            changed.add(name);
+        }
+    }
+
+    public void procedures(int count, boolean modified) {
+        proceduresChanged = includeProcedures && (modified || count != previous.getProcedures().size());
+    }
+
+    // Names of the relations to extract again
+    public Set<String> getChanged() {
+        return changed;
+    }
+
+    public boolean isProceduresChanged() {
+        return proceduresChanged;
+    }
+
+    public boolean hasChanges() {
+        return !changed.isEmpty() || proceduresChanged;
+    }
+
+    // Combines the extracted relations, which may be null when nothing changed, with the reused ones
+    public SchemaMetadata merge(SchemaMetadata extracted) {
+        Map<String, TableMetadata> extractedTables = extracted == null ? Map.of() : extracted.getTables().stream()
+                .collect(Collectors.toMap(TableMetadata::getName, Function.identity(), (a, b) -> a));
+        Map<String, ViewMetadata> extractedViews = extracted == null ? Map.of() : extracted.getViews().stream()
+                .collect(Collectors.toMap(ViewMetadata::getName, Function.identity(), (a, b) -> a));
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder()
+                .name(previous.getName())
+                .catalog(previous.getCatalog())
+                .owner(previous.getOwner());
+
+        relations.forEach((name, view) -> {
+            boolean extract = changed.contains(name);
+            if (view) {
+                ViewMetadata result = extract ? extractedViews.get(name) : previousViews.get(name);
+                if (result != null) {
+                    builder.addView(result);
+                }
+            } else {
+                TableMetadata result = extract ? extractedTables.get(name) : previousTables.get(name);
+                if (result != null) {
+                    builder.addTable(result);
+                }
+            }
+        });
+
+        List<ProcedureMetadata> procedures = proceduresChanged && extracted != null
+                ? extracted.getProcedures()
+                : previous.getProcedures();
+        builder.procedures(includeProcedures ? procedures : List.of());
+        return builder.build();
+    }
+}
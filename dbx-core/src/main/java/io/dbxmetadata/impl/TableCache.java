@@ -0,0 +1,133 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.TableMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// Extracted tables by catalog, schema and name, reused by later explorations until invalidated.
+// Readers look up an immutable map without locking; writers copy it, apply their change and swap
+// it in. Beyond the maximum size the least recently used tables are dropped.
+public final class TableCache {
+
+    record Key(String catalog, String schema, String table) {
+    }
+
+    private static final class Entry {
+        private final TableMetadata table;
+        // System.nanoTime() of the last read, for LRU eviction
+        private volatile long lastUsed;
+
+        private Entry(TableMetadata table, long lastUsed) {
+            this.table = table;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final int maxSize;
+    private final AtomicReference<Map<Key, Entry>> entries = new AtomicReference<>(Map.of());
+
+    public TableCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return entries.get().size();
+    }
+
+    public TableMetadata get(String catalog, String schema, String table) {
+        Entry entry = entries.get().get(new Key(catalog, schema, table));
+        if (entry == null) {
+            return null;
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry.table;
+    }
+
+    public void put(String catalog, String schema, TableMetadata table) {
+        putAll(catalog, schema, List.of(table));
+    }
+
+    // One copy of the map for the whole batch
+    public void putAll(String catalog, String schema, List<TableMetadata> tables) {
+        if (tables.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        update(current -> {
+            Map<Key, Entry> next = new HashMap<>(current);
+            for (TableMetadata table : tables) {
+                next.put(new Key(catalog, schema, table.getName()), new Entry(table, now));
+            }
+            evict(next);
+            return next;
+        });
+    }
+
+    // Drops the table from every catalog; the next exploration extracts it again
+    public void invalidate(String schema, String table) {
+        update(current -> {
+            Map<Key, Entry> next = new HashMap<>(current);
+            next.keySet().removeIf(key -> Objects.equals(key.schema(), schema) && Objects.equals(key.table(), table));
+            return next;
+        });
+    }
+
+    public void invalidateAll() {
+        entries.set(Map.of());
+    }
+
+    // Returns the tables with every one equal to a cached table replaced by the cached instance,
+    // and caches the others
+    List<TableMetadata> reuse(String catalog, String schema, List<TableMetadata> tables) {
+        List<TableMetadata> result = new ArrayList<>(tables.size());
+        List<TableMetadata> changed = new ArrayList<>();
+        for (TableMetadata table : tables) {
+            TableMetadata cached = get(catalog, schema, table.getName());
+            if (cached != null && cached.equals(table)) {
+                result.add(cached);
+            } else {
+                result.add(table);
+                changed.add(table);
+            }
+        }
+        putAll(catalog, schema, changed);
+        return result;
+    }
+
+    private void update(UnaryOperator<Map<Key, Entry>> change) {
+        Map<Key, Entry> current;
+        Map<Key, Entry> next;
+        do {
+            current = entries.get();
+            next = Collections.unmodifiableMap(change.apply(current));
+        } while (!entries.compareAndSet(current, next));
+    }
+
+    private void evict(Map<Key, Entry> map) {
+        int excess = map.size() - maxSize;
+        if (excess <= 0) {
+            return;
+        }
+        map.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastUsed))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(map::remove);
+    }
+}
@@ -0,0 +1,7 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.DatabaseMetadata;
+
+// An exploration together with the fingerprints taken while it ran, for refreshing it incrementally
+record TrackedMetadata(DatabaseMetadata metadata, CatalogFingerprints fingerprints) {
+}
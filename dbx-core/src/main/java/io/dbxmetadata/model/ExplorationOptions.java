@@ -0,0 +1,98 @@
+package io.dbxmetadata.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public final class ExplorationOptions {
+
+    private static final ExplorationOptions DEFAULTS = builder().build();
+
+    private final boolean includeProcedures;
+    private final boolean includeTriggers;
+    private final boolean includeViewDefinitions;
+    // Null means no deadline
+    private final Duration timeout;
+
+    private ExplorationOptions(Builder builder) {
+        this.includeProcedures = builder.includeProcedures;
+        this.includeTriggers = builder.includeTriggers;
+        this.includeViewDefinitions = builder.includeViewDefinitions;
+        this.timeout = builder.timeout;
+    }
+
+    public static ExplorationOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public boolean isIncludeProcedures() {
+        return includeProcedures;
+    }
+
+    public boolean isIncludeTriggers() {
+        return includeTriggers;
+    }
+
+    public boolean isIncludeViewDefinitions() {
+        return includeViewDefinitions;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExplorationOptions that = (ExplorationOptions) o;
+        return includeProcedures == that.includeProcedures &&
+               includeTriggers == that.includeTriggers &&
+               includeViewDefinitions == that.includeViewDefinitions &&
+               Objects.equals(timeout, that.timeout);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(includeProcedures, includeTriggers, includeViewDefinitions, timeout);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private boolean includeProcedures = true;
+        private boolean includeTriggers = true;
+        private boolean includeViewDefinitions = true;
+        private Duration timeout;
+
+        private Builder() {}
+
+        public Builder includeProcedures(boolean includeProcedures) {
+            this.includeProcedures = includeProcedures;
+            return this;
+        }
+
+        public Builder includeTriggers(boolean includeTriggers) {
+            this.includeTriggers = includeTriggers;
+            return this;
+        }
+
+        public Builder includeViewDefinitions(boolean includeViewDefinitions) {
+            this.includeViewDefinitions = includeViewDefinitions;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            if (timeout != null && timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout cannot be negative");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        public ExplorationOptions build() {
+            return new ExplorationOptions(this);
+        }
+    }
+}
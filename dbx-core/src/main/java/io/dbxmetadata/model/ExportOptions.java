@@ -13,6 +13,11 @@ public final class ExportOptions {
     private final boolean includeIndexDetails;
     private final boolean includeComments;
     private final boolean includeViewDefinitions;
+    // Write each object while it is extracted instead of building the whole tree first
+    private final boolean streaming;
+    private final Compression compression;
+    // One file per schema plus a manifest, in the directory given as output path
+    private final boolean sharded;
 
     private ExportOptions(Builder builder) {
         this.format = Objects.requireNonNull(builder.format, "Format cannot be null");
@@ -23,6 +28,9 @@ public final class ExportOptions {
         this.includeIndexDetails = builder.includeIndexDetails;
         this.includeComments = builder.includeComments;
         this.includeViewDefinitions = builder.includeViewDefinitions;
+        this.streaming = builder.streaming;
+        this.compression = Objects.requireNonNull(builder.compression, "Compression cannot be null");
+        this.sharded = builder.sharded;
     }
 
     public ExportOptions(ExportFormat format, Path outputPath) {
@@ -61,6 +69,18 @@ public final class ExportOptions {
         return includeViewDefinitions;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -72,7 +92,10 @@ public final class ExportOptions {
                includeIndexDetails == that.includeIndexDetails &&
                includeComments == that.includeComments &&
                includeViewDefinitions == that.includeViewDefinitions &&
+               streaming == that.streaming &&
+               sharded == that.sharded &&
                format == that.format &&
+               compression == that.compression &&
                Objects.equals(outputPath, that.outputPath);
     }
 
@@ -80,7 +103,7 @@ public final class ExportOptions {
     public int hashCode() {
         return Objects.hash(format, outputPath, prettyPrint, includeProcedures, 
                            includeTriggers, includeIndexDetails, includeComments, 
-                           includeViewDefinitions);
+                           includeViewDefinitions, streaming, compression, sharded);
     }
 
     public static Builder builder() {
@@ -88,7 +111,19 @@ public final class ExportOptions {
     }
 
     public enum ExportFormat {
-        JSON
+        JSON,
+        // One self-contained JSON line per table, view and procedure
+        NDJSON,
+        // Binary encodings of the JSON document, for compact snapshots
+        SMILE,
+        CBOR
+    }
+
+    // Applied while writing; DEFLATE is the zlib-wrapped stream
+    public enum Compression {
+        NONE,
+        GZIP,
+        DEFLATE
     }
 
     public static final class Builder {
@@ -100,6 +135,9 @@ public final class ExportOptions {
         private boolean includeIndexDetails = true;
         private boolean includeComments = true;
         private boolean includeViewDefinitions = true;
+        private boolean streaming = false;
+        private Compression compression = Compression.NONE;
+        private boolean sharded = false;
 
         private Builder() {}
 
@@ -143,6 +181,21 @@ public final class ExportOptions {
             return this;
         }
 
+        public Builder streaming(boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        public Builder compression(Compression compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        public Builder sharded(boolean sharded) {
+            this.sharded = sharded;
+            return this;
+        }
+
         public ExportOptions build() {
             return new ExportOptions(this);
         }
@@ -1,6 +1,7 @@
 package io.dbxmetadata.model;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Objects;
 
 public final class ExportResult {
@@ -8,13 +9,18 @@ public final class ExportResult {
     private final boolean success;
     private final Path outputPath;
     private final long bytesWritten;
+    // Before compression; the same as bytesWritten for uncompressed exports
+    private final long uncompressedBytes;
     private final String errorMessage;
+    private final Duration elapsed;
 
     private ExportResult(Builder builder) {
         this.success = builder.success;
         this.outputPath = builder.outputPath;
         this.bytesWritten = builder.bytesWritten;
+        this.uncompressedBytes = builder.uncompressedBytes != null ? builder.uncompressedBytes : builder.bytesWritten;
         this.errorMessage = builder.errorMessage;
+        this.elapsed = builder.elapsed;
     }
 
     public boolean isSuccess() {
@@ -29,10 +35,18 @@ public final class ExportResult {
         return bytesWritten;
     }
 
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
     public String getErrorMessage() {
         return errorMessage;
     }
 
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -40,13 +54,15 @@ public final class ExportResult {
         ExportResult that = (ExportResult) o;
         return success == that.success &&
                bytesWritten == that.bytesWritten &&
+               uncompressedBytes == that.uncompressedBytes &&
                Objects.equals(outputPath, that.outputPath) &&
-               Objects.equals(errorMessage, that.errorMessage);
+               Objects.equals(errorMessage, that.errorMessage) &&
+               Objects.equals(elapsed, that.elapsed);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(success, outputPath, bytesWritten, errorMessage);
+        return Objects.hash(success, outputPath, bytesWritten, uncompressedBytes, errorMessage, elapsed);
     }
 
     @Override
@@ -55,6 +71,8 @@ public final class ExportResult {
                "success=" + success +
                ", outputPath=" + outputPath +
                ", bytesWritten=" + bytesWritten +
+               (uncompressedBytes != bytesWritten ? ", uncompressedBytes=" + uncompressedBytes : "") +
+               ", elapsed=" + elapsed +
                (errorMessage != null ? ", error='" + errorMessage + '\'' : "") +
                '}';
     }
@@ -71,6 +89,25 @@ public final class ExportResult {
                 .build();
     }
 
+    public static ExportResult success(Path outputPath, long bytesWritten, Duration elapsed) {
+        return builder()
+                .success(true)
+                .outputPath(outputPath)
+                .bytesWritten(bytesWritten)
+                .elapsed(elapsed)
+                .build();
+    }
+
+    public static ExportResult success(Path outputPath, long bytesWritten, long uncompressedBytes, Duration elapsed) {
+        return builder()
+                .success(true)
+                .outputPath(outputPath)
+                .bytesWritten(bytesWritten)
+                .uncompressedBytes(uncompressedBytes)
+                .elapsed(elapsed)
+                .build();
+    }
+
     public static ExportResult failure(String errorMessage) {
         return builder()
                 .success(false)
@@ -82,7 +119,9 @@ public final class ExportResult {
         private boolean success;
         private Path outputPath;
         private long bytesWritten;
+        private Long uncompressedBytes;
         private String errorMessage;
+        private Duration elapsed = Duration.ZERO;
 
         private Builder() {}
 
@@ -101,11 +140,21 @@ public final class ExportResult {
             return this;
         }
 
+        public Builder uncompressedBytes(long uncompressedBytes) {
+            this.uncompressedBytes = uncompressedBytes;
+            return this;
+        }
+
         public Builder errorMessage(String errorMessage) {
             this.errorMessage = errorMessage;
             return this;
         }
 
+        public Builder elapsed(Duration elapsed) {
+            this.elapsed = elapsed;
+            return this;
+        }
+
         public ExportResult build() {
             return new ExportResult(this);
         }
@@ -0,0 +1,17 @@
+package io.dbxmetadata.model;
+
+// Emitted while a schema is being extracted, in the order objects are built. A schema's header
+// comes before its objects; with parallel extraction, events of different schemas may interleave.
+public sealed interface MetadataEvent {
+
+    // Name and catalog only; the schema's objects follow as separate events
+    record SchemaStarted(SchemaMetadata schema) implements MetadataEvent {}
+
+    record TableExtracted(String schemaName, TableMetadata table) implements MetadataEvent {}
+
+    record ViewExtracted(String schemaName, ViewMetadata view) implements MetadataEvent {}
+
+    record ProcedureExtracted(String schemaName, ProcedureMetadata procedure) implements MetadataEvent {}
+
+    record Warning(String message) implements MetadataEvent {}
+}
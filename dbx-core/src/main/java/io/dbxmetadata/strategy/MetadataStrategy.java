@@ -1,6 +1,7 @@
 package io.dbxmetadata.strategy;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.impl.ExplorationContext;
 import io.dbxmetadata.model.*;
 
 import java.sql.Connection;
@@ -11,13 +12,37 @@ public interface MetadataStrategy {
 
     DatabaseMetadata explore(Connection connection) throws MetadataExtractionException;
 
+    // The context-aware overloads fall back to the plain ones for strategies that keep no
+    // per-run state; those ignore the context's options and parallel extractor.
+    default DatabaseMetadata explore(Connection connection, ExplorationContext context)
+            throws MetadataExtractionException {
+        return explore(connection);
+    }
+
+    // Explores again, extracting only what changed since the previous exploration and reusing
+    // the rest. Strategies that cannot tell what changed explore everything.
+    default DatabaseMetadata exploreIncremental(Connection connection, DatabaseMetadata previous,
+                                                ExplorationContext context) throws MetadataExtractionException {
+        return explore(connection, context);
+    }
+
     SchemaMetadata extractSchema(Connection connection, String schemaName) throws MetadataExtractionException;
 
+    default SchemaMetadata extractSchema(Connection connection, String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
+        return extractSchema(connection, schemaName);
+    }
+
     List<String> listSchemas(Connection connection) throws MetadataExtractionException;
 
     TableMetadata extractTable(Connection connection, String catalog, String schema, String tableName)
             throws MetadataExtractionException;
 
+    default TableMetadata extractTable(Connection connection, String catalog, String schema, String tableName,
+                                       ExplorationContext context) throws MetadataExtractionException {
+        return extractTable(connection, catalog, schema, tableName);
+    }
+
     List<ColumnMetadata> extractColumns(Connection connection, String catalog, String schema, String tableName)
             throws MetadataExtractionException;
 
@@ -30,9 +55,19 @@ public interface MetadataStrategy {
     List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema)
             throws MetadataExtractionException;
 
+    default List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                  ExplorationContext context) throws MetadataExtractionException {
+        return extractTriggers(connection, catalog, schema);
+    }
+
     List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema)
             throws MetadataExtractionException;
 
+    default List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema,
+                                                      ExplorationContext context) throws MetadataExtractionException {
+        return extractProcedures(connection, catalog, schema);
+    }
+
     ViewMetadata extractView(Connection connection, String catalog, String schema, String viewName)
             throws MetadataExtractionException;
 
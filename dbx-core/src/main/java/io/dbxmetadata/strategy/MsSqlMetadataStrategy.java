@@ -2,14 +2,23 @@ package io.dbxmetadata.strategy;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.impl.AbstractMetadataStrategy;
+import io.dbxmetadata.impl.CatalogFingerprints;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.impl.SchemaAssembler;
+import io.dbxmetadata.impl.SchemaChanges;
 import io.dbxmetadata.model.ColumnMetadata;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.PrimaryKeyMetadata;
 import io.dbxmetadata.model.ProcedureMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
 import io.dbxmetadata.model.TriggerMetadata;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.*;
 
 public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
@@ -20,6 +29,18 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
             "db_securityadmin", "guest", "INFORMATION_SCHEMA", "sys"
     );
 
+    private final boolean catalogSnapshot;
+
+    public MsSqlMetadataStrategy() {
+        this(true);
+    }
+
+    // In catalog snapshot mode each schema is read from the sys.* catalog views in a few set-based
+    // queries and assembled on the client; any failure falls back to the per-table JDBC path.
+    public MsSqlMetadataStrategy(boolean catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
     @Override
     public boolean supports(String databaseProductName) {
         if (databaseProductName == null) {
@@ -42,6 +63,413 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
         return !SYSTEM_SCHEMAS.contains(schemaName);
     }
 
+    @Override
+    public SchemaMetadata extractSchema(Connection connection, String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
+        if (catalogSnapshot) {
+            try {
+                return extractSchemaSnapshot(connection, schemaName, context);
+            } catch (SQLException e) {
+                context.checkCancelled();
+                log.debug("MSSQL catalog snapshot failed for {}, falling back to JDBC: {}", schemaName, e.getMessage());
+            }
+        }
+        return super.extractSchema(connection, schemaName, context);
+    }
+
+    private SchemaMetadata extractSchemaSnapshot(Connection connection, String schemaName,
+                                                 ExplorationContext context)
+            throws SQLException, MetadataExtractionException {
+        SchemaMetadata schema = assembleSnapshot(connection, schemaName, null,
+                context.getOptions().isIncludeProcedures(), context);
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    // Reads the named relations, or all of them for null
+    private SchemaMetadata assembleSnapshot(Connection connection, String schemaName, Set<String> relations,
+                                            boolean includeProcedures, ExplorationContext context)
+            throws SQLException, MetadataExtractionException {
+        SchemaAssembler assembler = new SchemaAssembler();
+
+        if (relations == null || !relations.isEmpty()) {
+            loadSnapshotRelations(connection, schemaName, relations,
+                    context.getOptions().isIncludeViewDefinitions(), assembler);
+            loadSnapshotColumns(connection, schemaName, relations, assembler);
+            loadSnapshotPrimaryKeys(connection, schemaName, relations, assembler);
+            loadSnapshotForeignKeys(connection, schemaName, relations, assembler);
+            loadSnapshotIndexes(connection, schemaName, relations, assembler);
+
+            if (context.getOptions().isIncludeTriggers()) {
+                for (TriggerMetadata trigger : extractTriggers(connection, null, schemaName, context)) {
+                    assembler.addTrigger(trigger);
+                }
+            }
+        }
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder().name(schemaName);
+        assembler.addTo(builder);
+
+        if (includeProcedures) {
+            try {
+                for (ProcedureMetadata proc : extractProcedures(connection, null, schemaName, context)) {
+                    builder.addProcedure(proc);
+                }
+            } catch (MetadataExtractionException e) {
+                context.addWarning("Failed to extract procedures for schema " + schemaName + ": " + e.getMessage());
+                log.warn("Skipping procedures due to error", e);
+            }
+        }
+
+        return builder.build();
+    }
+
+    // modify_date of tables, views, triggers and routines tells what changed. Extended property
+    // comments do not touch it and are only picked up by a full exploration.
+    @Override
+    protected SchemaMetadata extractSchemaChanges(Connection connection, SchemaMetadata previous,
+                                                  CatalogFingerprints.Schema fingerprints, Duration age,
+                                                  ExplorationContext context) throws SQLException {
+        if (!catalogSnapshot) {
+            return null;
+        }
+        String schemaName = previous.getName();
+        SchemaChanges changes = new SchemaChanges(previous, context.getOptions());
+
+        // Triggers are counted per event, as they are extracted
+        String sql = """
+                SELECT o.name, o.type,
+                       CASE WHEN o.modify_date >= c.since OR tr.modify_date >= c.since THEN 1 ELSE 0 END AS modified,
+                       COALESCE(tr.trigger_count, 0) AS trigger_count
+                FROM sys.objects o
+                JOIN sys.schemas s ON o.schema_id = s.schema_id
+                CROSS JOIN (SELECT DATEADD(SECOND, -?, GETDATE()) AS since) c
+                LEFT JOIN (SELECT t.parent_id, COUNT(*) AS trigger_count, MAX(t.modify_date) AS modify_date
+                           FROM sys.triggers t
+                           JOIN sys.trigger_events te ON t.object_id = te.object_id
+                           GROUP BY t.parent_id) tr ON tr.parent_id = o.object_id
+                WHERE s.name = ?
+                  AND o.type IN ('U', 'V')
+                ORDER BY o.name
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, seconds(age));
+            stmt.setString(2, schemaName);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if ("V".equals(rs.getString("type").trim())) {
+                        changes.addView(rs.getString("name"), rs.getBoolean("modified"));
+                    } else {
+                        changes.addTable(rs.getString("name"), rs.getBoolean("modified"), rs.getInt("trigger_count"));
+                    }
+                }
+            }
+        }
+
+        if (context.getOptions().isIncludeProcedures()) {
+            String routinesSql = """
+                    SELECT COUNT(*) AS routine_count,
+                           COALESCE(SUM(CASE WHEN o.modify_date >= DATEADD(SECOND, -?, GETDATE()) THEN 1 ELSE 0 END), 0)
+                               AS modified
+                    FROM sys.objects o
+                    JOIN sys.schemas s ON o.schema_id = s.schema_id
+                    WHERE o.type IN ('P', 'FN', 'IF', 'TF')
+                      AND s.name = ?
+                    """;
+
+            try (PreparedStatement stmt = connection.prepareStatement(routinesSql)) {
+                stmt.setInt(1, seconds(age));
+                stmt.setString(2, schemaName);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        changes.procedures(rs.getInt("routine_count"), rs.getInt("modified") > 0);
+                    }
+                }
+            }
+        }
+
+        log.debug("Re-reading {} relations of {}, procedures {}", changes.getChanged().size(), schemaName,
+                changes.isProceduresChanged() ? "changed" : "unchanged");
+        SchemaMetadata schema = changes.merge(!changes.hasChanges() ? null
+                : assembleSnapshot(connection, schemaName, changes.getChanged(), changes.isProceduresChanged(),
+                context));
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    // DATEADD takes an int and rejects a bigint argument (Msg 8116)
+    private static int seconds(Duration age) {
+        return (int) Math.min(age.toSeconds(), Integer.MAX_VALUE);
+    }
+
+    private void loadSnapshotRelations(Connection connection, String schema, Set<String> relations,
+                                       boolean includeViewDefinitions, SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT r.name, r.kind, r.comment, r.definition
+                FROM (
+                    SELECT t.name, 'U' AS kind,
+                           CAST(ep.value AS NVARCHAR(MAX)) AS comment,
+                           NULL AS definition
+                    FROM sys.tables t
+                    JOIN sys.schemas s ON t.schema_id = s.schema_id
+                    LEFT JOIN sys.extended_properties ep ON ep.class = 1
+                        AND ep.major_id = t.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
+                    WHERE s.name = ?
+                    UNION ALL
+                    SELECT v.name, 'V' AS kind, NULL AS comment, m.definition
+                    FROM sys.views v
+                    JOIN sys.schemas s ON v.schema_id = s.schema_id
+                    LEFT JOIN sys.sql_modules m ON m.object_id = v.object_id
+                    WHERE s.name = ?
+                ) r
+                ORDER BY r.name
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (relations != null && !relations.contains(rs.getString("name"))) {
+                        continue;
+                    }
+                    if ("V".equals(rs.getString("kind"))) {
+                        assembler.addView(rs.getString("name"),
+                                includeViewDefinitions ? rs.getString("definition") : null);
+                    } else {
+                        assembler.addTable(rs.getString("name"), rs.getString("comment"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotColumns(Connection connection, String schema, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        // Column descriptions are only attached to tables, as on the JDBC path
+        String sql = """
+                SELECT o.name AS table_name,
+                       c.name AS column_name,
+                       c.column_id,
+                       TYPE_NAME(c.user_type_id) AS type_name,
+                       TYPE_NAME(c.system_type_id) AS base_type_name,
+                       c.max_length,
+                       c.precision,
+                       c.scale,
+                       c.is_nullable,
+                       c.is_identity,
+                       dc.definition AS default_value,
+                       CAST(ep.value AS NVARCHAR(MAX)) AS comment
+                FROM sys.columns c
+                JOIN sys.objects o ON c.object_id = o.object_id
+                JOIN sys.schemas s ON o.schema_id = s.schema_id
+                LEFT JOIN sys.default_constraints dc ON dc.object_id = c.default_object_id
+                LEFT JOIN sys.extended_properties ep ON ep.class = 1 AND o.type = 'U'
+                    AND ep.major_id = c.object_id AND ep.minor_id = c.column_id AND ep.name = 'MS_Description'
+                WHERE s.name = ?
+                  AND o.type IN ('U', 'V')
+                """ + relationFilter("o.name", relations) + """
+                ORDER BY o.name, c.column_id
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    boolean identity = rs.getBoolean("is_identity");
+                    String typeName = rs.getString("type_name");
+                    int size = columnSize(rs.getString("base_type_name"), rs.getInt("max_length"),
+                            rs.getInt("precision"), rs.getInt("scale"));
+
+                    assembler.addColumn(rs.getString("table_name"), ColumnMetadata.builder()
+                            .name(rs.getString("column_name"))
+                            // The driver reports identity columns as e.g. "int identity"
+                            .dataType(identity ? typeName + " identity" : typeName)
+                            .size(size)
+                            .precision(size)
+                            .scale(rs.getInt("scale"))
+                            .nullable(rs.getBoolean("is_nullable"))
+                            .autoIncrement(identity)
+                            .defaultValue(rs.getString("default_value"))
+                            .comment(rs.getString("comment"))
+                            .ordinalPosition(rs.getInt("column_id"))
+                            .build());
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotPrimaryKeys(Connection connection, String schema, Set<String> relations,
+                                         SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT t.name AS table_name, kc.name AS constraint_name, c.name AS column_name
+                FROM sys.key_constraints kc
+                JOIN sys.tables t ON kc.parent_object_id = t.object_id
+                JOIN sys.schemas s ON t.schema_id = s.schema_id
+                JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id
+                    AND ic.index_id = kc.unique_index_id
+                JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                WHERE kc.type = 'PK'
+                  AND s.name = ?
+                """ + relationFilter("t.name", relations) + """
+                ORDER BY t.name, ic.key_ordinal
+                """;
+
+        Map<String, PrimaryKeyMetadata.Builder> primaryKeys = new LinkedHashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String constraintName = rs.getString("constraint_name");
+                    primaryKeys.computeIfAbsent(rs.getString("table_name"),
+                                    k -> PrimaryKeyMetadata.builder().name(constraintName))
+                            .addColumn(rs.getString("column_name"));
+                }
+            }
+        }
+
+        primaryKeys.forEach((tableName, pk) -> assembler.primaryKey(tableName, pk.build()));
+    }
+
+    private void loadSnapshotForeignKeys(Connection connection, String schema, Set<String> relations,
+                                         SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT t.name AS table_name,
+                       fk.name AS fk_name,
+                       rs.name AS referenced_schema,
+                       rt.name AS referenced_table,
+                       pc.name AS column_name,
+                       rc.name AS referenced_column,
+                       fk.update_referential_action,
+                       fk.delete_referential_action
+                FROM sys.foreign_keys fk
+                JOIN sys.tables t ON fk.parent_object_id = t.object_id
+                JOIN sys.schemas s ON t.schema_id = s.schema_id
+                JOIN sys.objects rt ON fk.referenced_object_id = rt.object_id
+                JOIN sys.schemas rs ON rt.schema_id = rs.schema_id
+                JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+                JOIN sys.columns pc ON pc.object_id = fkc.parent_object_id AND pc.column_id = fkc.parent_column_id
+                JOIN sys.columns rc ON rc.object_id = fkc.referenced_object_id
+                    AND rc.column_id = fkc.referenced_column_id
+                WHERE s.name = ?
+                """ + relationFilter("t.name", relations) + """
+                ORDER BY t.name, rs.name, rt.name, fk.name, fkc.constraint_column_id
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ForeignKeyMetadata.Builder fk = assembler.foreignKey(rs.getString("table_name"),
+                            rs.getString("fk_name"));
+                    if (fk == null) {
+                        continue;
+                    }
+                    fk.referencedSchema(rs.getString("referenced_schema"))
+                            .referencedTable(rs.getString("referenced_table"))
+                            .onUpdate(mapReferentialAction(rs.getInt("update_referential_action")))
+                            .onDelete(mapReferentialAction(rs.getInt("delete_referential_action")))
+                            .addColumn(rs.getString("column_name"))
+                            .addReferencedColumn(rs.getString("referenced_column"));
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotIndexes(Connection connection, String schema, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        // Only key columns of rowstore indexes, in the order sp_statistics reports them
+        String sql = """
+                SELECT t.name AS table_name,
+                       i.name AS index_name,
+                       i.is_unique,
+                       i.type,
+                       c.name AS column_name,
+                       ic.key_ordinal,
+                       ic.is_descending_key
+                FROM sys.indexes i
+                JOIN sys.tables t ON i.object_id = t.object_id
+                JOIN sys.schemas s ON t.schema_id = s.schema_id
+                JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+                WHERE s.name = ?
+                  AND i.type IN (1, 2)
+                  AND i.is_hypothetical = 0
+                  AND ic.key_ordinal > 0
+                """ + relationFilter("t.name", relations) + """
+                ORDER BY t.name, i.is_unique DESC, i.type, i.name, ic.key_ordinal
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexMetadata.Builder index = assembler.index(rs.getString("table_name"), rs.getString("index_name"));
+                    if (index == null) {
+                        continue;
+                    }
+                    IndexMetadata.SortOrder sortOrder = rs.getBoolean("is_descending_key")
+                            ? IndexMetadata.SortOrder.DESC
+                            : IndexMetadata.SortOrder.ASC;
+
+                    index.unique(rs.getBoolean("is_unique"))
+                            .type(rs.getInt("type") == 1 ? IndexMetadata.IndexType.CLUSTERED : IndexMetadata.IndexType.BTREE)
+                            .addColumn(rs.getString("column_name"), sortOrder, rs.getInt("key_ordinal"));
+                }
+            }
+        }
+    }
+
+    // Column sizes as the driver reports them: characters for strings, digits for numbers and
+    // the display length for temporal types.
+    static int columnSize(String baseType, int maxLength, int precision, int scale) {
+        if (baseType == null) {
+            return maxLength;
+        }
+        int fraction = scale > 0 ? scale + 1 : 0;
+        return switch (baseType) {
+            case "char", "varchar", "binary", "varbinary" -> maxLength == -1 ? Integer.MAX_VALUE : maxLength;
+            case "nchar", "nvarchar" -> maxLength == -1 ? Integer.MAX_VALUE / 2 : maxLength / 2;
+            case "text", "image" -> Integer.MAX_VALUE;
+            case "ntext", "xml" -> Integer.MAX_VALUE / 2;
+            case "date" -> 10;
+            case "time" -> 8 + fraction;
+            case "smalldatetime" -> 16;
+            case "datetime" -> 23;
+            case "datetime2" -> 19 + fraction;
+            case "datetimeoffset" -> 26 + fraction;
+            case "uniqueidentifier" -> 36;
+            default -> precision > 0 ? precision : (maxLength == -1 ? Integer.MAX_VALUE : maxLength);
+        };
+    }
+
+    private ForeignKeyMetadata.ForeignKeyAction mapReferentialAction(int action) {
+        return switch (action) {
+            case 1 -> ForeignKeyMetadata.ForeignKeyAction.CASCADE;
+            case 2 -> ForeignKeyMetadata.ForeignKeyAction.SET_NULL;
+            case 3 -> ForeignKeyMetadata.ForeignKeyAction.SET_DEFAULT;
+            default -> ForeignKeyMetadata.ForeignKeyAction.NO_ACTION;
+        };
+    }
+
     @Override
     protected String extractTableComment(Connection connection, String catalog, String schema, String tableName) {
         String sql = """
@@ -149,8 +577,8 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                 ExplorationContext context) throws MetadataExtractionException {
         List<TriggerMetadata> triggers = new ArrayList<>();
 
         String sql = """
@@ -205,7 +633,7 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
             }
         } catch (SQLException e) {
             log.warn("Could not extract triggers for schema {}: {}", schema, e.getMessage());
-            addWarning("Failed to extract triggers: " + e.getMessage());
+            context.addWarning("Failed to extract triggers: " + e.getMessage());
         }
 
         return triggers;
@@ -274,10 +702,14 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema,
+                                                     ExplorationContext context) throws MetadataExtractionException {
         List<ProcedureMetadata> procedures = new ArrayList<>();
 
+        // Snapshot mode reads parameters of every routine in one query; null means per-routine lookups
+        Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine =
+                catalogSnapshot ? extractMsSqlParametersForSchema(connection, schema) : null;
+
         String sql = """
                 SELECT o.name AS name,
                        CASE o.type
@@ -314,14 +746,19 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
                             .comment(rs.getString("comment"));
 
                     // Extract parameters
-                    extractMsSqlParameters(connection, schema, rs.getString("name"), builder);
+                    String routineName = rs.getString("name");
+                    if (parametersByRoutine != null) {
+                        builder.parameters(parametersByRoutine.getOrDefault(routineName, List.of()));
+                    } else {
+                        extractMsSqlParameters(connection, schema, routineName, builder);
+                    }
 
                     procedures.add(builder.build());
                 }
             }
         } catch (SQLException e) {
             log.warn("Could not extract procedures for schema {}: {}", schema, e.getMessage());
-            addWarning("Failed to extract procedures: " + e.getMessage());
+            context.addWarning("Failed to extract procedures: " + e.getMessage());
         }
 
         return procedures;
@@ -355,23 +792,72 @@ public class MsSqlMetadataStrategy extends AbstractMetadataStrategy {
                     if (paramName == null || paramName.isEmpty()) {
                         continue;
                     }
-                    // Remove @ prefix from SQL Server parameter names
-                    if (paramName.startsWith("@")) {
-                        paramName = paramName.substring(1);
-                    }
+                    builder.addParameter(stripParameterPrefix(paramName), rs.getString("data_type"),
+                            mapMsSqlParameterMode(rs.getString("mode")), rs.getInt("position"));
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Could not extract parameters for routine {}: {}", routineName, e.getMessage());
+        }
+    }
 
-                    ProcedureMetadata.ParameterMode mode = switch (rs.getString("mode")) {
-                        case "OUT" -> ProcedureMetadata.ParameterMode.OUT;
-                        case "RETURN" -> ProcedureMetadata.ParameterMode.RETURN;
-                        default -> ProcedureMetadata.ParameterMode.IN;
-                    };
+    private Map<String, List<ProcedureMetadata.ParameterMetadata>> extractMsSqlParametersForSchema(
+            Connection connection, String schema) {
+        String sql = """
+                SELECT o.name AS routine_name,
+                       p.name AS parameter_name,
+                       TYPE_NAME(p.user_type_id) AS data_type,
+                       CASE 
+                           WHEN p.is_output = 1 AND p.name != '' THEN 'OUT'
+                           WHEN p.is_output = 1 AND p.name = '' THEN 'RETURN'
+                           ELSE 'IN'
+                       END AS mode,
+                       p.parameter_id AS position
+                FROM sys.parameters p
+                JOIN sys.objects o ON p.object_id = o.object_id
+                JOIN sys.schemas s ON o.schema_id = s.schema_id
+                WHERE s.name = ?
+                  AND o.type IN ('P', 'FN', 'IF', 'TF')
+                ORDER BY o.name, p.parameter_id
+                """;
 
-                    builder.addParameter(paramName, rs.getString("data_type"),
-                            mode, rs.getInt("position"));
+        Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String paramName = rs.getString("parameter_name");
+                    if (paramName == null || paramName.isEmpty()) {
+                        continue;
+                    }
+
+                    parametersByRoutine.computeIfAbsent(rs.getString("routine_name"), k -> new ArrayList<>())
+                            .add(new ProcedureMetadata.ParameterMetadata(stripParameterPrefix(paramName),
+                                    rs.getString("data_type"), mapMsSqlParameterMode(rs.getString("mode")),
+                                    rs.getInt("position")));
                 }
             }
         } catch (SQLException e) {
-            log.debug("Could not extract parameters for routine {}: {}", routineName, e.getMessage());
+            log.debug("Could not extract parameters for schema {}, falling back to per-routine queries: {}",
+                    schema, e.getMessage());
+            return null;
         }
+
+        return parametersByRoutine;
+    }
+
+    // Remove @ prefix from SQL Server parameter names
+    private static String stripParameterPrefix(String paramName) {
+        return paramName.startsWith("@") ? paramName.substring(1) : paramName;
+    }
+
+    private ProcedureMetadata.ParameterMode mapMsSqlParameterMode(String mode) {
+        return switch (mode) {
+            case "OUT" -> ProcedureMetadata.ParameterMode.OUT;
+            case "RETURN" -> ProcedureMetadata.ParameterMode.RETURN;
+            default -> ProcedureMetadata.ParameterMode.IN;
+        };
     }
 }
@@ -2,8 +2,16 @@ package io.dbxmetadata.strategy;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.impl.AbstractMetadataStrategy;
+import io.dbxmetadata.impl.CatalogFingerprints;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.impl.SchemaAssembler;
+import io.dbxmetadata.impl.SchemaChanges;
 import io.dbxmetadata.model.ColumnMetadata;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.PrimaryKeyMetadata;
 import io.dbxmetadata.model.ProcedureMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
 import io.dbxmetadata.model.TriggerMetadata;
 
 import java.sql.Connection;
@@ -11,9 +19,12 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +35,18 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
             "information_schema", "mysql", "performance_schema", "sys"
     );
 
+    private final boolean catalogSnapshot;
+
+    public MySqlMetadataStrategy() {
+        this(true);
+    }
+
+    // In catalog snapshot mode each database is read with one pass over information_schema, filtered
+    // only by schema, and assembled on the client; any failure falls back to the per-table JDBC path.
+    public MySqlMetadataStrategy(boolean catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
     @Override
     public boolean supports(String databaseProductName) {
         if (databaseProductName == null) {
@@ -83,6 +106,405 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
         }
     }
 
+    @Override
+    public SchemaMetadata extractSchema(Connection connection, String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
+        if (catalogSnapshot) {
+            try {
+                return extractSchemaSnapshot(connection, schemaName, context);
+            } catch (SQLException e) {
+                context.checkCancelled();
+                log.debug("MySQL information_schema snapshot failed for {}, falling back to JDBC: {}",
+                        schemaName, e.getMessage());
+            }
+        }
+        return super.extractSchema(connection, schemaName, context);
+    }
+
+    private SchemaMetadata extractSchemaSnapshot(Connection connection, String schemaName,
+                                                 ExplorationContext context) throws SQLException {
+        SchemaMetadata schema = assembleSnapshot(connection, schemaName, null,
+                context.getOptions().isIncludeProcedures(), context);
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    // Reads the named relations, or all of them for null
+    private SchemaMetadata assembleSnapshot(Connection connection, String schemaName, Set<String> relations,
+                                            boolean includeProcedures, ExplorationContext context)
+            throws SQLException {
+        SchemaAssembler assembler = new SchemaAssembler();
+
+        if (relations == null || !relations.isEmpty()) {
+            loadSnapshotRelations(connection, schemaName, relations,
+                    context.getOptions().isIncludeViewDefinitions(), assembler);
+            loadSnapshotColumns(connection, schemaName, relations, assembler);
+            loadSnapshotKeys(connection, schemaName, relations, assembler);
+            loadSnapshotIndexes(connection, schemaName, relations, assembler);
+
+            if (context.getOptions().isIncludeTriggers()) {
+                for (TriggerMetadata trigger : extractTriggers(connection, schemaName, null, context)) {
+                    assembler.addTrigger(trigger);
+                }
+            }
+        }
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder()
+                .name(schemaName)
+                .catalog(schemaName);
+        assembler.addTo(builder);
+
+        if (includeProcedures) {
+            for (ProcedureMetadata proc : extractProcedures(connection, schemaName, null, context)) {
+                builder.addProcedure(proc);
+            }
+        }
+
+        return builder.build();
+    }
+
+    // CREATE_TIME and UPDATE_TIME of tables, CREATED of triggers and LAST_ALTERED of routines tell
+    // what changed. Views carry no timestamps and are always read again. MySQL 8 serves table
+    // timestamps from a cache that can be a day old, so the session reads them live for the
+    // duration of the change queries. Servers without that setting, and tables without a
+    // CREATE_TIME, get a full read.
+    @Override
+    protected SchemaMetadata extractSchemaChanges(Connection connection, SchemaMetadata previous,
+                                                  CatalogFingerprints.Schema fingerprints, Duration age,
+                                                  ExplorationContext context) throws SQLException {
+        if (!catalogSnapshot) {
+            return null;
+        }
+        String schemaName = previous.getName();
+        Long statsExpiry = statsExpiry(connection, context);
+        if (statsExpiry == null) {
+            log.debug("Server has no information_schema_stats_expiry, reading all of {}", schemaName);
+            return null;
+        }
+
+        SchemaChanges changes = new SchemaChanges(previous, context.getOptions());
+        boolean timestamped;
+        setStatsExpiry(connection, 0);
+        try {
+            timestamped = loadChanges(connection, schemaName, age, changes, context);
+        } finally {
+            setStatsExpiry(connection, statsExpiry);
+        }
+        if (!timestamped) {
+            log.debug("Tables of {} without CREATE_TIME, reading all of it", schemaName);
+            return null;
+        }
+
+        log.debug("Re-reading {} relations of {}, procedures {}", changes.getChanged().size(), schemaName,
+                changes.isProceduresChanged() ? "changed" : "unchanged");
+        SchemaMetadata schema = changes.merge(!changes.hasChanges() ? null
+                : assembleSnapshot(connection, schemaName, changes.getChanged(), changes.isProceduresChanged(),
+                context));
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    // False if a table has no CREATE_TIME to compare
+    private boolean loadChanges(Connection connection, String schemaName, Duration age, SchemaChanges changes,
+                                ExplorationContext context) throws SQLException {
+        // NULL only when CREATE_TIME is missing; an unset UPDATE_TIME or a table without triggers
+        // counts as unchanged
+        String sql = """
+                SELECT t.TABLE_NAME, t.TABLE_TYPE,
+                       COALESCE(t.UPDATE_TIME >= c.SINCE, FALSE) OR COALESCE(tr.LAST_CREATED >= c.SINCE, FALSE)
+                           OR t.CREATE_TIME >= c.SINCE AS MODIFIED,
+                       COALESCE(tr.TRIGGER_COUNT, 0) AS TRIGGER_COUNT
+                FROM information_schema.TABLES t
+                CROSS JOIN (SELECT NOW() - INTERVAL ? SECOND AS SINCE) c
+                LEFT JOIN (SELECT EVENT_OBJECT_TABLE, COUNT(*) AS TRIGGER_COUNT, MAX(CREATED) AS LAST_CREATED
+                           FROM information_schema.TRIGGERS
+                           WHERE EVENT_OBJECT_SCHEMA = ?
+                           GROUP BY EVENT_OBJECT_TABLE) tr
+                       ON tr.EVENT_OBJECT_TABLE = t.TABLE_NAME
+                WHERE t.TABLE_SCHEMA = ?
+                  AND t.TABLE_TYPE IN ('BASE TABLE', 'VIEW')
+                ORDER BY BINARY t.TABLE_NAME
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, age.toSeconds());
+            stmt.setString(2, schemaName);
+            stmt.setString(3, schemaName);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if ("VIEW".equals(rs.getString("TABLE_TYPE"))) {
+                        changes.addView(rs.getString("TABLE_NAME"), true);
+                        continue;
+                    }
+                    boolean modified = rs.getBoolean("MODIFIED");
+                    if (rs.wasNull()) {
+                        return false;
+                    }
+                    changes.addTable(rs.getString("TABLE_NAME"), modified, rs.getInt("TRIGGER_COUNT"));
+                }
+            }
+        }
+
+        if (context.getOptions().isIncludeProcedures()) {
+            String routinesSql = """
+                    SELECT COUNT(*) AS ROUTINE_COUNT, COALESCE(SUM(r.LAST_ALTERED >= c.SINCE), 0) AS MODIFIED
+                    FROM information_schema.ROUTINES r
+                    CROSS JOIN (SELECT NOW() - INTERVAL ? SECOND AS SINCE) c
+                    WHERE r.ROUTINE_SCHEMA = ?
+                    """;
+
+            try (PreparedStatement stmt = connection.prepareStatement(routinesSql)) {
+                stmt.setLong(1, age.toSeconds());
+                stmt.setString(2, schemaName);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        changes.procedures(rs.getInt("ROUTINE_COUNT"), rs.getInt("MODIFIED") > 0);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // The session's information_schema_stats_expiry, or null before MySQL 8.0.3 and on MariaDB
+    private Long statsExpiry(Connection connection, ExplorationContext context) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT @@SESSION.information_schema_stats_expiry AS STATS_EXPIRY")) {
+            if (rs.next()) {
+                long expiry = rs.getLong("STATS_EXPIRY");
+                return rs.wasNull() ? null : expiry;
+            }
+            return null;
+        } catch (SQLException e) {
+            context.checkCancelled();
+            return null;
+        }
+    }
+
+    private void setStatsExpiry(Connection connection, long seconds) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET SESSION information_schema_stats_expiry = " + seconds);
+        }
+    }
+
+    private void loadSnapshotRelations(Connection connection, String catalog, Set<String> relations,
+                                       boolean includeViewDefinitions, SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT t.TABLE_NAME, t.TABLE_TYPE, t.TABLE_COMMENT, v.VIEW_DEFINITION
+                FROM information_schema.TABLES t
+                LEFT JOIN information_schema.VIEWS v
+                       ON v.TABLE_SCHEMA = t.TABLE_SCHEMA AND v.TABLE_NAME = t.TABLE_NAME
+                WHERE t.TABLE_SCHEMA = ?
+                  AND t.TABLE_TYPE IN ('BASE TABLE', 'VIEW')
+                ORDER BY BINARY t.TABLE_NAME
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, catalog);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (relations != null && !relations.contains(rs.getString("TABLE_NAME"))) {
+                        continue;
+                    }
+                    if ("VIEW".equals(rs.getString("TABLE_TYPE"))) {
+                        assembler.addView(rs.getString("TABLE_NAME"),
+                                includeViewDefinitions ? rs.getString("VIEW_DEFINITION") : null);
+                    } else {
+                        String comment = rs.getString("TABLE_COMMENT");
+                        assembler.addTable(rs.getString("TABLE_NAME"),
+                                (comment != null && !comment.isEmpty()) ? comment : null);
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotColumns(Connection connection, String catalog, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        // Type names and sizes follow Connector/J's getColumns with its default tinyInt1isBit
+        boolean mariaDb = isMariaDb(connection);
+        String sql = """
+                SELECT TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION, COLUMN_DEFAULT, IS_NULLABLE, EXTRA,
+                       COLUMN_COMMENT, NUMERIC_SCALE,
+                       UPPER(CASE WHEN COLUMN_TYPE LIKE 'tinyint(1)%' THEN 'bit'
+                                  WHEN LOCATE('unsigned', COLUMN_TYPE) != 0
+                                   AND LOCATE('unsigned', DATA_TYPE) = 0
+                                   AND LOCATE('set', DATA_TYPE) != 1
+                                   AND LOCATE('enum', DATA_TYPE) != 1
+                                  THEN CONCAT(DATA_TYPE, ' unsigned')
+                                  ELSE DATA_TYPE
+                             END) AS TYPE_NAME,
+                       CASE WHEN COLUMN_TYPE LIKE 'tinyint(1)%' THEN 1
+                            WHEN LCASE(DATA_TYPE) = 'year' THEN 4
+                            WHEN LCASE(DATA_TYPE) = 'date' THEN 10
+                            WHEN LCASE(DATA_TYPE) = 'time'
+                                 THEN 8 + IF(DATETIME_PRECISION > 0, DATETIME_PRECISION + 1, 0)
+                            WHEN LCASE(DATA_TYPE) IN ('datetime', 'timestamp')
+                                 THEN 19 + IF(DATETIME_PRECISION > 0, DATETIME_PRECISION + 1, 0)
+                            WHEN CHARACTER_MAXIMUM_LENGTH IS NULL THEN NUMERIC_PRECISION
+                            WHEN CHARACTER_MAXIMUM_LENGTH > 2147483647 THEN 2147483647
+                            ELSE CHARACTER_MAXIMUM_LENGTH
+                       END AS COLUMN_SIZE
+                FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = ?
+                """ + relationFilter("TABLE_NAME", relations) + """
+                ORDER BY BINARY TABLE_NAME, ORDINAL_POSITION
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, catalog);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String extra = rs.getString("EXTRA");
+                    String comment = rs.getString("COLUMN_COMMENT");
+
+                    assembler.addColumn(rs.getString("TABLE_NAME"), ColumnMetadata.builder()
+                            .name(rs.getString("COLUMN_NAME"))
+                            .dataType(rs.getString("TYPE_NAME"))
+                            .size(rs.getInt("COLUMN_SIZE"))
+                            .precision(rs.getInt("COLUMN_SIZE"))
+                            .scale(getIntOrDefault(rs, "NUMERIC_SCALE", 0))
+                            .nullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")))
+                            .autoIncrement(extra != null && extra.toLowerCase().contains("auto_increment"))
+                            .defaultValue(snapshotDefault(rs.getString("COLUMN_DEFAULT"), mariaDb))
+                            .comment((comment != null && !comment.isEmpty()) ? comment : null)
+                            .ordinalPosition(rs.getInt("ORDINAL_POSITION"))
+                            .build());
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotKeys(Connection connection, String catalog, Set<String> relations,
+                                  SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT k.TABLE_NAME, k.CONSTRAINT_NAME, k.COLUMN_NAME,
+                       k.REFERENCED_TABLE_NAME, k.REFERENCED_COLUMN_NAME,
+                       r.UPDATE_RULE, r.DELETE_RULE
+                FROM information_schema.KEY_COLUMN_USAGE k
+                LEFT JOIN information_schema.REFERENTIAL_CONSTRAINTS r
+                       ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA
+                      AND r.TABLE_NAME = k.TABLE_NAME
+                      AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME
+                WHERE k.TABLE_SCHEMA = ?
+                  AND (k.CONSTRAINT_NAME = 'PRIMARY' OR k.REFERENCED_TABLE_NAME IS NOT NULL)
+                """ + relationFilter("k.TABLE_NAME", relations) + """
+                ORDER BY BINARY k.TABLE_NAME, BINARY k.REFERENCED_TABLE_SCHEMA, BINARY k.REFERENCED_TABLE_NAME,
+                         BINARY k.CONSTRAINT_NAME, k.ORDINAL_POSITION
+                """;
+
+        Map<String, PrimaryKeyMetadata.Builder> primaryKeys = new LinkedHashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, catalog);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("TABLE_NAME");
+                    String constraintName = rs.getString("CONSTRAINT_NAME");
+
+                    if (rs.getString("REFERENCED_TABLE_NAME") == null) {
+                        primaryKeys.computeIfAbsent(tableName,
+                                        k -> PrimaryKeyMetadata.builder().name(constraintName))
+                                .addColumn(rs.getString("COLUMN_NAME"));
+                        continue;
+                    }
+
+                    ForeignKeyMetadata.Builder fk = assembler.foreignKey(tableName, constraintName);
+                    if (fk == null) {
+                        continue;
+                    }
+                    // Connector/J reports the referenced database as catalog, leaving the schema empty
+                    fk.referencedTable(rs.getString("REFERENCED_TABLE_NAME"))
+                            .onUpdate(mapSnapshotForeignKeyAction(rs.getString("UPDATE_RULE")))
+                            .onDelete(mapSnapshotForeignKeyAction(rs.getString("DELETE_RULE")))
+                            .addColumn(rs.getString("COLUMN_NAME"))
+                            .addReferencedColumn(rs.getString("REFERENCED_COLUMN_NAME"));
+                }
+            }
+        }
+
+        primaryKeys.forEach((tableName, pk) -> assembler.primaryKey(tableName, pk.build()));
+    }
+
+    private void loadSnapshotIndexes(Connection connection, String catalog, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT TABLE_NAME, INDEX_NAME, NON_UNIQUE, SEQ_IN_INDEX, COLUMN_NAME, COLLATION
+                FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = ?
+                """ + relationFilter("TABLE_NAME", relations) + """
+                ORDER BY BINARY TABLE_NAME, NON_UNIQUE, INDEX_NAME, SEQ_IN_INDEX
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, catalog);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexMetadata.Builder index = assembler.index(rs.getString("TABLE_NAME"), rs.getString("INDEX_NAME"));
+                    if (index == null) {
+                        continue;
+                    }
+                    // Connector/J reports every MySQL index as tableIndexOther
+                    index.unique(rs.getInt("NON_UNIQUE") == 0)
+                            .type(IndexMetadata.IndexType.BTREE);
+
+                    String columnName = rs.getString("COLUMN_NAME");
+                    if (columnName != null) {
+                        IndexMetadata.SortOrder sortOrder = "D".equalsIgnoreCase(rs.getString("COLLATION"))
+                                ? IndexMetadata.SortOrder.DESC
+                                : IndexMetadata.SortOrder.ASC;
+                        index.addColumn(columnName, sortOrder, rs.getInt("SEQ_IN_INDEX"));
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isMariaDb(Connection connection) throws SQLException {
+        String version = connection.getMetaData().getDatabaseProductVersion();
+        return version != null && version.contains("MariaDB");
+    }
+
+    // MariaDB reports literal defaults as SQL expressions: NULL for none and quoted strings
+    private static String snapshotDefault(String value, boolean mariaDb) {
+        if (!mariaDb || value == null) {
+            return value;
+        }
+        if ("NULL".equals(value)) {
+            return null;
+        }
+        if (value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        return value;
+    }
+
+    private ForeignKeyMetadata.ForeignKeyAction mapSnapshotForeignKeyAction(String rule) {
+        if (rule == null) {
+            return ForeignKeyMetadata.ForeignKeyAction.NO_ACTION;
+        }
+        return switch (rule) {
+            case "CASCADE" -> ForeignKeyMetadata.ForeignKeyAction.CASCADE;
+            case "SET NULL" -> ForeignKeyMetadata.ForeignKeyAction.SET_NULL;
+            case "SET DEFAULT" -> ForeignKeyMetadata.ForeignKeyAction.SET_DEFAULT;
+            case "RESTRICT" -> ForeignKeyMetadata.ForeignKeyAction.RESTRICT;
+            default -> ForeignKeyMetadata.ForeignKeyAction.NO_ACTION;
+        };
+    }
+
     @Override
     protected String extractTableComment(Connection connection, String catalog, String schema, String tableName) {
         String sql = """
@@ -182,8 +604,8 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                 ExplorationContext context) throws MetadataExtractionException {
         List<TriggerMetadata> triggers = new ArrayList<>();
 
         String sql = """
@@ -224,7 +646,7 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
             }
         } catch (SQLException e) {
             log.warn("Could not extract triggers for schema {}: {}", catalog, e.getMessage());
-            addWarning("Failed to extract triggers: " + e.getMessage());
+            context.addWarning("Failed to extract triggers: " + e.getMessage());
         }
 
         return triggers;
@@ -279,12 +701,16 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema,
+                                                     ExplorationContext context) throws MetadataExtractionException {
         List<ProcedureMetadata> procedures = new ArrayList<>();
 
+        // Snapshot mode reads parameters of every routine in one query; null means per-routine lookups
+        Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine =
+                catalogSnapshot ? extractMySqlParametersForSchema(connection, catalog) : null;
+
         String sql = """
-                SELECT ROUTINE_NAME, ROUTINE_TYPE, ROUTINE_DEFINITION, ROUTINE_COMMENT,
+                SELECT ROUTINE_NAME, SPECIFIC_NAME, ROUTINE_TYPE, ROUTINE_DEFINITION, ROUTINE_COMMENT,
                        DATA_TYPE AS RETURN_TYPE
                 FROM information_schema.ROUTINES
                 WHERE ROUTINE_SCHEMA = ?
@@ -311,14 +737,18 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
                     }
 
                     // Extract parameters
-                    extractMySqlParameters(connection, catalog, rs.getString("ROUTINE_NAME"), builder);
+                    if (parametersByRoutine != null) {
+                        builder.parameters(parametersByRoutine.getOrDefault(rs.getString("SPECIFIC_NAME"), List.of()));
+                    } else {
+                        extractMySqlParameters(connection, catalog, rs.getString("ROUTINE_NAME"), builder);
+                    }
 
                     procedures.add(builder.build());
                 }
             }
         } catch (SQLException e) {
             log.warn("Could not extract procedures for schema {}: {}", catalog, e.getMessage());
-            addWarning("Failed to extract procedures: " + e.getMessage());
+            context.addWarning("Failed to extract procedures: " + e.getMessage());
         }
 
         return procedures;
@@ -344,19 +774,59 @@ public class MySqlMetadataStrategy extends AbstractMetadataStrategy {
                         continue; // Return value
                     }
 
-                    ProcedureMetadata.ParameterMode mode = switch (rs.getString("PARAMETER_MODE")) {
-                        case "IN" -> ProcedureMetadata.ParameterMode.IN;
-                        case "OUT" -> ProcedureMetadata.ParameterMode.OUT;
-                        case "INOUT" -> ProcedureMetadata.ParameterMode.INOUT;
-                        default -> ProcedureMetadata.ParameterMode.IN;
-                    };
-
                     builder.addParameter(paramName, rs.getString("DATA_TYPE"),
-                            mode, rs.getInt("ORDINAL_POSITION"));
+                            mapMySqlParameterMode(rs.getString("PARAMETER_MODE")), rs.getInt("ORDINAL_POSITION"));
                 }
             }
         } catch (SQLException e) {
             log.debug("Could not extract parameters for routine {}: {}", routineName, e.getMessage());
         }
     }
+
+    private Map<String, List<ProcedureMetadata.ParameterMetadata>> extractMySqlParametersForSchema(
+            Connection connection, String catalog) {
+        String sql = """
+                SELECT SPECIFIC_NAME, PARAMETER_NAME, DATA_TYPE, PARAMETER_MODE, ORDINAL_POSITION
+                FROM information_schema.PARAMETERS
+                WHERE SPECIFIC_SCHEMA = ?
+                ORDER BY SPECIFIC_NAME, ORDINAL_POSITION
+                """;
+
+        Map<String, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, catalog);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String paramName = rs.getString("PARAMETER_NAME");
+                    if (paramName == null) {
+                        continue; // Return value
+                    }
+
+                    parametersByRoutine.computeIfAbsent(rs.getString("SPECIFIC_NAME"), k -> new ArrayList<>())
+                            .add(new ProcedureMetadata.ParameterMetadata(paramName, rs.getString("DATA_TYPE"),
+                                    mapMySqlParameterMode(rs.getString("PARAMETER_MODE")),
+                                    rs.getInt("ORDINAL_POSITION")));
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Could not extract parameters for schema {}, falling back to per-routine queries: {}",
+                    catalog, e.getMessage());
+            return null;
+        }
+
+        return parametersByRoutine;
+    }
+
+    private ProcedureMetadata.ParameterMode mapMySqlParameterMode(String mode) {
+        if (mode == null) {
+            return ProcedureMetadata.ParameterMode.IN;
+        }
+        return switch (mode) {
+            case "OUT" -> ProcedureMetadata.ParameterMode.OUT;
+            case "INOUT" -> ProcedureMetadata.ParameterMode.INOUT;
+            default -> ProcedureMetadata.ParameterMode.IN;
+        };
+    }
 }
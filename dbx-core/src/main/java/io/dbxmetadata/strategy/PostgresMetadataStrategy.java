@@ -2,16 +2,26 @@ package io.dbxmetadata.strategy;
 
 import io.dbxmetadata.exception.MetadataExtractionException;
 import io.dbxmetadata.impl.AbstractMetadataStrategy;
+import io.dbxmetadata.impl.CatalogFingerprints;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.impl.SchemaAssembler;
+import io.dbxmetadata.impl.SchemaChanges;
 import io.dbxmetadata.model.ColumnMetadata;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.PrimaryKeyMetadata;
 import io.dbxmetadata.model.ProcedureMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
 import io.dbxmetadata.model.TriggerMetadata;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,6 +32,45 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
             "pg_catalog", "information_schema", "pg_toast", "pg_temp_1", "pg_toast_temp_1"
     );
 
+    // Type OIDs used to derive JDBC-compatible column sizes in catalog snapshot mode
+    private static final int OID_BOOL = 16;
+    private static final int OID_CHAR = 18;
+    private static final int OID_INT8 = 20;
+    private static final int OID_INT2 = 21;
+    private static final int OID_INT4 = 23;
+    private static final int OID_OID = 26;
+    private static final int OID_FLOAT4 = 700;
+    private static final int OID_FLOAT8 = 701;
+    private static final int OID_BPCHAR = 1042;
+    private static final int OID_VARCHAR = 1043;
+    private static final int OID_DATE = 1082;
+    private static final int OID_TIME = 1083;
+    private static final int OID_TIMESTAMP = 1114;
+    private static final int OID_TIMESTAMPTZ = 1184;
+    private static final int OID_INTERVAL = 1186;
+    private static final int OID_TIMETZ = 1266;
+    private static final int OID_BIT = 1560;
+    private static final int OID_VARBIT = 1562;
+    private static final int OID_NUMERIC = 1700;
+
+    private record RelationFingerprint(String name, boolean view, String hash, int triggerCount) {
+    }
+
+    private record RoutineFingerprint(int count, String hash) {
+    }
+
+    private final boolean catalogSnapshot;
+
+    public PostgresMetadataStrategy() {
+        this(true);
+    }
+
+    // In catalog snapshot mode each schema is read with a few pg_catalog queries and assembled on the
+    // client; any failure falls back to the per-table JDBC path.
+    public PostgresMetadataStrategy(boolean catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
     @Override
     public boolean supports(String databaseProductName) {
         return databaseProductName != null &&
@@ -42,6 +91,544 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
                 !schemaName.startsWith("pg_");
     }
 
+    @Override
+    public SchemaMetadata extractSchema(Connection connection, String schemaName, ExplorationContext context)
+            throws MetadataExtractionException {
+        if (catalogSnapshot) {
+            try {
+                return extractSchemaSnapshot(connection, schemaName, context);
+            } catch (SQLException e) {
+                context.checkCancelled();
+                log.debug("PostgreSQL catalog snapshot failed for schema {}, falling back to JDBC: {}",
+                        schemaName, e.getMessage());
+            }
+        }
+        return super.extractSchema(connection, schemaName, context);
+    }
+
+    private SchemaMetadata extractSchemaSnapshot(Connection connection, String schemaName,
+                                                 ExplorationContext context) throws SQLException {
+        boolean includeProcedures = context.getOptions().isIncludeProcedures();
+
+        // Only for runs that will be refreshed; taken first, so a change made while reading shows
+        // up as a difference next time
+        List<RelationFingerprint> relations = null;
+        RoutineFingerprint routines = null;
+        if (context.isTrackingChanges()) {
+            try {
+                relations = fingerprintRelations(connection, schemaName);
+                routines = includeProcedures ? fingerprintRoutines(connection, schemaName) : null;
+            } catch (SQLException e) {
+                context.checkCancelled();
+                log.debug("Could not fingerprint schema {}: {}", schemaName, e.getMessage());
+            }
+        }
+
+        SchemaMetadata schema = assembleSnapshot(connection, schemaName, null, includeProcedures, context);
+        if (relations != null) {
+            recordFingerprints(schemaName, relations, routines, context);
+        }
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    // Reads the named relations, or all of them for null
+    private SchemaMetadata assembleSnapshot(Connection connection, String schemaName, Set<String> relations,
+                                            boolean includeProcedures, ExplorationContext context)
+            throws SQLException {
+        SchemaAssembler assembler = new SchemaAssembler();
+
+        if (relations == null || !relations.isEmpty()) {
+            loadSnapshotRelations(connection, schemaName, relations,
+                    context.getOptions().isIncludeViewDefinitions(), assembler);
+            loadSnapshotColumns(connection, schemaName, relations, assembler);
+            loadSnapshotConstraints(connection, schemaName, relations, assembler);
+            loadSnapshotIndexes(connection, schemaName, relations, assembler);
+
+            if (context.getOptions().isIncludeTriggers()) {
+                for (TriggerMetadata trigger : extractTriggers(connection, null, schemaName, context)) {
+                    assembler.addTrigger(trigger);
+                }
+            }
+        }
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder().name(schemaName);
+        assembler.addTo(builder);
+
+        if (includeProcedures) {
+            try {
+                for (ProcedureMetadata proc : extractProcedures(connection, null, schemaName, context)) {
+                    builder.addProcedure(proc);
+                }
+            } catch (MetadataExtractionException e) {
+                context.addWarning("Failed to extract procedures for schema " + schemaName + ": " + e.getMessage());
+                log.warn("Skipping procedures due to error", e);
+            }
+        }
+
+        return builder.build();
+    }
+
+    // PostgreSQL keeps no DDL timestamps, so the server hashes each relation's catalog rows instead
+    // and only (name, hash) pairs come back. Relations whose hash differs from the one recorded
+    // with the previous extraction are read again.
+    @Override
+    protected SchemaMetadata extractSchemaChanges(Connection connection, SchemaMetadata previous,
+                                                  CatalogFingerprints.Schema fingerprints, Duration age,
+                                                  ExplorationContext context) throws SQLException {
+        if (!catalogSnapshot || fingerprints == null) {
+            // Nothing to compare with; a tracked full extraction records fingerprints for next time
+            return null;
+        }
+        String schemaName = previous.getName();
+
+        List<RelationFingerprint> relations = fingerprintRelations(connection, schemaName);
+        boolean includeProcedures = context.getOptions().isIncludeProcedures();
+        RoutineFingerprint routines = includeProcedures ? fingerprintRoutines(connection, schemaName) : null;
+
+        SchemaChanges changes = new SchemaChanges(previous, context.getOptions());
+        for (RelationFingerprint relation : relations) {
+            boolean modified = !relation.hash().equals(fingerprints.relations().get(relation.name()));
+            if (relation.view()) {
+                changes.addView(relation.name(), modified);
+            } else {
+                changes.addTable(relation.name(), modified, relation.triggerCount());
+            }
+        }
+        if (routines != null) {
+            changes.procedures(routines.count(), !routines.hash().equals(fingerprints.routines()));
+        }
+
+        log.debug("Re-reading {} of {} relations of {}, procedures {}", changes.getChanged().size(),
+                relations.size(), schemaName, changes.isProceduresChanged() ? "changed" : "unchanged");
+        SchemaMetadata schema = changes.merge(!changes.hasChanges() ? null
+                : assembleSnapshot(connection, schemaName, changes.getChanged(), changes.isProceduresChanged(),
+                context));
+        if (context.isTrackingChanges()) {
+            recordFingerprints(schemaName, relations, routines, context);
+        }
+        context.emitSchema(schema);
+        return schema;
+    }
+
+    private static void recordFingerprints(String schemaName, List<RelationFingerprint> relations,
+                                           RoutineFingerprint routines, ExplorationContext context) {
+        Map<String, String> hashes = new HashMap<>();
+        for (RelationFingerprint relation : relations) {
+            hashes.put(relation.name(), relation.hash());
+        }
+        context.recordFingerprints(schemaName,
+                new CatalogFingerprints.Schema(hashes, routines != null ? routines.hash() : null));
+    }
+
+    // Covers everything the snapshot reads for a relation, rendered by the server so renamed
+    // referenced columns or changed trigger and index definitions also change the hash
+    private List<RelationFingerprint> fingerprintRelations(Connection connection, String schema)
+            throws SQLException {
+        String sql = """
+                SELECT c.relname AS name,
+                       c.relkind AS kind,
+                       md5(row(
+                           c.relkind,
+                           obj_description(c.oid, 'pg_class'),
+                           CASE WHEN c.relkind = 'v' THEN pg_get_viewdef(c.oid) END,
+                           (SELECT string_agg(row(a.attnum, a.attname, format_type(a.atttypid, a.atttypmod),
+                                                  a.attnotnull, a.attidentity, pg_get_expr(d.adbin, d.adrelid),
+                                                  col_description(c.oid, a.attnum))::text,
+                                              ',' ORDER BY a.attnum)
+                            FROM pg_attribute a
+                            LEFT JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum
+                            WHERE a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped),
+                           (SELECT string_agg(row(con.conname, pg_get_constraintdef(con.oid))::text,
+                                              ',' ORDER BY con.conname)
+                            FROM pg_constraint con
+                            WHERE con.conrelid = c.oid AND con.contype IN ('p', 'f')),
+                           (SELECT string_agg(row(pg_get_indexdef(i.indexrelid), i.indisclustered)::text,
+                                              ',' ORDER BY i.indexrelid)
+                            FROM pg_index i
+                            WHERE i.indrelid = c.oid),
+                           (SELECT string_agg(row(tg.tgname, tg.tgenabled, pg_get_triggerdef(tg.oid))::text,
+                                              ',' ORDER BY tg.tgname)
+                            FROM pg_trigger tg
+                            WHERE tg.tgrelid = c.oid AND NOT tg.tgisinternal)
+                       )::text) AS hash,
+                       (SELECT count(*) FROM pg_trigger tg
+                        WHERE tg.tgrelid = c.oid AND NOT tg.tgisinternal) AS trigger_count
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ?
+                  AND c.relkind IN ('r', 'v')
+                ORDER BY c.relname
+                """;
+
+        List<RelationFingerprint> relations = new ArrayList<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    relations.add(new RelationFingerprint(rs.getString("name"), "v".equals(rs.getString("kind")),
+                            rs.getString("hash"), rs.getInt("trigger_count")));
+                }
+            }
+        }
+
+        return relations;
+    }
+
+    private RoutineFingerprint fingerprintRoutines(Connection connection, String schema) throws SQLException {
+        String sql = """
+                SELECT count(*) AS routine_count,
+                       md5(coalesce(string_agg(row(p.oid, md5(pg_get_functiondef(p.oid)),
+                                                   obj_description(p.oid, 'pg_proc'))::text,
+                                               ',' ORDER BY p.oid), '')) AS hash
+                FROM pg_proc p
+                JOIN pg_namespace n ON n.oid = p.pronamespace
+                WHERE n.nspname = ?
+                  AND p.prokind IN ('f', 'p')
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new RoutineFingerprint(rs.getInt("routine_count"), rs.getString("hash"));
+            }
+        }
+    }
+
+    private void loadSnapshotRelations(Connection connection, String schema, Set<String> relations,
+                                       boolean includeViewDefinitions, SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT c.relname AS name,
+                       c.relkind AS kind,
+                       CASE WHEN c.relkind = 'r' THEN obj_description(c.oid) END AS comment,
+                       CASE WHEN c.relkind = 'v' THEN pg_get_viewdef(c.oid) END AS definition
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ?
+                  AND c.relkind IN ('r', 'v')
+                ORDER BY c.relname
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (relations != null && !relations.contains(rs.getString("name"))) {
+                        continue;
+                    }
+                    if ("v".equals(rs.getString("kind"))) {
+                        assembler.addView(rs.getString("name"),
+                                includeViewDefinitions ? rs.getString("definition") : null);
+                    } else {
+                        assembler.addTable(rs.getString("name"), rs.getString("comment"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotColumns(Connection connection, String schema, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT c.relname AS table_name,
+                       a.attname AS column_name,
+                       CASE WHEN tn.nspname = ANY (current_schemas(true)) THEN t.typname
+                            ELSE '"' || tn.nspname || '"."' || t.typname || '"'
+                       END AS type_name,
+                       CASE WHEN t.typcategory = 'A' THEN t.typelem ELSE a.atttypid END AS type_oid,
+                       a.atttypmod AS type_mod,
+                       t.typtype AS type_kind,
+                       t.typbasetype AS base_type_oid,
+                       t.typtypmod AS domain_type_mod,
+                       a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS not_null,
+                       a.attidentity <> '' AS is_identity,
+                       pg_get_expr(d.adbin, d.adrelid) AS default_value,
+                       col_description(c.oid, a.attnum) AS comment,
+                       row_number() OVER (PARTITION BY a.attrelid ORDER BY a.attnum) AS ordinal_position
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_attribute a ON a.attrelid = c.oid
+                JOIN pg_type t ON t.oid = a.atttypid
+                JOIN pg_namespace tn ON tn.oid = t.typnamespace
+                LEFT JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum
+                WHERE n.nspname = ?
+                  AND c.relkind IN ('r', 'v')
+                  AND a.attnum > 0
+                  AND NOT a.attisdropped
+                """ + relationFilter("c.relname", relations) + """
+                ORDER BY c.relname, a.attnum
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String typeName = rs.getString("type_name");
+                    String defaultValue = rs.getString("default_value");
+                    boolean sequenceDefault = defaultValue != null && defaultValue.contains("nextval(");
+
+                    // Same serial aliases the PostgreSQL JDBC driver reports
+                    if (sequenceDefault) {
+                        typeName = switch (typeName) {
+                            case "int4" -> "serial";
+                            case "int8" -> "bigserial";
+                            case "int2" -> "smallserial";
+                            default -> typeName;
+                        };
+                    }
+
+                    int typeOid = rs.getInt("type_oid");
+                    int typeMod = rs.getInt("type_mod");
+                    int size;
+                    int scale;
+                    if ("d".equals(rs.getString("type_kind"))) {
+                        int baseOid = rs.getInt("base_type_oid");
+                        int domainMod = rs.getInt("domain_type_mod");
+                        scale = decimalDigits(baseOid, typeMod);
+                        if (domainMod == -1) {
+                            size = columnSize(baseOid, typeMod);
+                        } else if (baseOid == OID_NUMERIC) {
+                            scale = decimalDigits(baseOid, domainMod);
+                            size = columnSize(baseOid, domainMod);
+                        } else {
+                            size = domainMod;
+                        }
+                    } else {
+                        scale = decimalDigits(typeOid, typeMod);
+                        size = columnSize(typeOid, typeMod);
+                        if (size == 0) {
+                            size = displaySize(typeOid, typeMod);
+                        }
+                    }
+
+                    String comment = rs.getString("comment");
+                    assembler.addColumn(rs.getString("table_name"), ColumnMetadata.builder()
+                            .name(rs.getString("column_name"))
+                            .dataType(typeName)
+                            .size(size)
+                            .precision(size)
+                            .scale(scale)
+                            .nullable(!rs.getBoolean("not_null"))
+                            .autoIncrement(sequenceDefault || rs.getBoolean("is_identity"))
+                            .defaultValue(defaultValue)
+                            .comment(comment != null && !comment.isEmpty() ? comment : null)
+                            .ordinalPosition(rs.getInt("ordinal_position"))
+                            .build());
+                }
+            }
+        }
+    }
+
+    private void loadSnapshotConstraints(Connection connection, String schema, Set<String> relations,
+                                         SchemaAssembler assembler)
+            throws SQLException {
+        String sql = """
+                SELECT c.relname AS table_name,
+                       con.conname AS constraint_name,
+                       con.contype AS constraint_type,
+                       a.attname AS column_name,
+                       rn.nspname AS referenced_schema,
+                       rc.relname AS referenced_table,
+                       ra.attname AS referenced_column,
+                       con.confupdtype AS update_rule,
+                       con.confdeltype AS delete_rule
+                FROM pg_constraint con
+                JOIN pg_class c ON c.oid = con.conrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(attnum, refattnum, seq)
+                JOIN pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = k.attnum
+                LEFT JOIN pg_class rc ON rc.oid = con.confrelid
+                LEFT JOIN pg_namespace rn ON rn.oid = rc.relnamespace
+                LEFT JOIN pg_attribute ra ON ra.attrelid = con.confrelid AND ra.attnum = k.refattnum
+                WHERE n.nspname = ?
+                  AND c.relkind = 'r'
+                  AND con.contype IN ('p', 'f')
+                """ + relationFilter("c.relname", relations) + """
+                ORDER BY c.relname, con.contype DESC, rn.nspname, rc.relname, con.conname, k.seq
+                """;
+
+        Map<String, PrimaryKeyMetadata.Builder> primaryKeys = new LinkedHashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("table_name");
+                    String constraintName = rs.getString("constraint_name");
+
+                    if ("p".equals(rs.getString("constraint_type"))) {
+                        primaryKeys.computeIfAbsent(tableName,
+                                        k -> PrimaryKeyMetadata.builder().name(constraintName))
+                                .addColumn(rs.getString("column_name"));
+                        continue;
+                    }
+
+                    ForeignKeyMetadata.Builder fk = assembler.foreignKey(tableName, constraintName);
+                    if (fk == null) {
+                        continue;
+                    }
+                    fk.referencedSchema(rs.getString("referenced_schema"))
+                            .referencedTable(rs.getString("referenced_table"))
+                            .onUpdate(mapSnapshotForeignKeyAction(rs.getString("update_rule")))
+                            .onDelete(mapSnapshotForeignKeyAction(rs.getString("delete_rule")))
+                            .addColumn(rs.getString("column_name"))
+                            .addReferencedColumn(rs.getString("referenced_column"));
+                }
+            }
+        }
+
+        primaryKeys.forEach((tableName, pk) -> assembler.primaryKey(tableName, pk.build()));
+    }
+
+    private void loadSnapshotIndexes(Connection connection, String schema, Set<String> relations,
+                                     SchemaAssembler assembler)
+            throws SQLException {
+        // Mirrors the ordering and column naming of the JDBC driver's getIndexInfo
+        String sql = """
+                SELECT ct.relname AS table_name,
+                       ci.relname AS index_name,
+                       i.indisunique AS is_unique,
+                       CASE WHEN i.indisclustered THEN 1
+                            WHEN am.amname = 'hash' THEN 2
+                            ELSE 3
+                       END AS index_type,
+                       k.n AS ordinal_position,
+                       trim(both '"' from pg_get_indexdef(ci.oid, k.n, false)) AS column_name,
+                       CASE WHEN am.amname = 'btree' AND (i.indoption[k.n - 1] & 1::smallint) = 1 THEN 'D'
+                            ELSE 'A'
+                       END AS sort_order
+                FROM pg_index i
+                JOIN pg_class ct ON ct.oid = i.indrelid
+                JOIN pg_namespace n ON n.oid = ct.relnamespace
+                JOIN pg_class ci ON ci.oid = i.indexrelid
+                JOIN pg_am am ON am.oid = ci.relam
+                CROSS JOIN LATERAL information_schema._pg_expandarray(i.indkey) AS k(x, n)
+                WHERE n.nspname = ?
+                  AND ct.relkind = 'r'
+                """ + relationFilter("ct.relname", relations) + """
+                ORDER BY ct.relname, NOT i.indisunique, index_type, ci.relname, k.n
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+            bindRelationNames(stmt, 2, relations);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexMetadata.Builder index = assembler.index(rs.getString("table_name"), rs.getString("index_name"));
+                    if (index == null) {
+                        continue;
+                    }
+                    index.unique(rs.getBoolean("is_unique"))
+                            .type(mapIndexType(rs.getShort("index_type")));
+
+                    String columnName = rs.getString("column_name");
+                    if (columnName != null) {
+                        IndexMetadata.SortOrder sortOrder = "D".equals(rs.getString("sort_order"))
+                                ? IndexMetadata.SortOrder.DESC
+                                : IndexMetadata.SortOrder.ASC;
+                        index.addColumn(columnName, sortOrder, rs.getInt("ordinal_position"));
+                    }
+                }
+            }
+        }
+    }
+
+    private ForeignKeyMetadata.ForeignKeyAction mapSnapshotForeignKeyAction(String action) {
+        if (action == null) {
+            return ForeignKeyMetadata.ForeignKeyAction.NO_ACTION;
+        }
+        return switch (action) {
+            case "c" -> ForeignKeyMetadata.ForeignKeyAction.CASCADE;
+            case "n" -> ForeignKeyMetadata.ForeignKeyAction.SET_NULL;
+            case "d" -> ForeignKeyMetadata.ForeignKeyAction.SET_DEFAULT;
+            case "r" -> ForeignKeyMetadata.ForeignKeyAction.RESTRICT;
+            default -> ForeignKeyMetadata.ForeignKeyAction.NO_ACTION;
+        };
+    }
+
+    // Column size, scale and display size follow the PostgreSQL JDBC driver so snapshot and JDBC
+    // extraction report the same values.
+    private static int columnSize(int typeOid, int typeMod) {
+        return switch (typeOid) {
+            case OID_INT2 -> 5;
+            case OID_OID, OID_INT4 -> 10;
+            case OID_INT8 -> 19;
+            case OID_FLOAT4 -> 8;
+            case OID_FLOAT8 -> 17;
+            case OID_NUMERIC -> typeMod == -1 ? 0 : ((typeMod - 4) & 0xFFFF0000) >> 16;
+            case OID_CHAR, OID_BOOL -> 1;
+            case OID_BPCHAR, OID_VARCHAR -> typeMod == -1 ? Integer.MAX_VALUE : typeMod - 4;
+            case OID_DATE, OID_TIME, OID_TIMETZ, OID_INTERVAL, OID_TIMESTAMP, OID_TIMESTAMPTZ ->
+                    displaySize(typeOid, typeMod);
+            case OID_BIT -> typeMod;
+            case OID_VARBIT -> typeMod == -1 ? Integer.MAX_VALUE : typeMod;
+            default -> Integer.MAX_VALUE;
+        };
+    }
+
+    private static int decimalDigits(int typeOid, int typeMod) {
+        return switch (typeOid) {
+            case OID_FLOAT4 -> 8;
+            case OID_FLOAT8 -> 17;
+            case OID_NUMERIC -> typeMod == -1 ? 0 : (typeMod - 4) & 0xFFFF;
+            case OID_TIME, OID_TIMETZ, OID_TIMESTAMP, OID_TIMESTAMPTZ -> typeMod == -1 ? 6 : typeMod;
+            case OID_INTERVAL -> typeMod == -1 ? 6 : typeMod & 0xFFFF;
+            default -> 0;
+        };
+    }
+
+    private static int displaySize(int typeOid, int typeMod) {
+        return switch (typeOid) {
+            case OID_INT2 -> 6;
+            case OID_INT4 -> 11;
+            case OID_OID -> 10;
+            case OID_INT8 -> 20;
+            case OID_FLOAT4 -> 15;
+            case OID_FLOAT8 -> 25;
+            case OID_CHAR, OID_BOOL -> 1;
+            case OID_DATE -> 13;
+            case OID_TIME, OID_TIMETZ, OID_TIMESTAMP, OID_TIMESTAMPTZ -> {
+                int secondSize = switch (typeMod) {
+                    case -1 -> 6 + 1;
+                    case 0 -> 0;
+                    case 1 -> 2 + 1;
+                    default -> typeMod + 1;
+                };
+                yield switch (typeOid) {
+                    case OID_TIME -> 8 + secondSize;
+                    case OID_TIMETZ -> 8 + secondSize + 6;
+                    case OID_TIMESTAMP -> 13 + 1 + 8 + secondSize;
+                    default -> 13 + 1 + 8 + secondSize + 6;
+                };
+            }
+            case OID_INTERVAL -> 49;
+            case OID_VARCHAR, OID_BPCHAR -> typeMod == -1 ? Integer.MAX_VALUE : typeMod - 4;
+            case OID_NUMERIC -> {
+                if (typeMod == -1) {
+                    yield 131089;
+                }
+                int precision = ((typeMod - 4) >> 16) & 0xFFFF;
+                int scale = (typeMod - 4) & 0xFFFF;
+                yield 1 + precision + (scale != 0 ? 1 : 0);
+            }
+            case OID_BIT -> typeMod;
+            case OID_VARBIT -> typeMod == -1 ? Integer.MAX_VALUE : typeMod;
+            default -> Integer.MAX_VALUE;
+        };
+    }
+
     @Override
     protected String extractTableComment(Connection connection, String catalog, String schema, String tableName) {
         String sql = """
@@ -149,8 +736,8 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                 ExplorationContext context) throws MetadataExtractionException {
         List<TriggerMetadata> triggers = new ArrayList<>();
 
         String sql = """
@@ -207,7 +794,7 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
             }
         } catch (SQLException e) {
             log.warn("Could not extract triggers for schema {}: {}", schema, e.getMessage());
-            addWarning("Failed to extract triggers for schema " + schema + ": " + e.getMessage());
+            context.addWarning("Failed to extract triggers for schema " + schema + ": " + e.getMessage());
         }
 
         return triggers;
@@ -278,13 +865,14 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
     }
 
     @Override
-    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema)
-            throws MetadataExtractionException {
+    public List<ProcedureMetadata> extractProcedures(Connection connection, String catalog, String schema,
+                                                     ExplorationContext context) throws MetadataExtractionException {
         List<ProcedureMetadata> procedures = new ArrayList<>();
 
         // Query for functions and procedures in PostgreSQL
         String sql = """
-                SELECT p.proname AS name,
+                SELECT p.oid AS specific_id,
+                       p.proname AS name,
                        CASE p.prokind
                            WHEN 'f' THEN 'FUNCTION'
                            WHEN 'p' THEN 'PROCEDURE'
@@ -298,10 +886,14 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
                 LEFT JOIN pg_description d ON d.objoid = p.oid AND d.classoid = 'pg_proc'::regclass
                 WHERE n.nspname = ?
                   AND p.prokind IN ('f', 'p')
-                ORDER BY p.proname
+                ORDER BY p.proname, p.oid
                 """;
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            // Parameters of every routine in one query, keyed by oid so overloads stay apart
+            Map<Long, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine =
+                    extractPostgresParametersForSchema(connection, schema);
+
             stmt.setString(1, schema);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -313,6 +905,7 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
                     procedures.add(ProcedureMetadata.builder()
                             .name(rs.getString("name"))
                             .type(type)
+                            .parameters(parametersByRoutine.getOrDefault(rs.getLong("specific_id"), List.of()))
                             .returnType(rs.getString("return_type"))
                             .definition(rs.getString("definition"))
                             .comment(rs.getString("comment"))
@@ -322,9 +915,60 @@ public class PostgresMetadataStrategy extends AbstractMetadataStrategy {
         } catch (SQLException e) {
             // Fall back to JDBC standard method
             log.debug("PostgreSQL-specific procedure extraction failed, falling back to JDBC: {}", e.getMessage());
-            return super.extractProcedures(connection, catalog, schema);
+            return super.extractProcedures(connection, catalog, schema, context);
         }
 
         return procedures;
     }
+
+    // Expands the argument arrays of pg_proc. RETURNS TABLE columns (mode 't') belong to the return
+    // type and are skipped; unnamed arguments get the $n names the JDBC driver uses. Types are named
+    // as in the column query, so a parameter and a column of the same type match.
+    private Map<Long, List<ProcedureMetadata.ParameterMetadata>> extractPostgresParametersForSchema(
+            Connection connection, String schema) throws SQLException {
+        String sql = """
+                SELECT p.oid AS specific_id,
+                       COALESCE(NULLIF(p.proargnames[a.ordinal], ''), '$' || a.ordinal) AS name,
+                       CASE WHEN tn.nspname = ANY (current_schemas(true)) THEN t.typname
+                            ELSE '"' || tn.nspname || '"."' || t.typname || '"'
+                       END AS data_type,
+                       COALESCE(p.proargmodes[a.ordinal], 'i') AS mode,
+                       a.ordinal
+                FROM pg_proc p
+                JOIN pg_namespace n ON n.oid = p.pronamespace
+                CROSS JOIN LATERAL unnest(COALESCE(p.proallargtypes, p.proargtypes::oid[]))
+                    WITH ORDINALITY AS a(type_oid, ordinal)
+                JOIN pg_type t ON t.oid = a.type_oid
+                JOIN pg_namespace tn ON tn.oid = t.typnamespace
+                WHERE n.nspname = ?
+                  AND p.prokind IN ('f', 'p')
+                ORDER BY p.oid, a.ordinal
+                """;
+
+        Map<Long, List<ProcedureMetadata.ParameterMetadata>> parametersByRoutine = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schema);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ProcedureMetadata.ParameterMode mode = switch (rs.getString("mode")) {
+                        case "o" -> ProcedureMetadata.ParameterMode.OUT;
+                        case "b" -> ProcedureMetadata.ParameterMode.INOUT;
+                        case "t" -> null;
+                        default -> ProcedureMetadata.ParameterMode.IN;
+                    };
+                    if (mode == null) {
+                        continue;
+                    }
+
+                    parametersByRoutine.computeIfAbsent(rs.getLong("specific_id"), k -> new ArrayList<>())
+                            .add(new ProcedureMetadata.ParameterMetadata(rs.getString("name"),
+                                    rs.getString("data_type"), mode, rs.getInt("ordinal")));
+                }
+            }
+        }
+
+        return parametersByRoutine;
+    }
 }
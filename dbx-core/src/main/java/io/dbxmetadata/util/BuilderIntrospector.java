@@ -0,0 +1,40 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import io.dbxmetadata.model.DatabaseMetadata;
+
+// Reads the immutable model classes through their nested builders, whose setters carry the
+// property names without a prefix. The model itself needs no Jackson annotations for this.
+final class BuilderIntrospector extends JacksonAnnotationIntrospector {
+
+    private static final String MODEL_PACKAGE = DatabaseMetadata.class.getPackageName();
+
+    @Override
+    public Class<?> findPOJOBuilder(AnnotatedClass ac) {
+        Class<?> builder = builderOf(ac.getRawType());
+        return builder != null ? builder : super.findPOJOBuilder(ac);
+    }
+
+    @Override
+    public JsonPOJOBuilder.Value findPOJOBuilderConfig(AnnotatedClass ac) {
+        Class<?> owner = ac.getRawType().getDeclaringClass();
+        if (owner != null && builderOf(owner) == ac.getRawType()) {
+            return new JsonPOJOBuilder.Value("build", "");
+        }
+        return super.findPOJOBuilderConfig(ac);
+    }
+
+    private static Class<?> builderOf(Class<?> type) {
+        if (!type.getPackageName().equals(MODEL_PACKAGE) || type.isRecord() || type.isEnum()) {
+            return null;
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            if (nested.getSimpleName().equals("Builder")) {
+                return nested;
+            }
+        }
+        return null;
+    }
+}
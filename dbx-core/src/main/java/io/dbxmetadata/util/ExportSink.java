@@ -0,0 +1,196 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.dbxmetadata.model.ExportOptions;
+
+import java.io.FilterOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Target of a single export. Output is streamed straight to the target, compressed on the way if
+// asked, and counted before and after compression; streams, writers and channels handed in by the
+// caller are flushed but left open. For Writer targets the count is in characters, since encoding
+// is up to the writer, and compression is not available.
+public final class ExportSink {
+
+    // Compressed output is handed to the target in chunks of this size
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final OutputStream stream;
+    private final Writer writer;
+    // What reaches the target, and what the generator wrote before compression
+    private CountingOutputStream written;
+    private CountingOutputStream content;
+    private CountingWriter writtenChars;
+
+    private ExportSink(Path path, OutputStream stream, Writer writer) {
+        this.path = path;
+        this.stream = stream;
+        this.writer = writer;
+    }
+
+    public static ExportSink toPath(Path path) {
+        return new ExportSink(Objects.requireNonNull(path, "Path cannot be null"), null, null);
+    }
+
+    public static ExportSink toStream(OutputStream stream) {
+        return new ExportSink(null, Objects.requireNonNull(stream, "Stream cannot be null"), null);
+    }
+
+    public static ExportSink toWriter(Writer writer) {
+        return new ExportSink(null, null, Objects.requireNonNull(writer, "Writer cannot be null"));
+    }
+
+    public static ExportSink toChannel(WritableByteChannel channel) {
+        return toStream(Channels.newOutputStream(Objects.requireNonNull(channel, "Channel cannot be null")));
+    }
+
+    // Only counts, for callers interested in the size
+    public static ExportSink discard() {
+        return toStream(OutputStream.nullOutputStream());
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getBytesWritten() {
+        if (writtenChars != null) {
+            return writtenChars.count;
+        }
+        return written != null ? written.count : 0;
+    }
+
+    public long getUncompressedBytes() {
+        if (writtenChars != null) {
+            return writtenChars.count;
+        }
+        return content != null ? content.count : 0;
+    }
+
+    JsonGenerator createGenerator(JsonFactory factory, ExportOptions.Compression compression) throws IOException {
+        if (writer != null && factory.canHandleBinaryNatively()) {
+            throw new IllegalArgumentException(factory.getFormatName() + " output needs a byte target, not a Writer");
+        }
+        if (writer != null && compression != ExportOptions.Compression.NONE) {
+            throw new IllegalArgumentException("Compressed output needs a byte target, not a Writer");
+        }
+        if (written != null || writtenChars != null) {
+            throw new IllegalStateException("Export sink has already been used");
+        }
+
+        if (writer != null) {
+            writtenChars = new CountingWriter(writer);
+            return factory.createGenerator(writtenChars);
+        }
+
+        if (stream != null) {
+            written = new CountingOutputStream(stream, false);
+        } else {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            written = new CountingOutputStream(Files.newOutputStream(path), true);
+        }
+        // Closing the generator finishes the compressed stream, then closes or flushes the target
+        content = switch (compression) {
+            case NONE -> written;
+            case GZIP -> new CountingOutputStream(new GZIPOutputStream(written, COMPRESSION_BUFFER_SIZE), true);
+            case DEFLATE -> new CountingOutputStream(new ZlibOutputStream(written), true);
+        };
+        return factory.createGenerator(content);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private final boolean closeTarget;
+        private long count;
+
+        CountingOutputStream(OutputStream out, boolean closeTarget) {
+            super(out);
+            this.closeTarget = closeTarget;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closeTarget) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+
+    // Caller-owned, so closing only flushes
+    private static final class CountingWriter extends FilterWriter {
+        private long count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    // DeflaterOutputStream only releases deflaters it created itself, which come with a small buffer
+    private static final class ZlibOutputStream extends DeflaterOutputStream {
+
+        ZlibOutputStream(OutputStream out) {
+            super(out, new Deflater(), COMPRESSION_BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
@@ -1,82 +1,108 @@
 package io.dbxmetadata.util;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.dbxmetadata.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.StringWriter;
+import java.time.Duration;
 
 public class JsonExporter {
     private static final Logger log = LoggerFactory.getLogger(JsonExporter.class);
 
-    private static final ObjectMapper MAPPER = createObjectMapper();
+    private static final ObjectMapper MAPPER = createObjectMapper(new JsonFactory());
+    // For writing to generators: exports may write many values to one generator, and flushing
+    // after each would defeat buffering
+    private static final ObjectMapper WRITING_MAPPER = MAPPER.copy()
+            .configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+    private static final ObjectMapper COMPACT_WRITING_MAPPER = WRITING_MAPPER.copy()
+            .configure(SerializationFeature.INDENT_OUTPUT, false);
+    // Binary snapshots; Smile also back-references repeated short values such as data type names
+    private static final ObjectMapper SMILE_MAPPER = binaryMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+    private static final ObjectMapper CBOR_MAPPER = binaryMapper(new CBORFactory());
 
     private JsonExporter() {
         // Utility class
     }
 
-    private static ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+    private static ObjectMapper createObjectMapper(JsonFactory factory) {
+        ObjectMapper mapper = new ObjectMapper(factory);
         mapper.registerModule(new JavaTimeModule());
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        // Model classes are read back through their builders; derived totals are skipped
+        mapper.setAnnotationIntrospector(new BuilderIntrospector());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         return mapper;
     }
 
-    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options) {
-        try {
-            ObjectMapper mapper = options.isPrettyPrint()
-                    ? MAPPER
-                    : MAPPER.copy().configure(SerializationFeature.INDENT_OUTPUT, false);
-
-            // Filter metadata based on options
-            DatabaseMetadata filteredMetadata = filterMetadata(metadata, options);
+    private static ObjectMapper binaryMapper(JsonFactory factory) {
+        return createObjectMapper(factory)
+                .configure(SerializationFeature.INDENT_OUTPUT, false)
+                .configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+    }
 
-            if (options.getOutputPath() != null) {
-                // Write to file
-                Path outputPath = options.getOutputPath();
-                if (outputPath.getParent() != null) {
-                    Files.createDirectories(outputPath.getParent());
-                }
+    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options) {
+        if (options.isSharded()) {
+            return ShardedExporter.export(metadata, options);
+        }
+        // Without an output path only the size is reported
+        ExportSink sink = options.getOutputPath() != null
+                ? ExportSink.toPath(options.getOutputPath())
+                : ExportSink.discard();
+        return export(metadata, options, sink);
+    }
 
-                byte[] jsonBytes = mapper.writeValueAsBytes(filteredMetadata);
-                Files.write(outputPath, jsonBytes);
+    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options, ExportSink sink) {
+        if (options.getFormat() == ExportOptions.ExportFormat.NDJSON) {
+            return NdjsonExporter.export(metadata, options, sink);
+        }
+        long startTime = System.nanoTime();
+        try {
+            try (JsonGenerator generator = createGenerator(sink, options)) {
+                MetadataSerializer.forOptions(options).writeDatabase(generator, metadata);
+            }
 
-                log.info("Exported metadata to {}", outputPath);
-                return ExportResult.success(outputPath, jsonBytes.length);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+            if (sink.getPath() != null) {
+                log.info("Exported metadata to {}", sink.getPath());
             } else {
-                // Return as string (for in-memory use)
-                String json = mapper.writeValueAsString(filteredMetadata);
-                log.debug("Generated JSON metadata ({} chars)", json.length());
-                return ExportResult.builder()
-                        .success(true)
-                        .bytesWritten(json.length())
-                        .build();
+                log.debug("Exported {} metadata ({} bytes)", options.getFormat(), sink.getBytesWritten());
             }
+            return ExportResult.success(sink.getPath(), sink.getBytesWritten(), sink.getUncompressedBytes(), elapsed);
 
         } catch (IOException e) {
-            log.error("Failed to export metadata to JSON: {}", e.getMessage());
-            return ExportResult.failure("JSON export failed: " + e.getMessage());
+            log.error("Failed to export metadata to {}: {}", options.getFormat(), e.getMessage());
+            return ExportResult.failure(options.getFormat() + " export failed: " + e.getMessage());
         }
     }
 
     public static String toJson(DatabaseMetadata metadata, boolean prettyPrint) {
-        try {
-            ObjectMapper mapper = prettyPrint
-                    ? MAPPER
-                    : MAPPER.copy().configure(SerializationFeature.INDENT_OUTPUT, false);
-            return mapper.writeValueAsString(metadata);
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(json)) {
+            if (prettyPrint) {
+                generator.setPrettyPrinter(MAPPER.getSerializationConfig().constructDefaultPrettyPrinter());
+            }
+            MetadataSerializer.forOptions(null).writeDatabase(generator, metadata);
         } catch (IOException e) {
             throw new RuntimeException("Failed to convert metadata to JSON", e);
         }
+        return json.toString();
     }
 
     public static String toJson(DatabaseMetadata metadata) {
@@ -87,130 +113,27 @@ public class JsonExporter {
         return MAPPER;
     }
 
-    private static DatabaseMetadata filterMetadata(DatabaseMetadata metadata, ExportOptions options) {
-        // If all options are enabled, return as-is
-        if (options.isIncludeProcedures() && options.isIncludeTriggers() &&
-                options.isIncludeIndexDetails() && options.isIncludeComments() &&
-                options.isIncludeViewDefinitions()) {
-            return metadata;
-        }
-
-        // Build filtered metadata
-        DatabaseMetadata.Builder builder = DatabaseMetadata.builder()
-                .productName(metadata.getProductName())
-                .productVersion(metadata.getProductVersion())
-                .driverName(metadata.getDriverName())
-                .driverVersion(metadata.getDriverVersion())
-                .url(metadata.getUrl())
-                .userName(metadata.getUserName())
-                .extractedAt(metadata.getExtractedAt())
-                .warnings(metadata.getWarnings());
-
-        for (SchemaMetadata schema : metadata.getSchemas()) {
-            builder.addSchema(filterSchema(schema, options));
-        }
-
-        return builder.build();
-    }
-
-    private static SchemaMetadata filterSchema(SchemaMetadata schema, ExportOptions options) {
-        SchemaMetadata.Builder builder = SchemaMetadata.builder()
-                .name(schema.getName())
-                .catalog(schema.getCatalog())
-                .owner(schema.getOwner());
-
-        // Filter tables
-        for (TableMetadata table : schema.getTables()) {
-            builder.addTable(filterTable(table, options));
-        }
-
-        // Filter views
-        for (ViewMetadata view : schema.getViews()) {
-            builder.addView(filterView(view, options));
-        }
-
-        // Include procedures if enabled
-        if (options.isIncludeProcedures()) {
-            for (ProcedureMetadata proc : schema.getProcedures()) {
-                builder.addProcedure(proc);
-            }
-        }
-
-        return builder.build();
-    }
-
-    private static TableMetadata filterTable(TableMetadata table, ExportOptions options) {
-        TableMetadata.Builder builder = TableMetadata.builder()
-                .name(table.getName())
-                .type(table.getType())
-                .primaryKey(table.getPrimaryKey())
-                .foreignKeys(table.getForeignKeys())
-                .rowCount(table.getRowCount());
-
-        // Filter columns
-        for (ColumnMetadata col : table.getColumns()) {
-            builder.addColumn(filterColumn(col, options));
-        }
-
-        // Include indexes if enabled
-        if (options.isIncludeIndexDetails()) {
-            builder.indexes(table.getIndexes());
-        }
-
-        // Include triggers if enabled
-        if (options.isIncludeTriggers()) {
-            builder.triggers(table.getTriggers());
-        }
-
-        // Include comment if enabled
-        if (options.isIncludeComments()) {
-            builder.comment(table.getComment());
-        }
-
-        return builder.build();
+    // Pretty printing only applies to JSON documents; NDJSON needs one record per line
+    static ObjectMapper mapper(ExportOptions.ExportFormat format, boolean prettyPrint) {
+        return switch (format) {
+            case JSON -> prettyPrint ? WRITING_MAPPER : COMPACT_WRITING_MAPPER;
+            case NDJSON -> COMPACT_WRITING_MAPPER;
+            case SMILE -> SMILE_MAPPER;
+            case CBOR -> CBOR_MAPPER;
+        };
     }
 
-    private static ColumnMetadata filterColumn(ColumnMetadata column, ExportOptions options) {
-        ColumnMetadata.Builder builder = ColumnMetadata.builder()
-                .name(column.getName())
-                .dataType(column.getDataType())
-                .size(column.getSize())
-                .precision(column.getPrecision())
-                .scale(column.getScale())
-                .nullable(column.isNullable())
-                .primaryKey(column.isPrimaryKey())
-                .autoIncrement(column.isAutoIncrement())
-                .defaultValue(column.getDefaultValue())
-                .ordinalPosition(column.getOrdinalPosition());
-
-        // Include comment if enabled
-        if (options.isIncludeComments()) {
-            builder.comment(column.getComment());
-        }
-
-        return builder.build();
+    static ObjectMapper mapper(ExportOptions options) {
+        return mapper(options.getFormat(), options.isPrettyPrint());
     }
 
-    private static ViewMetadata filterView(ViewMetadata view, ExportOptions options) {
-        ViewMetadata.Builder builder = ViewMetadata.builder()
-                .name(view.getName())
-                .updatable(view.isUpdatable());
-
-        // Filter columns
-        for (ColumnMetadata col : view.getColumns()) {
-            builder.addColumn(filterColumn(col, options));
+    // Generator for the sink in the options' format, pretty printing as the mapper would
+    static JsonGenerator createGenerator(ExportSink sink, ExportOptions options) throws IOException {
+        ObjectMapper mapper = mapper(options);
+        JsonGenerator generator = sink.createGenerator(mapper.getFactory(), options.getCompression());
+        if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            generator.setPrettyPrinter(mapper.getSerializationConfig().constructDefaultPrettyPrinter());
         }
-
-        // Include definition if enabled
-        if (options.isIncludeViewDefinitions()) {
-            builder.definition(view.getDefinition());
-        }
-
-        // Include comment if enabled
-        if (options.isIncludeComments()) {
-            builder.comment(view.getComment());
-        }
-
-        return builder.build();
+        return generator;
     }
 }
@@ -0,0 +1,137 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.dbxmetadata.model.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+// Writes the same document as JsonExporter, but object by object as metadata events arrive, so only
+// the object being written is held in memory. Events must come in tree order: each schema header
+// followed by its tables, then its views, then its procedures.
+public final class JsonStreamWriter implements MetadataStreamWriter {
+
+    private enum Section { TABLES, VIEWS, PROCEDURES }
+
+    private final ExportOptions options;
+    private final MetadataSerializer serializer;
+    private ExportSink sink;
+    private JsonGenerator generator;
+    // Section of the schema currently open, null between schemas
+    private Section section;
+    private String schemaOwner;
+    private int tableCount;
+    private int viewCount;
+
+    public JsonStreamWriter(ExportOptions options) {
+        this.options = options;
+        this.serializer = MetadataSerializer.forOptions(options);
+    }
+
+    // Writes the database fields that precede the schemas; header carries no schemas itself
+    @Override
+    public void start(ExportSink sink, DatabaseMetadata header) throws IOException {
+        this.sink = sink;
+        generator = JsonExporter.createGenerator(sink, options);
+
+        generator.writeStartObject();
+        writeStringField("productName", header.getProductName());
+        writeStringField("productVersion", header.getProductVersion());
+        writeStringField("driverName", header.getDriverName());
+        writeStringField("driverVersion", header.getDriverVersion());
+        writeStringField("url", header.getUrl());
+        writeStringField("userName", header.getUserName());
+        generator.writeFieldName("schemas");
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void accept(MetadataEvent event) {
+        try {
+            write(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish(List<String> warnings, Instant extractedAt) throws IOException {
+        endSchema();
+        generator.writeEndArray();
+
+        generator.writeFieldName("warnings");
+        serializer.writeStrings(generator, warnings);
+        generator.writeFieldName("extractedAt");
+        serializer.writeInstant(generator, extractedAt);
+        generator.writeNumberField("totalTableCount", tableCount);
+        generator.writeNumberField("totalViewCount", viewCount);
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return sink != null ? sink.getBytesWritten() : 0;
+    }
+
+    private void write(MetadataEvent event) throws IOException {
+        if (event instanceof MetadataEvent.SchemaStarted started) {
+            endSchema();
+            SchemaMetadata schema = started.schema();
+            generator.writeStartObject();
+            generator.writeStringField("name", schema.getName());
+            writeStringField("catalog", schema.getCatalog());
+            generator.writeFieldName("tables");
+            generator.writeStartArray();
+            section = Section.TABLES;
+            schemaOwner = schema.getOwner();
+        } else if (event instanceof MetadataEvent.TableExtracted extracted) {
+            moveTo(Section.TABLES);
+            serializer.writeTable(generator, extracted.table());
+            tableCount++;
+        } else if (event instanceof MetadataEvent.ViewExtracted extracted) {
+            moveTo(Section.VIEWS);
+            serializer.writeView(generator, extracted.view());
+            viewCount++;
+        } else if (event instanceof MetadataEvent.ProcedureExtracted extracted && options.isIncludeProcedures()) {
+            moveTo(Section.PROCEDURES);
+            serializer.writeProcedure(generator, extracted.procedure());
+        }
+        // Warnings are written once at the end
+    }
+
+    // Closes the open arrays up to the target section, writing empty ones for skipped sections
+    private void moveTo(Section target) throws IOException {
+        if (section == null) {
+            throw new IllegalStateException("Metadata object received outside of a schema");
+        }
+        if (target.ordinal() < section.ordinal()) {
+            throw new IllegalStateException("Metadata for " + target + " received after " + section);
+        }
+        while (section != target) {
+            generator.writeEndArray();
+            section = Section.values()[section.ordinal() + 1];
+            generator.writeFieldName(section.name().toLowerCase());
+            generator.writeStartArray();
+        }
+    }
+
+    private void endSchema() throws IOException {
+        if (section == null) {
+            return;
+        }
+        moveTo(Section.PROCEDURES);
+        generator.writeEndArray();
+        writeStringField("owner", schemaOwner);
+        generator.writeEndObject();
+        section = null;
+    }
+
+    private void writeStringField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.dbxmetadata.model.*;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+// Reads back what JsonExporter and NdjsonExporter wrote. Streams handed in are left open.
+public final class MetadataReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private MetadataReader() {
+        // Utility class
+    }
+
+    public static DatabaseMetadata read(Path path, ExportOptions.ExportFormat format) throws IOException {
+        return read(path, format, ExportOptions.Compression.NONE);
+    }
+
+    public static DatabaseMetadata read(Path path, ExportOptions.ExportFormat format,
+                                        ExportOptions.Compression compression) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in, format, compression);
+        }
+    }
+
+    public static DatabaseMetadata read(InputStream in, ExportOptions.ExportFormat format,
+                                        ExportOptions.Compression compression) throws IOException {
+        // Inflater streams are ours; closing one releases its inflater, not the caller's stream
+        return switch (compression) {
+            case NONE -> read(in, format);
+            case GZIP -> {
+                try (InputStream inflated = new GZIPInputStream(new NonClosingInputStream(in), BUFFER_SIZE)) {
+                    yield read(inflated, format);
+                }
+            }
+            case DEFLATE -> {
+                try (InputStream inflated = new InflaterInputStream(new NonClosingInputStream(in))) {
+                    yield read(inflated, format);
+                }
+            }
+        };
+    }
+
+    public static DatabaseMetadata read(InputStream in, ExportOptions.ExportFormat format) throws IOException {
+        if (format == ExportOptions.ExportFormat.NDJSON) {
+            return readLines(in);
+        }
+        return reader(format, DatabaseMetadata.class).readValue(in);
+    }
+
+    // Reads the document schema by schema, handing each one over as soon as it is complete, so only
+    // one schema is held at a time. Returns the database fields, warnings and extraction time.
+    public static DatabaseMetadata read(InputStream in, ExportOptions.ExportFormat format,
+                                        Consumer<SchemaMetadata> consumer) throws IOException {
+        if (format == ExportOptions.ExportFormat.NDJSON) {
+            // A schema's lines are only known to be complete at the end
+            DatabaseMetadata metadata = readLines(in);
+            metadata.getSchemas().forEach(consumer);
+            return DatabaseMetadata.builder()
+                    .warnings(metadata.getWarnings())
+                    .extractedAt(metadata.getExtractedAt())
+                    .build();
+        }
+
+        ObjectMapper mapper = JsonExporter.mapper(format, false);
+        DatabaseMetadata.Builder header = DatabaseMetadata.builder();
+        try (JsonParser parser = mapper.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a metadata export");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "productName" -> header.productName(parser.getValueAsString());
+                    case "productVersion" -> header.productVersion(parser.getValueAsString());
+                    case "driverName" -> header.driverName(parser.getValueAsString());
+                    case "driverVersion" -> header.driverVersion(parser.getValueAsString());
+                    case "url" -> header.url(parser.getValueAsString());
+                    case "userName" -> header.userName(parser.getValueAsString());
+                    case "warnings" -> header.warnings(mapper.readValue(parser, STRING_LIST));
+                    case "extractedAt" -> header.extractedAt(mapper.readValue(parser, Instant.class));
+                    case "schemas" -> {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            consumer.accept(mapper.readValue(parser, SchemaMetadata.class));
+                        }
+                    }
+                    // Derived totals
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return header.build();
+    }
+
+    // Lines carry no database fields, catalog or owner, so only the schemas' objects come back
+    private static DatabaseMetadata readLines(InputStream in) throws IOException {
+        DatabaseMetadata.Builder builder = DatabaseMetadata.builder();
+        Map<String, SchemaMetadata.Builder> schemas = new LinkedHashMap<>();
+
+        try (MappingIterator<Line> lines = reader(ExportOptions.ExportFormat.NDJSON, Line.class).readValues(in)) {
+            while (lines.hasNextValue()) {
+                Line line = lines.nextValue();
+                if (line.extractedAt() != null) {
+                    builder.extractedAt(line.extractedAt());
+                }
+                if (line.warning() != null) {
+                    builder.addWarning(line.warning());
+                    continue;
+                }
+                SchemaMetadata.Builder schema = schemas.computeIfAbsent(line.schema(), SchemaMetadata::builder);
+                if (line.table() != null) {
+                    schema.addTable(line.table());
+                } else if (line.view() != null) {
+                    schema.addView(line.view());
+                } else if (line.procedure() != null) {
+                    schema.addProcedure(line.procedure());
+                }
+            }
+        }
+
+        for (SchemaMetadata.Builder schema : schemas.values()) {
+            builder.addSchema(schema.build());
+        }
+        return builder.build();
+    }
+
+    private static ObjectReader reader(ExportOptions.ExportFormat format, Class<?> type) {
+        return JsonExporter.mapper(format, false)
+                .readerFor(type)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    private static final class NonClosingInputStream extends FilterInputStream {
+
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // Left to the caller
+        }
+    }
+
+    private record Line(String schema, Instant extractedAt, TableMetadata table, ViewMetadata view,
+                        ProcedureMetadata procedure, String warning) {
+    }
+}
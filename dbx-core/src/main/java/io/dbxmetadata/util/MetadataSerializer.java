@@ -0,0 +1,365 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.dbxmetadata.model.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+// Writes the metadata model straight to a generator, with the fields in the order and form
+// databind gives them, so the output is byte-identical to ObjectMapper in every format but
+// skips reflection and per-property inclusion checks. The ExportOptions include flags are
+// applied as before: excluded lists are written empty and excluded text is left out.
+final class MetadataSerializer {
+
+    private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializableString PRODUCT_VERSION = new SerializedString("productVersion");
+    private static final SerializableString DRIVER_NAME = new SerializedString("driverName");
+    private static final SerializableString DRIVER_VERSION = new SerializedString("driverVersion");
+    private static final SerializableString URL = new SerializedString("url");
+    private static final SerializableString USER_NAME = new SerializedString("userName");
+    private static final SerializableString SCHEMAS = new SerializedString("schemas");
+    private static final SerializableString WARNINGS = new SerializedString("warnings");
+    private static final SerializableString EXTRACTED_AT = new SerializedString("extractedAt");
+    private static final SerializableString TOTAL_TABLE_COUNT = new SerializedString("totalTableCount");
+    private static final SerializableString TOTAL_VIEW_COUNT = new SerializedString("totalViewCount");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString CATALOG = new SerializedString("catalog");
+    private static final SerializableString TABLES = new SerializedString("tables");
+    private static final SerializableString VIEWS = new SerializedString("views");
+    private static final SerializableString PROCEDURES = new SerializedString("procedures");
+    private static final SerializableString OWNER = new SerializedString("owner");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString COLUMNS = new SerializedString("columns");
+    private static final SerializableString PRIMARY_KEY = new SerializedString("primaryKey");
+    private static final SerializableString FOREIGN_KEYS = new SerializedString("foreignKeys");
+    private static final SerializableString INDEXES = new SerializedString("indexes");
+    private static final SerializableString TRIGGERS = new SerializedString("triggers");
+    private static final SerializableString COMMENT = new SerializedString("comment");
+    private static final SerializableString ROW_COUNT = new SerializedString("rowCount");
+    private static final SerializableString DATA_TYPE = new SerializedString("dataType");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString PRECISION = new SerializedString("precision");
+    private static final SerializableString SCALE = new SerializedString("scale");
+    private static final SerializableString NULLABLE = new SerializedString("nullable");
+    private static final SerializableString AUTO_INCREMENT = new SerializedString("autoIncrement");
+    private static final SerializableString DEFAULT_VALUE = new SerializedString("defaultValue");
+    private static final SerializableString ORDINAL_POSITION = new SerializedString("ordinalPosition");
+    private static final SerializableString DEFINITION = new SerializedString("definition");
+    private static final SerializableString UPDATABLE = new SerializedString("updatable");
+    private static final SerializableString REFERENCED_SCHEMA = new SerializedString("referencedSchema");
+    private static final SerializableString REFERENCED_TABLE = new SerializedString("referencedTable");
+    private static final SerializableString REFERENCED_COLUMNS = new SerializedString("referencedColumns");
+    private static final SerializableString ON_UPDATE = new SerializedString("onUpdate");
+    private static final SerializableString ON_DELETE = new SerializedString("onDelete");
+    private static final SerializableString UNIQUE = new SerializedString("unique");
+    private static final SerializableString FILTER_CONDITION = new SerializedString("filterCondition");
+    private static final SerializableString SORT_ORDER = new SerializedString("sortOrder");
+    private static final SerializableString POSITION = new SerializedString("position");
+    private static final SerializableString TABLE_NAME = new SerializedString("tableName");
+    private static final SerializableString TIMING = new SerializedString("timing");
+    private static final SerializableString EVENT = new SerializedString("event");
+    private static final SerializableString ENABLED = new SerializedString("enabled");
+    private static final SerializableString PARAMETERS = new SerializedString("parameters");
+    private static final SerializableString RETURN_TYPE = new SerializedString("returnType");
+    private static final SerializableString MODE = new SerializedString("mode");
+
+    private static final MetadataSerializer EVERYTHING = new MetadataSerializer(true, true, true, true, true);
+
+    private final boolean procedures;
+    private final boolean triggers;
+    private final boolean indexes;
+    private final boolean comments;
+    private final boolean viewDefinitions;
+
+    private MetadataSerializer(boolean procedures, boolean triggers, boolean indexes, boolean comments,
+                               boolean viewDefinitions) {
+        this.procedures = procedures;
+        this.triggers = triggers;
+        this.indexes = indexes;
+        this.comments = comments;
+        this.viewDefinitions = viewDefinitions;
+    }
+
+    static MetadataSerializer forOptions(ExportOptions options) {
+        if (options == null) {
+            return EVERYTHING;
+        }
+        return new MetadataSerializer(options.isIncludeProcedures(), options.isIncludeTriggers(),
+                options.isIncludeIndexDetails(), options.isIncludeComments(), options.isIncludeViewDefinitions());
+    }
+
+    void writeDatabase(JsonGenerator generator, DatabaseMetadata metadata) throws IOException {
+        generator.writeStartObject(metadata);
+        writeString(generator, PRODUCT_NAME, metadata.getProductName());
+        writeString(generator, PRODUCT_VERSION, metadata.getProductVersion());
+        writeString(generator, DRIVER_NAME, metadata.getDriverName());
+        writeString(generator, DRIVER_VERSION, metadata.getDriverVersion());
+        writeString(generator, URL, metadata.getUrl());
+        writeString(generator, USER_NAME, metadata.getUserName());
+        List<SchemaMetadata> schemas = metadata.getSchemas();
+        generator.writeFieldName(SCHEMAS);
+        generator.writeStartArray(schemas, schemas.size());
+        for (SchemaMetadata schema : schemas) {
+            writeSchema(generator, schema);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(WARNINGS);
+        writeStrings(generator, metadata.getWarnings());
+        if (metadata.getExtractedAt() != null) {
+            generator.writeFieldName(EXTRACTED_AT);
+            writeInstant(generator, metadata.getExtractedAt());
+        }
+        generator.writeFieldName(TOTAL_TABLE_COUNT);
+        generator.writeNumber(metadata.getTotalTableCount());
+        generator.writeFieldName(TOTAL_VIEW_COUNT);
+        generator.writeNumber(metadata.getTotalViewCount());
+        generator.writeEndObject();
+    }
+
+    void writeSchema(JsonGenerator generator, SchemaMetadata schema) throws IOException {
+        generator.writeStartObject(schema);
+        writeString(generator, NAME, schema.getName());
+        writeString(generator, CATALOG, schema.getCatalog());
+        List<TableMetadata> tables = schema.getTables();
+        generator.writeFieldName(TABLES);
+        generator.writeStartArray(tables, tables.size());
+        for (TableMetadata table : tables) {
+            writeTable(generator, table);
+        }
+        generator.writeEndArray();
+        List<ViewMetadata> views = schema.getViews();
+        generator.writeFieldName(VIEWS);
+        generator.writeStartArray(views, views.size());
+        for (ViewMetadata view : views) {
+            writeView(generator, view);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(PROCEDURES);
+        if (procedures) {
+            List<ProcedureMetadata> schemaProcedures = schema.getProcedures();
+            generator.writeStartArray(schemaProcedures, schemaProcedures.size());
+            for (ProcedureMetadata procedure : schemaProcedures) {
+                writeProcedure(generator, procedure);
+            }
+        } else {
+            generator.writeStartArray();
+        }
+        generator.writeEndArray();
+        writeString(generator, OWNER, schema.getOwner());
+        generator.writeEndObject();
+    }
+
+    void writeTable(JsonGenerator generator, TableMetadata table) throws IOException {
+        generator.writeStartObject(table);
+        writeString(generator, NAME, table.getName());
+        writeEnum(generator, TYPE, table.getType());
+        writeColumns(generator, table.getColumns());
+        if (table.getPrimaryKey() != null) {
+            generator.writeFieldName(PRIMARY_KEY);
+            writePrimaryKey(generator, table.getPrimaryKey());
+        }
+        List<ForeignKeyMetadata> foreignKeys = table.getForeignKeys();
+        generator.writeFieldName(FOREIGN_KEYS);
+        generator.writeStartArray(foreignKeys, foreignKeys.size());
+        for (ForeignKeyMetadata foreignKey : foreignKeys) {
+            writeForeignKey(generator, foreignKey);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(INDEXES);
+        if (indexes) {
+            List<IndexMetadata> tableIndexes = table.getIndexes();
+            generator.writeStartArray(tableIndexes, tableIndexes.size());
+            for (IndexMetadata index : tableIndexes) {
+                writeIndex(generator, index);
+            }
+        } else {
+            generator.writeStartArray();
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(TRIGGERS);
+        if (triggers) {
+            List<TriggerMetadata> tableTriggers = table.getTriggers();
+            generator.writeStartArray(tableTriggers, tableTriggers.size());
+            for (TriggerMetadata trigger : tableTriggers) {
+                writeTrigger(generator, trigger);
+            }
+        } else {
+            generator.writeStartArray();
+        }
+        generator.writeEndArray();
+        if (comments) {
+            writeString(generator, COMMENT, table.getComment());
+        }
+        if (table.getRowCount() != null) {
+            generator.writeFieldName(ROW_COUNT);
+            generator.writeNumber(table.getRowCount().longValue());
+        }
+        generator.writeEndObject();
+    }
+
+    void writeView(JsonGenerator generator, ViewMetadata view) throws IOException {
+        generator.writeStartObject(view);
+        writeString(generator, NAME, view.getName());
+        writeColumns(generator, view.getColumns());
+        if (viewDefinitions) {
+            writeString(generator, DEFINITION, view.getDefinition());
+        }
+        if (comments) {
+            writeString(generator, COMMENT, view.getComment());
+        }
+        generator.writeFieldName(UPDATABLE);
+        generator.writeBoolean(view.isUpdatable());
+        generator.writeEndObject();
+    }
+
+    // Procedures are not subject to the comment and definition flags
+    void writeProcedure(JsonGenerator generator, ProcedureMetadata procedure) throws IOException {
+        generator.writeStartObject(procedure);
+        writeString(generator, NAME, procedure.getName());
+        writeEnum(generator, TYPE, procedure.getType());
+        List<ProcedureMetadata.ParameterMetadata> parameters = procedure.getParameters();
+        generator.writeFieldName(PARAMETERS);
+        generator.writeStartArray(parameters, parameters.size());
+        for (ProcedureMetadata.ParameterMetadata parameter : parameters) {
+            generator.writeStartObject(parameter);
+            writeString(generator, NAME, parameter.name());
+            writeString(generator, DATA_TYPE, parameter.dataType());
+            writeEnum(generator, MODE, parameter.mode());
+            generator.writeFieldName(POSITION);
+            generator.writeNumber(parameter.position());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        writeString(generator, RETURN_TYPE, procedure.getReturnType());
+        writeString(generator, DEFINITION, procedure.getDefinition());
+        writeString(generator, COMMENT, procedure.getComment());
+        generator.writeEndObject();
+    }
+
+    // Same form as the JavaTimeModule with WRITE_DATES_AS_TIMESTAMPS disabled
+    void writeInstant(JsonGenerator generator, Instant instant) throws IOException {
+        generator.writeString(instant.toString());
+    }
+
+    void writeStrings(JsonGenerator generator, List<String> values) throws IOException {
+        generator.writeStartArray(values, values.size());
+        for (String value : values) {
+            if (value != null) {
+                generator.writeString(value);
+            } else {
+                generator.writeNull();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeColumns(JsonGenerator generator, List<ColumnMetadata> columns) throws IOException {
+        generator.writeFieldName(COLUMNS);
+        generator.writeStartArray(columns, columns.size());
+        for (ColumnMetadata column : columns) {
+            writeColumn(generator, column);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeColumn(JsonGenerator generator, ColumnMetadata column) throws IOException {
+        generator.writeStartObject(column);
+        writeString(generator, NAME, column.getName());
+        writeString(generator, DATA_TYPE, column.getDataType());
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(column.getSize());
+        generator.writeFieldName(PRECISION);
+        generator.writeNumber(column.getPrecision());
+        generator.writeFieldName(SCALE);
+        generator.writeNumber(column.getScale());
+        generator.writeFieldName(NULLABLE);
+        generator.writeBoolean(column.isNullable());
+        generator.writeFieldName(PRIMARY_KEY);
+        generator.writeBoolean(column.isPrimaryKey());
+        generator.writeFieldName(AUTO_INCREMENT);
+        generator.writeBoolean(column.isAutoIncrement());
+        writeString(generator, DEFAULT_VALUE, column.getDefaultValue());
+        if (comments) {
+            writeString(generator, COMMENT, column.getComment());
+        }
+        generator.writeFieldName(ORDINAL_POSITION);
+        generator.writeNumber(column.getOrdinalPosition());
+        generator.writeEndObject();
+    }
+
+    private void writePrimaryKey(JsonGenerator generator, PrimaryKeyMetadata primaryKey) throws IOException {
+        generator.writeStartObject(primaryKey);
+        writeString(generator, NAME, primaryKey.getName());
+        generator.writeFieldName(COLUMNS);
+        writeStrings(generator, primaryKey.getColumns());
+        generator.writeEndObject();
+    }
+
+    private void writeForeignKey(JsonGenerator generator, ForeignKeyMetadata foreignKey) throws IOException {
+        generator.writeStartObject(foreignKey);
+        writeString(generator, NAME, foreignKey.getName());
+        generator.writeFieldName(COLUMNS);
+        writeStrings(generator, foreignKey.getColumns());
+        writeString(generator, REFERENCED_SCHEMA, foreignKey.getReferencedSchema());
+        writeString(generator, REFERENCED_TABLE, foreignKey.getReferencedTable());
+        generator.writeFieldName(REFERENCED_COLUMNS);
+        writeStrings(generator, foreignKey.getReferencedColumns());
+        writeEnum(generator, ON_UPDATE, foreignKey.getOnUpdate());
+        writeEnum(generator, ON_DELETE, foreignKey.getOnDelete());
+        generator.writeEndObject();
+    }
+
+    private void writeIndex(JsonGenerator generator, IndexMetadata index) throws IOException {
+        generator.writeStartObject(index);
+        writeString(generator, NAME, index.getName());
+        List<IndexMetadata.IndexColumn> columns = index.getColumns();
+        generator.writeFieldName(COLUMNS);
+        generator.writeStartArray(columns, columns.size());
+        for (IndexMetadata.IndexColumn column : columns) {
+            generator.writeStartObject(column);
+            writeString(generator, NAME, column.name());
+            writeEnum(generator, SORT_ORDER, column.sortOrder());
+            generator.writeFieldName(POSITION);
+            generator.writeNumber(column.position());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(UNIQUE);
+        generator.writeBoolean(index.isUnique());
+        writeEnum(generator, TYPE, index.getType());
+        writeString(generator, FILTER_CONDITION, index.getFilterCondition());
+        generator.writeEndObject();
+    }
+
+    private void writeTrigger(JsonGenerator generator, TriggerMetadata trigger) throws IOException {
+        generator.writeStartObject(trigger);
+        writeString(generator, NAME, trigger.getName());
+        writeString(generator, TABLE_NAME, trigger.getTableName());
+        writeEnum(generator, TIMING, trigger.getTiming());
+        writeEnum(generator, EVENT, trigger.getEvent());
+        writeString(generator, DEFINITION, trigger.getDefinition());
+        generator.writeFieldName(ENABLED);
+        generator.writeBoolean(trigger.isEnabled());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeEnum(JsonGenerator generator, SerializableString name, Enum<?> value)
+            throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value.name());
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Indexed binary snapshot of a DatabaseMetadata, read through a memory-mapped file: opening one
+// only checks the header, and each lookup decodes just the records it touches. The mapping is
+// read-only, so processes opening the same snapshot share its pages.
+//
+// Layout, big-endian; section offsets are absolute, detail offsets relative to the details section:
+//   header    magic, version, extractedAt, string and schema counts, database detail, section offsets
+//   strings   index of (offset, length) pairs into UTF-8 data; records refer to strings by id
+//   schemas   fixed records: name, catalog, owner, table range, view range, detail offsets
+//   tables    fixed records: name, type, comment, row count, column range, detail offset
+//   views     fixed records: name, definition, comment, updatable, column range
+//   columns   fixed records for table and view columns
+//   details   variable data: keys, indexes, triggers, procedures, tables ordered by name
+public final class MetadataSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(MetadataSnapshot.class);
+
+    static final int MAGIC = 0x44425853; // "DBXS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final long NO_ROW_COUNT = Long.MIN_VALUE;
+    static final int NULLABLE = 1;
+    static final int PRIMARY_KEY = 2;
+    static final int AUTO_INCREMENT = 4;
+
+    private static final int SCHEMA_RECORD = 9 * 4;
+    private static final int TABLE_RECORD = 6 * 4 + 8;
+    private static final int VIEW_RECORD = 6 * 4;
+    private static final int COLUMN_RECORD = 9 * 4;
+
+    private static final TableMetadata.TableType[] TABLE_TYPES = TableMetadata.TableType.values();
+    private static final ForeignKeyMetadata.ForeignKeyAction[] FOREIGN_KEY_ACTIONS =
+            ForeignKeyMetadata.ForeignKeyAction.values();
+    private static final IndexMetadata.IndexType[] INDEX_TYPES = IndexMetadata.IndexType.values();
+    private static final IndexMetadata.SortOrder[] SORT_ORDERS = IndexMetadata.SortOrder.values();
+    private static final TriggerMetadata.TriggerTiming[] TRIGGER_TIMINGS = TriggerMetadata.TriggerTiming.values();
+    private static final TriggerMetadata.TriggerEvent[] TRIGGER_EVENTS = TriggerMetadata.TriggerEvent.values();
+    private static final ProcedureMetadata.ProcedureType[] PROCEDURE_TYPES = ProcedureMetadata.ProcedureType.values();
+    private static final ProcedureMetadata.ParameterMode[] PARAMETER_MODES = ProcedureMetadata.ParameterMode.values();
+
+    // Only absolute reads are used, so the buffer can be shared between threads
+    private final ByteBuffer buffer;
+    private final Instant extractedAt;
+    private final int schemaCount;
+    private final int databaseDetail;
+    private final int stringIndex;
+    private final int stringData;
+    private final int schemas;
+    private final int tables;
+    private final int views;
+    private final int columns;
+    private final int details;
+
+    private MetadataSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.extractedAt = Instant.ofEpochSecond(buffer.getLong(8), buffer.getInt(16));
+        this.schemaCount = buffer.getInt(24);
+        this.databaseDetail = buffer.getInt(28);
+        this.stringIndex = buffer.getInt(32);
+        this.stringData = buffer.getInt(36);
+        this.schemas = buffer.getInt(40);
+        this.tables = buffer.getInt(44);
+        this.views = buffer.getInt(48);
+        this.columns = buffer.getInt(52);
+        this.details = buffer.getInt(56);
+    }
+
+    public static ExportResult write(DatabaseMetadata metadata, Path path) {
+        long startTime = System.nanoTime();
+        try {
+            long size = new SnapshotWriter().write(metadata, path);
+            log.info("Wrote metadata snapshot to {}", path);
+            return ExportResult.success(path, size, Duration.ofNanos(System.nanoTime() - startTime));
+        } catch (IOException e) {
+            log.error("Failed to write metadata snapshot: {}", e.getMessage());
+            return ExportResult.failure("Snapshot write failed: " + e.getMessage());
+        }
+    }
+
+    public static MetadataSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a metadata snapshot: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return validate(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), path);
+        }
+    }
+
+    // A snapshot already in memory, such as a file read whole. Nothing stays mapped, so the file
+    // can be replaced or deleted at once, which Windows refuses while a mapping is open.
+    public static MetadataSnapshot wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Not a metadata snapshot");
+        }
+        return validate(buffer.slice(), "buffer");
+    }
+
+    private static MetadataSnapshot validate(ByteBuffer buffer, Object source) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a metadata snapshot: " + source);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + source);
+        }
+        return new MetadataSnapshot(buffer);
+    }
+
+    public Instant getExtractedAt() {
+        return extractedAt;
+    }
+
+    public List<String> getSchemaNames() {
+        List<String> names = new ArrayList<>(schemaCount);
+        for (int i = 0; i < schemaCount; i++) {
+            names.add(string(buffer.getInt(schemaRecord(i))));
+        }
+        return names;
+    }
+
+    public List<String> getTableNames(String schemaName) {
+        int schema = schemaRecord(schemaName);
+        if (schema < 0) {
+            return List.of();
+        }
+        int first = buffer.getInt(schema + 12);
+        int count = buffer.getInt(schema + 16);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(string(buffer.getInt(tableRecord(first + i))));
+        }
+        return names;
+    }
+
+    public Optional<TableMetadata> findTable(String schemaName, String tableName) {
+        int schema = schemaRecord(schemaName);
+        if (schema < 0) {
+            return Optional.empty();
+        }
+        // Binary search over the schema's tables ordered by name
+        int sorted = details + buffer.getInt(schema + 28);
+        int low = 0;
+        int high = buffer.getInt(schema + 16) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int table = buffer.getInt(sorted + middle * 4);
+            int comparison = string(buffer.getInt(tableRecord(table))).compareTo(tableName);
+            if (comparison == 0) {
+                return Optional.of(readTable(table));
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<SchemaMetadata> findSchema(String schemaName) {
+        int schema = schemaRecord(schemaName);
+        return schema < 0 ? Optional.empty() : Optional.of(readSchema(schema));
+    }
+
+    // Decodes the whole snapshot
+    public DatabaseMetadata toMetadata() {
+        Cursor cursor = new Cursor(databaseDetail);
+        DatabaseMetadata.Builder builder = DatabaseMetadata.builder()
+                .productName(cursor.string())
+                .productVersion(cursor.string())
+                .driverName(cursor.string())
+                .driverVersion(cursor.string())
+                .url(cursor.string())
+                .userName(cursor.string())
+                .warnings(cursor.strings())
+                .extractedAt(extractedAt);
+        for (int i = 0; i < schemaCount; i++) {
+            builder.addSchema(readSchema(schemaRecord(i)));
+        }
+        return builder.build();
+    }
+
+    private SchemaMetadata readSchema(int record) {
+        SchemaMetadata.Builder builder = SchemaMetadata.builder()
+                .name(string(buffer.getInt(record)))
+                .catalog(string(buffer.getInt(record + 4)))
+                .owner(string(buffer.getInt(record + 8)));
+
+        int firstTable = buffer.getInt(record + 12);
+        for (int i = 0; i < buffer.getInt(record + 16); i++) {
+            builder.addTable(readTable(firstTable + i));
+        }
+        int firstView = buffer.getInt(record + 20);
+        for (int i = 0; i < buffer.getInt(record + 24); i++) {
+            builder.addView(readView(firstView + i));
+        }
+
+        Cursor cursor = new Cursor(buffer.getInt(record + 32));
+        int procedureCount = cursor.nextInt();
+        for (int i = 0; i < procedureCount; i++) {
+            builder.addProcedure(readProcedure(cursor));
+        }
+        return builder.build();
+    }
+
+    private TableMetadata readTable(int table) {
+        int record = tableRecord(table);
+        long rowCount = buffer.getLong(record + 12);
+        TableMetadata.Builder builder = TableMetadata.builder()
+                .name(string(buffer.getInt(record)))
+                .type(value(TABLE_TYPES, buffer.getInt(record + 4)))
+                .comment(string(buffer.getInt(record + 8)))
+                .rowCount(rowCount != NO_ROW_COUNT ? rowCount : null)
+                .columns(readColumns(buffer.getInt(record + 20), buffer.getInt(record + 24)));
+
+        Cursor cursor = new Cursor(buffer.getInt(record + 28));
+        if (cursor.nextInt() == 1) {
+            builder.primaryKey(PrimaryKeyMetadata.builder()
+                    .name(cursor.string())
+                    .columns(cursor.strings())
+                    .build());
+        }
+        int foreignKeyCount = cursor.nextInt();
+        for (int i = 0; i < foreignKeyCount; i++) {
+            builder.addForeignKey(ForeignKeyMetadata.builder()
+                    .name(cursor.string())
+                    .columns(cursor.strings())
+                    .referencedSchema(cursor.string())
+                    .referencedTable(cursor.string())
+                    .referencedColumns(cursor.strings())
+                    .onUpdate(value(FOREIGN_KEY_ACTIONS, cursor.nextInt()))
+                    .onDelete(value(FOREIGN_KEY_ACTIONS, cursor.nextInt()))
+                    .build());
+        }
+        int indexCount = cursor.nextInt();
+        for (int i = 0; i < indexCount; i++) {
+            builder.addIndex(readIndex(cursor));
+        }
+        int triggerCount = cursor.nextInt();
+        for (int i = 0; i < triggerCount; i++) {
+            builder.addTrigger(TriggerMetadata.builder()
+                    .name(cursor.string())
+                    .tableName(cursor.string())
+                    .timing(value(TRIGGER_TIMINGS, cursor.nextInt()))
+                    .event(value(TRIGGER_EVENTS, cursor.nextInt()))
+                    .definition(cursor.string())
+                    .enabled(cursor.nextInt() == 1)
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private ViewMetadata readView(int view) {
+        int record = views + view * VIEW_RECORD;
+        return ViewMetadata.builder()
+                .name(string(buffer.getInt(record)))
+                .definition(string(buffer.getInt(record + 4)))
+                .comment(string(buffer.getInt(record + 8)))
+                .updatable(buffer.getInt(record + 12) == 1)
+                .columns(readColumns(buffer.getInt(record + 16), buffer.getInt(record + 20)))
+                .build();
+    }
+
+    private List<ColumnMetadata> readColumns(int first, int count) {
+        List<ColumnMetadata> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int record = columns + (first + i) * COLUMN_RECORD;
+            int flags = buffer.getInt(record + 20);
+            result.add(ColumnMetadata.builder()
+                    .name(string(buffer.getInt(record)))
+                    .dataType(string(buffer.getInt(record + 4)))
+                    .size(buffer.getInt(record + 8))
+                    .precision(buffer.getInt(record + 12))
+                    .scale(buffer.getInt(record + 16))
+                    .nullable((flags & NULLABLE) != 0)
+                    .primaryKey((flags & PRIMARY_KEY) != 0)
+                    .autoIncrement((flags & AUTO_INCREMENT) != 0)
+                    .defaultValue(string(buffer.getInt(record + 24)))
+                    .comment(string(buffer.getInt(record + 28)))
+                    .ordinalPosition(buffer.getInt(record + 32))
+                    .build());
+        }
+        return result;
+    }
+
+    private IndexMetadata readIndex(Cursor cursor) {
+        IndexMetadata.Builder builder = IndexMetadata.builder()
+                .name(cursor.string())
+                .unique(cursor.nextInt() == 1)
+                .type(value(INDEX_TYPES, cursor.nextInt()))
+                .filterCondition(cursor.string());
+        int columnCount = cursor.nextInt();
+        for (int i = 0; i < columnCount; i++) {
+            builder.addColumn(cursor.string(), value(SORT_ORDERS, cursor.nextInt()), cursor.nextInt());
+        }
+        return builder.build();
+    }
+
+    private ProcedureMetadata readProcedure(Cursor cursor) {
+        ProcedureMetadata.Builder builder = ProcedureMetadata.builder()
+                .name(cursor.string())
+                .type(value(PROCEDURE_TYPES, cursor.nextInt()))
+                .returnType(cursor.string())
+                .definition(cursor.string())
+                .comment(cursor.string());
+        int parameterCount = cursor.nextInt();
+        for (int i = 0; i < parameterCount; i++) {
+            builder.addParameter(cursor.string(), cursor.string(), value(PARAMETER_MODES, cursor.nextInt()),
+                    cursor.nextInt());
+        }
+        return builder.build();
+    }
+
+    private int schemaRecord(int schema) {
+        return schemas + schema * SCHEMA_RECORD;
+    }
+
+    private int schemaRecord(String schemaName) {
+        for (int i = 0; i < schemaCount; i++) {
+            if (string(buffer.getInt(schemaRecord(i))).equals(schemaName)) {
+                return schemaRecord(i);
+            }
+        }
+        return -1;
+    }
+
+    private int tableRecord(int table) {
+        return tables + table * TABLE_RECORD;
+    }
+
+    private String string(int id) {
+        if (id < 0) {
+            return null;
+        }
+        int entry = stringIndex + id * 8;
+        byte[] bytes = new byte[buffer.getInt(entry + 4)];
+        buffer.get(stringData + buffer.getInt(entry), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <E extends Enum<E>> E value(E[] values, int ordinal) {
+        return ordinal >= 0 ? values[ordinal] : null;
+    }
+
+    // Sequential reader over the variable-length detail data
+    private final class Cursor {
+        private int position;
+
+        Cursor(int detail) {
+            this.position = details + detail;
+        }
+
+        int nextInt() {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        String string() {
+            return MetadataSnapshot.this.string(nextInt());
+        }
+
+        List<String> strings() {
+            int count = nextInt();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(string());
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExportOptions;
+import io.dbxmetadata.model.MetadataEvent;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Writes metadata events to an export sink as they arrive. start() comes first, then the events,
+// then finish() with what is only known once extraction is done.
+public interface MetadataStreamWriter extends Consumer<MetadataEvent> {
+
+    static MetadataStreamWriter forOptions(ExportOptions options) {
+        return switch (options.getFormat()) {
+            case JSON, SMILE, CBOR -> new JsonStreamWriter(options);
+            case NDJSON -> new NdjsonStreamWriter(options);
+        };
+    }
+
+    // The header carries the database fields and the extraction time, but no schemas
+    void start(ExportSink sink, DatabaseMetadata header) throws IOException;
+
+    void finish(List<String> warnings, Instant extractedAt) throws IOException;
+
+    long getBytesWritten();
+}
@@ -0,0 +1,49 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+public class NdjsonExporter {
+    private static final Logger log = LoggerFactory.getLogger(NdjsonExporter.class);
+
+    private NdjsonExporter() {
+        // Utility class
+    }
+
+    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options, ExportSink sink) {
+        long startTime = System.nanoTime();
+        NdjsonStreamWriter writer = new NdjsonStreamWriter(options);
+        try {
+            writer.start(sink, metadata);
+            for (SchemaMetadata schema : metadata.getSchemas()) {
+                for (TableMetadata table : schema.getTables()) {
+                    writer.accept(new MetadataEvent.TableExtracted(schema.getName(), table));
+                }
+                for (ViewMetadata view : schema.getViews()) {
+                    writer.accept(new MetadataEvent.ViewExtracted(schema.getName(), view));
+                }
+                for (ProcedureMetadata procedure : schema.getProcedures()) {
+                    writer.accept(new MetadataEvent.ProcedureExtracted(schema.getName(), procedure));
+                }
+            }
+            writer.finish(metadata.getWarnings(), metadata.getExtractedAt());
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+            if (sink.getPath() != null) {
+                log.info("Exported metadata to {}", sink.getPath());
+            } else {
+                log.debug("Exported NDJSON metadata ({} bytes)", sink.getBytesWritten());
+            }
+            return ExportResult.success(sink.getPath(), sink.getBytesWritten(), sink.getUncompressedBytes(), elapsed);
+
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to export metadata to NDJSON: {}", e.getMessage());
+            return ExportResult.failure("NDJSON export failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.dbxmetadata.model.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+// Writes one JSON line per table, view and procedure, keyed by its kind and carrying the schema
+// name and extraction time, so every line can be processed on its own. Events may arrive in any
+// order. Warnings follow as lines of their own once extraction is done.
+public final class NdjsonStreamWriter implements MetadataStreamWriter {
+
+    private final ExportOptions options;
+    private final MetadataSerializer serializer;
+    private ExportSink sink;
+    private JsonGenerator generator;
+    private Instant extractedAt;
+
+    public NdjsonStreamWriter(ExportOptions options) {
+        this.options = options;
+        this.serializer = MetadataSerializer.forOptions(options);
+    }
+
+    @Override
+    public void start(ExportSink sink, DatabaseMetadata header) throws IOException {
+        this.sink = sink;
+        this.extractedAt = header.getExtractedAt();
+        generator = JsonExporter.createGenerator(sink, options);
+        // Lines are ended explicitly, without the default space between root values
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(MetadataEvent event) {
+        try {
+            write(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish(List<String> warnings, Instant extractedAt) throws IOException {
+        for (String warning : warnings) {
+            generator.writeStartObject();
+            writeExtractedAt();
+            generator.writeStringField("warning", warning);
+            endLine();
+        }
+        generator.close();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return sink != null ? sink.getBytesWritten() : 0;
+    }
+
+    private void write(MetadataEvent event) throws IOException {
+        if (event instanceof MetadataEvent.TableExtracted extracted) {
+            startLine(extracted.schemaName(), "table");
+            serializer.writeTable(generator, extracted.table());
+            endLine();
+        } else if (event instanceof MetadataEvent.ViewExtracted extracted) {
+            startLine(extracted.schemaName(), "view");
+            serializer.writeView(generator, extracted.view());
+            endLine();
+        } else if (event instanceof MetadataEvent.ProcedureExtracted extracted && options.isIncludeProcedures()) {
+            startLine(extracted.schemaName(), "procedure");
+            serializer.writeProcedure(generator, extracted.procedure());
+            endLine();
+        }
+        // Schema headers carry nothing a line needs; warnings are written at the end
+    }
+
+    private void startLine(String schemaName, String kind) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("schema", schemaName);
+        writeExtractedAt();
+        generator.writeFieldName(kind);
+    }
+
+    private void writeExtractedAt() throws IOException {
+        generator.writeFieldName("extractedAt");
+        serializer.writeInstant(generator, extractedAt);
+    }
+
+    private void endLine() throws IOException {
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
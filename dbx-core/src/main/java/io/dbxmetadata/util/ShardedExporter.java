@@ -0,0 +1,248 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.dbxmetadata.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Writes one file per schema into the output directory, in parallel, followed by a manifest with
+// each shard's size and SHA-256. A shard whose content hashes the same as in the previous
+// manifest is left alone, so stable schemas cost CPU but no writes. Shards of schemas that are
+// gone are removed once the new manifest is in place.
+public final class ShardedExporter {
+    private static final Logger log = LoggerFactory.getLogger(ShardedExporter.class);
+
+    static final String MANIFEST = "manifest.json";
+
+    private ShardedExporter() {
+        // Utility class
+    }
+
+    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options) {
+        return export(metadata, options, DefaultExecutor.INSTANCE);
+    }
+
+    public static ExportResult export(DatabaseMetadata metadata, ExportOptions options, Executor executor) {
+        if (options.getOutputPath() == null) {
+            return ExportResult.failure("Sharded export needs an output directory");
+        }
+        if (options.getFormat() == ExportOptions.ExportFormat.NDJSON) {
+            // Every line carries the extraction time, so no shard would ever hash the same
+            return ExportResult.failure("Sharded export is not available for NDJSON");
+        }
+
+        long startTime = System.nanoTime();
+        Path directory = options.getOutputPath();
+        try {
+            Files.createDirectories(directory);
+            Map<String, Shard> previous = readPreviousShards(directory);
+
+            List<String> files = fileNames(metadata.getSchemas(), options);
+            List<CompletableFuture<ShardResult>> futures = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                SchemaMetadata schema = metadata.getSchemas().get(i);
+                String file = files.get(i);
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> exportShard(schema, file, directory, options, previous.get(file)), executor));
+            }
+
+            List<Shard> shards = new ArrayList<>();
+            long written = 0;
+            long uncompressed = 0;
+            int skipped = 0;
+            for (CompletableFuture<ShardResult> future : futures) {
+                ShardResult result = join(future);
+                shards.add(result.shard());
+                written += result.bytesWritten();
+                uncompressed += result.uncompressedBytes();
+                skipped += result.bytesWritten() == 0 ? 1 : 0;
+            }
+
+            long manifestSize = writeManifest(directory, new Manifest(metadata.getProductName(),
+                    metadata.getProductVersion(), metadata.getExtractedAt(), metadata.getWarnings(),
+                    options.getFormat(), options.getCompression(), shards));
+            removeStaleShards(directory, previous.keySet(), files);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+            log.info("Exported {} schema shards to {} ({} unchanged) in {}ms",
+                    shards.size(), directory, skipped, elapsed.toMillis());
+            return ExportResult.success(directory, written + manifestSize, uncompressed + manifestSize, elapsed);
+
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to export metadata shards: {}", e.getMessage());
+            return ExportResult.failure("Sharded export failed: " + e.getMessage());
+        }
+    }
+
+    private static ShardResult exportShard(SchemaMetadata schema, String file, Path directory,
+                                           ExportOptions options, Shard previous) {
+        Path target = directory.resolve(file);
+        try {
+            // Hash first and only write if the content changed
+            if (previous != null && Files.isRegularFile(target) && Files.size(target) == previous.bytes()) {
+                MessageDigest digest = sha256();
+                ExportSink sink = ExportSink.toStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+                writeShard(schema, options, sink);
+                if (HexFormat.of().formatHex(digest.digest()).equals(previous.sha256())) {
+                    return new ShardResult(previous, 0, 0);
+                }
+            }
+
+            MessageDigest digest = sha256();
+            Path temp = directory.resolve(file + ".tmp");
+            ExportSink sink;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                sink = ExportSink.toStream(out);
+                writeShard(schema, options, sink);
+            }
+            move(temp, target);
+            Shard shard = new Shard(schema.getName(), file, sink.getBytesWritten(),
+                    HexFormat.of().formatHex(digest.digest()));
+            return new ShardResult(shard, sink.getBytesWritten(), sink.getUncompressedBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write shard " + file, e);
+        }
+    }
+
+    private static void writeShard(SchemaMetadata schema, ExportOptions options, ExportSink sink) throws IOException {
+        try (JsonGenerator generator = JsonExporter.createGenerator(sink, options)) {
+            MetadataSerializer.forOptions(options).writeSchema(generator, schema);
+        }
+    }
+
+    private static Map<String, Shard> readPreviousShards(Path directory) {
+        Map<String, Shard> shards = new HashMap<>();
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            return shards;
+        }
+        try {
+            for (Shard shard : JsonExporter.getObjectMapper().readValue(manifest.toFile(), Manifest.class).shards()) {
+                shards.put(shard.file(), shard);
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable manifest {}, all shards are rewritten: {}", manifest, e.getMessage());
+        }
+        return shards;
+    }
+
+    private static long writeManifest(Path directory, Manifest manifest) throws IOException {
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        JsonExporter.getObjectMapper().writeValue(temp.toFile(), manifest);
+        long size = Files.size(temp);
+        move(temp, directory.resolve(MANIFEST));
+        return size;
+    }
+
+    private static void removeStaleShards(Path directory, Set<String> previousFiles, List<String> files)
+            throws IOException {
+        Set<String> stale = new HashSet<>(previousFiles);
+        files.forEach(stale::remove);
+        for (String file : stale) {
+            Files.deleteIfExists(directory.resolve(file));
+        }
+    }
+
+    // File names follow the schema names, made safe for any file system and unique ignoring case
+    private static List<String> fileNames(List<SchemaMetadata> schemas, ExportOptions options) {
+        String extension = switch (options.getFormat()) {
+            case JSON, NDJSON -> ".json";
+            case SMILE -> ".smile";
+            case CBOR -> ".cbor";
+        } + switch (options.getCompression()) {
+            case NONE -> "";
+            case GZIP -> ".gz";
+            case DEFLATE -> ".zz";
+        };
+
+        Set<String> taken = new HashSet<>();
+        taken.add(MANIFEST);
+        List<String> names = new ArrayList<>();
+        for (SchemaMetadata schema : schemas) {
+            String base = schema.getName() != null ? schema.getName().replaceAll("[^A-Za-z0-9._-]", "_") : "_";
+            String name = base + extension;
+            for (int i = 2; !taken.add(name.toLowerCase(Locale.ROOT)); i++) {
+                name = base + "-" + i + extension;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    record Manifest(String productName, String productVersion, Instant extractedAt, List<String> warnings,
+                    ExportOptions.ExportFormat format, ExportOptions.Compression compression, List<Shard> shards) {
+    }
+
+    record Shard(String schema, String file, long bytes, String sha256) {
+    }
+
+    private record ShardResult(Shard shard, long bytesWritten, long uncompressedBytes) {
+    }
+
+    // Serialization is CPU-bound, so one thread per core
+    private static final class DefaultExecutor {
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "dbx-export-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
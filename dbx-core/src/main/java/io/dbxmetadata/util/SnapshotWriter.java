@@ -0,0 +1,296 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.dbxmetadata.util.MetadataSnapshot.*;
+
+// Lays out a snapshot section by section in memory, then writes header and sections in one go.
+// Strings are stored once and referenced by id; -1 stands for null. The layout is described in
+// MetadataSnapshot.
+final class SnapshotWriter {
+
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    private final Section schemas = new Section();
+    private final Section tables = new Section();
+    private final Section views = new Section();
+    private final Section columns = new Section();
+    private final Section details = new Section();
+    private int tableCount;
+    private int viewCount;
+    private int columnCount;
+
+    // Returns the size of the written file
+    long write(DatabaseMetadata metadata, Path path) throws IOException {
+        int databaseDetail = details.size();
+        writeDatabase(metadata);
+        for (SchemaMetadata schema : metadata.getSchemas()) {
+            writeSchema(schema);
+        }
+
+        Section stringIndex = new Section();
+        Section stringData = new Section();
+        for (String value : strings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            stringIndex.out.writeInt(stringData.size());
+            stringIndex.out.writeInt(bytes.length);
+            stringData.out.write(bytes);
+        }
+
+        Section[] sections = {stringIndex, stringData, schemas, tables, views, columns, details};
+        int[] offsets = new int[sections.length];
+        long size = HEADER_SIZE;
+        for (int i = 0; i < sections.length; i++) {
+            offsets[i] = (int) size;
+            size += sections[i].size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Metadata is too large for a snapshot (over 2 GB)");
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(metadata.getExtractedAt().getEpochSecond())
+                .putInt(metadata.getExtractedAt().getNano())
+                .putInt(strings.size())
+                .putInt(metadata.getSchemas().size())
+                .putInt(databaseDetail);
+        for (int offset : offsets) {
+            header.putInt(offset);
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            out.write(header.array());
+            for (Section section : sections) {
+                section.bytes.writeTo(out);
+            }
+        }
+        return size;
+    }
+
+    private void writeDatabase(DatabaseMetadata metadata) throws IOException {
+        DataOutputStream out = details.out;
+        out.writeInt(id(metadata.getProductName()));
+        out.writeInt(id(metadata.getProductVersion()));
+        out.writeInt(id(metadata.getDriverName()));
+        out.writeInt(id(metadata.getDriverVersion()));
+        out.writeInt(id(metadata.getUrl()));
+        out.writeInt(id(metadata.getUserName()));
+        writeStrings(metadata.getWarnings());
+    }
+
+    private void writeSchema(SchemaMetadata schema) throws IOException {
+        int firstTable = tableCount;
+        int firstView = viewCount;
+        for (TableMetadata table : schema.getTables()) {
+            writeTable(table);
+        }
+        for (ViewMetadata view : schema.getViews()) {
+            writeView(view);
+        }
+
+        // Table positions ordered by name, so single tables are found by binary search
+        List<TableMetadata> schemaTables = schema.getTables();
+        int sortedTables = details.size();
+        int[] byName = IntStream.range(0, schemaTables.size())
+                .boxed()
+                .sorted(Comparator.comparing(i -> schemaTables.get(i).getName()))
+                .mapToInt(i -> firstTable + i)
+                .toArray();
+        for (int position : byName) {
+            details.out.writeInt(position);
+        }
+
+        int procedures = details.size();
+        details.out.writeInt(schema.getProcedures().size());
+        for (ProcedureMetadata procedure : schema.getProcedures()) {
+            writeProcedure(procedure);
+        }
+
+        DataOutputStream out = schemas.out;
+        out.writeInt(id(schema.getName()));
+        out.writeInt(id(schema.getCatalog()));
+        out.writeInt(id(schema.getOwner()));
+        out.writeInt(firstTable);
+        out.writeInt(schemaTables.size());
+        out.writeInt(firstView);
+        out.writeInt(schema.getViews().size());
+        out.writeInt(sortedTables);
+        out.writeInt(procedures);
+    }
+
+    private void writeTable(TableMetadata table) throws IOException {
+        int firstColumn = columnCount;
+        for (ColumnMetadata column : table.getColumns()) {
+            writeColumn(column);
+        }
+
+        int detail = details.size();
+        writePrimaryKey(table.getPrimaryKey());
+        details.out.writeInt(table.getForeignKeys().size());
+        for (ForeignKeyMetadata foreignKey : table.getForeignKeys()) {
+            writeForeignKey(foreignKey);
+        }
+        details.out.writeInt(table.getIndexes().size());
+        for (IndexMetadata index : table.getIndexes()) {
+            writeIndex(index);
+        }
+        details.out.writeInt(table.getTriggers().size());
+        for (TriggerMetadata trigger : table.getTriggers()) {
+            writeTrigger(trigger);
+        }
+
+        DataOutputStream out = tables.out;
+        out.writeInt(id(table.getName()));
+        out.writeInt(ordinal(table.getType()));
+        out.writeInt(id(table.getComment()));
+        out.writeLong(table.getRowCount() != null ? table.getRowCount() : NO_ROW_COUNT);
+        out.writeInt(firstColumn);
+        out.writeInt(table.getColumns().size());
+        out.writeInt(detail);
+        tableCount++;
+    }
+
+    private void writeView(ViewMetadata view) throws IOException {
+        int firstColumn = columnCount;
+        for (ColumnMetadata column : view.getColumns()) {
+            writeColumn(column);
+        }
+
+        DataOutputStream out = views.out;
+        out.writeInt(id(view.getName()));
+        out.writeInt(id(view.getDefinition()));
+        out.writeInt(id(view.getComment()));
+        out.writeInt(view.isUpdatable() ? 1 : 0);
+        out.writeInt(firstColumn);
+        out.writeInt(view.getColumns().size());
+        viewCount++;
+    }
+
+    private void writeColumn(ColumnMetadata column) throws IOException {
+        int flags = (column.isNullable() ? NULLABLE : 0) |
+                (column.isPrimaryKey() ? PRIMARY_KEY : 0) |
+                (column.isAutoIncrement() ? AUTO_INCREMENT : 0);
+
+        DataOutputStream out = columns.out;
+        out.writeInt(id(column.getName()));
+        out.writeInt(id(column.getDataType()));
+        out.writeInt(column.getSize());
+        out.writeInt(column.getPrecision());
+        out.writeInt(column.getScale());
+        out.writeInt(flags);
+        out.writeInt(id(column.getDefaultValue()));
+        out.writeInt(id(column.getComment()));
+        out.writeInt(column.getOrdinalPosition());
+        columnCount++;
+    }
+
+    private void writePrimaryKey(PrimaryKeyMetadata primaryKey) throws IOException {
+        details.out.writeInt(primaryKey != null ? 1 : 0);
+        if (primaryKey != null) {
+            details.out.writeInt(id(primaryKey.getName()));
+            writeStrings(primaryKey.getColumns());
+        }
+    }
+
+    private void writeForeignKey(ForeignKeyMetadata foreignKey) throws IOException {
+        DataOutputStream out = details.out;
+        out.writeInt(id(foreignKey.getName()));
+        writeStrings(foreignKey.getColumns());
+        out.writeInt(id(foreignKey.getReferencedSchema()));
+        out.writeInt(id(foreignKey.getReferencedTable()));
+        writeStrings(foreignKey.getReferencedColumns());
+        out.writeInt(ordinal(foreignKey.getOnUpdate()));
+        out.writeInt(ordinal(foreignKey.getOnDelete()));
+    }
+
+    private void writeIndex(IndexMetadata index) throws IOException {
+        DataOutputStream out = details.out;
+        out.writeInt(id(index.getName()));
+        out.writeInt(index.isUnique() ? 1 : 0);
+        out.writeInt(ordinal(index.getType()));
+        out.writeInt(id(index.getFilterCondition()));
+        out.writeInt(index.getColumns().size());
+        for (IndexMetadata.IndexColumn column : index.getColumns()) {
+            out.writeInt(id(column.name()));
+            out.writeInt(ordinal(column.sortOrder()));
+            out.writeInt(column.position());
+        }
+    }
+
+    private void writeTrigger(TriggerMetadata trigger) throws IOException {
+        DataOutputStream out = details.out;
+        out.writeInt(id(trigger.getName()));
+        out.writeInt(id(trigger.getTableName()));
+        out.writeInt(ordinal(trigger.getTiming()));
+        out.writeInt(ordinal(trigger.getEvent()));
+        out.writeInt(id(trigger.getDefinition()));
+        out.writeInt(trigger.isEnabled() ? 1 : 0);
+    }
+
+    private void writeProcedure(ProcedureMetadata procedure) throws IOException {
+        DataOutputStream out = details.out;
+        out.writeInt(id(procedure.getName()));
+        out.writeInt(ordinal(procedure.getType()));
+        out.writeInt(id(procedure.getReturnType()));
+        out.writeInt(id(procedure.getDefinition()));
+        out.writeInt(id(procedure.getComment()));
+        out.writeInt(procedure.getParameters().size());
+        for (ProcedureMetadata.ParameterMetadata parameter : procedure.getParameters()) {
+            out.writeInt(id(parameter.name()));
+            out.writeInt(id(parameter.dataType()));
+            out.writeInt(ordinal(parameter.mode()));
+            out.writeInt(parameter.position());
+        }
+    }
+
+    private void writeStrings(List<String> values) throws IOException {
+        details.out.writeInt(values.size());
+        for (String value : values) {
+            details.out.writeInt(id(value));
+        }
+    }
+
+    private int id(String value) {
+        if (value == null) {
+            return -1;
+        }
+        return stringIds.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : -1;
+    }
+
+    private static final class Section {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        int size() {
+            return bytes.size();
+        }
+    }
+}
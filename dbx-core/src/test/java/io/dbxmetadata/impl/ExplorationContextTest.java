@@ -0,0 +1,83 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.model.ExplorationOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExplorationContext Tests")
+class ExplorationContextTest {
+
+    @Test
+    @DisplayName("Should skip remaining work once the deadline has passed")
+    void shouldSkipRemainingWorkAfterDeadline() throws Exception {
+        ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+                .timeout(Duration.ZERO)
+                .build());
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:context", "sa", "")) {
+            List<Integer> results = context.map(connection, List.of(1, 2, 3), (conn, item) -> item);
+            assertEquals(Arrays.asList(null, null, null), results);
+        }
+        assertTrue(context.isDeadlineExceeded());
+        assertEquals(3, context.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("Should apply the deadline as query timeout")
+    void shouldApplyDeadlineAsQueryTimeout() throws Exception {
+        ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+                .timeout(Duration.ofSeconds(30))
+                .build());
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:context", "sa", "");
+             Statement statement = context.cancellable(connection).createStatement()) {
+            assertTrue(statement.getQueryTimeout() > 0);
+            assertTrue(statement.getQueryTimeout() <= 31);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cancel statements in flight and refuse new work")
+    void shouldCancelStatementsInFlight() throws Exception {
+        AtomicInteger cancelled = new AtomicInteger();
+        Statement statement = (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "cancel" -> {
+                        cancelled.incrementAndGet();
+                        yield null;
+                    }
+                    case "isClosed" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) ->
+                        method.getName().equals("createStatement") ? statement : null);
+
+        ExplorationContext context = new ExplorationContext();
+        Connection cancellable = context.cancellable(connection);
+        assertSame(cancellable, context.cancellable(cancellable));
+        cancellable.createStatement();
+
+        context.cancel();
+
+        assertEquals(1, cancelled.get());
+        assertThrows(SQLException.class, cancellable::createStatement);
+        assertThrows(MetadataExtractionException.class,
+                () -> context.map(connection, List.of(1), (conn, item) -> item));
+    }
+}
@@ -0,0 +1,263 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.model.DatabaseMetadata;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetadataCache Tests")
+class MetadataCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> background = new ArrayList<>();
+    private final MetadataCache cache = new MetadataCache(Duration.ofMinutes(1), clock::get);
+
+    @Test
+    @DisplayName("Should explore once and serve hits while fresh")
+    void shouldServeHitsWhileFresh() {
+        Loader loader = new Loader();
+
+        DatabaseMetadata first = cache.get(loader, background::add);
+        clock.addAndGet(Duration.ofSeconds(59).toNanos());
+        DatabaseMetadata second = cache.get(loader, background::add);
+
+        assertSame(first, second);
+        assertEquals(1, loader.calls.get());
+        assertTrue(background.isEmpty());
+        assertEquals(new MetadataCache.Stats(1, 1, 0, 0), cache.getStats());
+    }
+
+    @Test
+    @DisplayName("Should serve stale metadata while one refresh runs in the background")
+    void shouldServeStaleWhileRefreshing() {
+        Loader loader = new Loader();
+        DatabaseMetadata first = cache.get(loader, background::add);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertSame(first, cache.get(loader, background::add));
+        assertSame(first, cache.get(loader, background::add));
+        assertEquals(1, background.size());
+        assertEquals(1, loader.calls.get());
+
+        background.remove(0).run();
+        DatabaseMetadata refreshed = cache.get(loader, background::add);
+        assertNotSame(first, refreshed);
+        assertEquals("v2", refreshed.getProductVersion());
+        assertTrue(background.isEmpty());
+        assertEquals(new MetadataCache.Stats(3, 1, 1, 0), cache.getStats());
+    }
+
+    @Test
+    @DisplayName("Should keep stale metadata when a refresh fails")
+    void shouldKeepStaleMetadataWhenRefreshFails() {
+        DatabaseMetadata first = cache.get(new Loader(), background::add);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        cache.get(() -> {
+            throw new MetadataExtractionException("Connection refused");
+        }, background::add);
+        background.remove(0).run();
+
+        assertSame(first, cache.get(new Loader(), background::add));
+        assertEquals(1, cache.getStats().refreshFailures());
+        // Still stale, so the next read retries
+        assertEquals(1, background.size());
+    }
+
+    @Test
+    @DisplayName("Should explore on every call when disabled or invalidated")
+    void shouldExploreWhenDisabledOrInvalidated() {
+        Loader loader = new Loader();
+        MetadataCache disabled = MetadataCache.disabled();
+        disabled.get(loader, background::add);
+        disabled.get(loader, background::add);
+        assertEquals(2, loader.calls.get());
+        assertEquals(new MetadataCache.Stats(0, 0, 0, 0), disabled.getStats());
+
+        cache.get(loader, background::add);
+        cache.invalidate();
+        cache.get(loader, background::add);
+        assertEquals(4, loader.calls.get());
+        assertEquals(2, cache.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("Should neither join nor store a refresh started before invalidation")
+    void shouldDiscardRefreshStartedBeforeInvalidation() {
+        Loader loader = new Loader();
+        cache.get(loader, background::add);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(loader, background::add);
+        assertEquals(1, background.size());
+
+        cache.invalidate();
+        // The queued refresh has not run, so joining it would never return
+        DatabaseMetadata reloaded = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> cache.get(loader, background::add));
+        assertEquals("v2", reloaded.getProductVersion());
+
+        background.remove(0).run();
+        assertEquals(3, loader.calls.get());
+        assertSame(reloaded, cache.get(loader, background::add));
+        assertTrue(background.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start from the stored exploration and validate it in the background")
+    void shouldRestoreStoredExploration(@TempDir Path directory) {
+        Loader loader = new Loader();
+        MetadataCache first = new MetadataCache(Duration.ofMinutes(1), clock::get, new MetadataStore(directory));
+        DatabaseMetadata stored = first.get(() -> "db", loader, previous -> loader.get(), background::add);
+
+        // As after a restart
+        MetadataCache second = new MetadataCache(Duration.ofMinutes(1), clock::get, new MetadataStore(directory));
+        List<DatabaseMetadata> refreshedFrom = new ArrayList<>();
+        DatabaseMetadata restored = second.get(() -> "db", loader, previous -> {
+            refreshedFrom.add(previous);
+            return loader.get();
+        }, background::add);
+
+        assertEquals(stored, restored);
+        assertEquals(1, loader.calls.get());
+        assertEquals(1, background.size());
+
+        background.remove(0).run();
+        assertEquals(List.of(restored), refreshedFrom);
+        assertEquals("v2", second.get(() -> "db", loader, previous -> loader.get(), background::add)
+                .getProductVersion());
+        assertEquals("v2", new MetadataStore(directory).load("db").orElseThrow().getProductVersion());
+    }
+
+    @Test
+    @DisplayName("Should hand the fingerprints recorded by a load to the refresh that replaces it")
+    void shouldKeepFingerprintsWithTheMetadata() {
+        CatalogFingerprints.Schema recorded = new CatalogFingerprints.Schema(Map.of("orders", "a1"), null);
+        Loader loader = new Loader();
+        DatabaseMetadata first = cache.get(() -> "db", new ExplorationContext(), context -> {
+            assertTrue(context.isTrackingChanges());
+            context.recordFingerprints("public", recorded);
+            return loader.get();
+        }, previous -> fail("Should not refresh while fresh"), background::add);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        List<TrackedMetadata> refreshedFrom = new ArrayList<>();
+        cache.get(() -> "db", new ExplorationContext(), context -> fail("Should not load again"), previous -> {
+            refreshedFrom.add(previous);
+            return new TrackedMetadata(loader.get(), CatalogFingerprints.empty());
+        }, background::add);
+        background.remove(0).run();
+
+        assertSame(first, refreshedFrom.get(0).metadata());
+        assertEquals(recorded, refreshedFrom.get(0).fingerprints().schema("public"));
+    }
+
+    @Test
+    @DisplayName("Should cancel a shared first load only once every waiting caller has cancelled")
+    void shouldCancelSharedLoadWhenEveryWaiterCancels() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ExplorationContext> loadContext = new CompletableFuture<>();
+        ExplorationContext first = new ExplorationContext();
+        ExplorationContext second = new ExplorationContext();
+
+        CompletableFuture<DatabaseMetadata> loading = CompletableFuture.supplyAsync(() ->
+                cache.get(() -> "db", first, context -> {
+                    loadContext.complete(context);
+                    await(release);
+                    context.checkCancelled();
+                    return new Loader().get();
+                }, previous -> previous, background::add));
+        ExplorationContext shared = loadContext.get(5, TimeUnit.SECONDS);
+        CompletableFuture<Throwable> waited = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                cache.get(() -> "db", second, context -> fail("Load should be shared"),
+                        previous -> previous, background::add);
+                waited.complete(null);
+            } catch (RuntimeException e) {
+                waited.complete(e);
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        first.cancel();
+        assertFalse(shared.isCancelled());
+        second.cancel();
+        assertTrue(shared.isCancelled());
+        assertInstanceOf(MetadataExtractionException.class, waited.get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> loading.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MetadataExtractionException.class, failure.getCause());
+        assertEquals("v1", cache.get(new Loader(), background::add).getProductVersion());
+    }
+
+    @Test
+    @DisplayName("Should finish a shared first load for callers that did not cancel")
+    void shouldFinishSharedLoadForRemainingWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ExplorationContext> loadContext = new CompletableFuture<>();
+        ExplorationContext first = new ExplorationContext();
+
+        CompletableFuture<DatabaseMetadata> loading = CompletableFuture.supplyAsync(() ->
+                cache.get(() -> "db", first, context -> {
+                    loadContext.complete(context);
+                    await(release);
+                    context.checkCancelled();
+                    return new Loader().get();
+                }, previous -> previous, background::add));
+        ExplorationContext shared = loadContext.get(5, TimeUnit.SECONDS);
+        CompletableFuture<DatabaseMetadata> waiting = CompletableFuture.supplyAsync(() ->
+                cache.get(() -> "db", new ExplorationContext(), context -> fail("Load should be shared"),
+                        previous -> previous, background::add));
+        while (cache.getStats().misses() < 2) {
+            Thread.onSpinWait();
+        }
+
+        first.cancel();
+        release.countDown();
+
+        assertEquals("v1", waiting.get(5, TimeUnit.SECONDS).getProductVersion());
+        assertSame(waiting.get(), loading.get(5, TimeUnit.SECONDS));
+        assertFalse(shared.isCancelled());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Loader implements Supplier<DatabaseMetadata> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public DatabaseMetadata get() {
+            return DatabaseMetadata.builder()
+                    .productName("TestDB")
+                    .productVersion("v" + calls.incrementAndGet())
+                    .build();
+        }
+    }
+}
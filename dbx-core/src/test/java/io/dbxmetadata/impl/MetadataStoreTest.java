@@ -0,0 +1,101 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetadataStore Tests")
+class MetadataStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should load what was saved and leave no temporary files")
+    void shouldRoundTrip() throws Exception {
+        MetadataStore store = new MetadataStore(directory.resolve("cache"));
+        DatabaseMetadata metadata = metadata("16.1");
+        String key = MetadataStore.key("jdbc:postgresql://db/app", "app", "16.1");
+
+        store.save(key, metadata);
+        store.save(key, metadata);
+
+        DatabaseMetadata loaded = store.load(key).orElseThrow();
+        assertEquals(metadata, loaded);
+        assertEquals(metadata.getExtractedAt(), loaded.getExtractedAt());
+        try (Stream<Path> files = Files.list(store.getDirectory())) {
+            assertEquals(List.of(store.path(key)), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep catalog fingerprints with the snapshot")
+    void shouldRoundTripFingerprints() {
+        MetadataStore store = new MetadataStore(directory);
+        DatabaseMetadata metadata = metadata("16.1");
+        CatalogFingerprints fingerprints = new CatalogFingerprints(Map.of(
+                "public", new CatalogFingerprints.Schema(Map.of("users", "5f3a", "orders", "9c01"), "77e2"),
+                "audit", new CatalogFingerprints.Schema(Map.of(), null)));
+        String key = MetadataStore.key("jdbc:postgresql://db/app", "app", "16.1");
+
+        store.save(key, new TrackedMetadata(metadata, fingerprints));
+
+        TrackedMetadata loaded = new MetadataStore(directory).loadTracked(key).orElseThrow();
+        assertEquals(metadata, loaded.metadata());
+        assertEquals(fingerprints, loaded.fingerprints());
+        assertEquals(metadata, store.load(key).orElseThrow());
+
+        store.save(key, metadata);
+        assertTrue(store.loadTracked(key).orElseThrow().fingerprints().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should key snapshots by URL, user and product version")
+    void shouldKeyByUrlUserAndVersion() {
+        String key = MetadataStore.key("jdbc:postgresql://db/app", "app", "16.1");
+
+        assertEquals(key, MetadataStore.key("jdbc:postgresql://db/app", "app", "16.1"));
+        assertNotEquals(key, MetadataStore.key("jdbc:postgresql://db/other", "app", "16.1"));
+        assertNotEquals(key, MetadataStore.key("jdbc:postgresql://db/app", "admin", "16.1"));
+        assertNotEquals(key, MetadataStore.key("jdbc:postgresql://db/app", "app", "16.2"));
+        assertTrue(new MetadataStore(directory).load(key).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore an unreadable snapshot")
+    void shouldIgnoreUnreadableSnapshot() throws Exception {
+        MetadataStore store = new MetadataStore(directory);
+        String key = MetadataStore.key("jdbc:h2:mem:test", "sa", "2.2");
+        Files.writeString(store.path(key), "not a snapshot");
+
+        assertTrue(store.load(key).isEmpty());
+    }
+
+    private static DatabaseMetadata metadata(String version) {
+        return DatabaseMetadata.builder()
+                .productName("PostgreSQL")
+                .productVersion(version)
+                .url("jdbc:postgresql://db/app")
+                .userName("app")
+                .extractedAt(Instant.parse("2024-05-01T10:15:30.123456789Z"))
+                .addWarning("Permission denied for schema: audit")
+                .addSchema(SchemaMetadata.builder("public")
+                        .addTable(TableMetadata.builder("users")
+                                .comment("Accounts")
+                                .addColumn(ColumnMetadata.builder("id").dataType("int4").primaryKey(true)
+                                        .nullable(false).ordinalPosition(1).build())
+                                .build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.exception.MetadataExtractionException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelExtractor Tests")
+class ParallelExtractorTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:parallel;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+    }
+
+    @Test
+    @DisplayName("Should return results in input order")
+    void shouldReturnResultsInInputOrder() throws Exception {
+        ParallelExtractor extractor = new ParallelExtractor(dataSource, 4);
+        List<Integer> items = IntStream.range(0, 100).boxed().toList();
+
+        try (Connection connection = dataSource.getConnection()) {
+            List<Integer> results = extractor.map(connection, items, (conn, item) -> {
+                Thread.sleep(item % 3);
+                return item * 2;
+            });
+            assertEquals(items.stream().map(i -> i * 2).toList(), results);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not open more connections than the parallelism")
+    void shouldNotOpenMoreConnectionsThanParallelism() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        DataSource countingDataSource = countingDataSource(open, maxOpen);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            ParallelExtractor extractor = new ParallelExtractor(countingDataSource, 3, executor);
+
+            try (Connection connection = countingDataSource.getConnection()) {
+                // Nested calls must complete without waiting on each other
+                List<Integer> sums = extractor.map(connection, List.of(1, 2, 3, 4, 5, 6), (conn, outer) ->
+                        extractor.map(conn, List.of(1, 2, 3), (innerConn, value) -> {
+                            Thread.sleep(5);
+                            return outer * value;
+                        }).stream().mapToInt(Integer::intValue).sum());
+
+                assertEquals(List.of(6, 12, 18, 24, 30, 36), sums);
+            }
+            assertTrue(maxOpen.get() <= 3, "Opened " + maxOpen.get() + " connections at once");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DataSource countingDataSource(AtomicInteger open, AtomicInteger maxOpen) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        return method.invoke(dataSource, args);
+                    }
+                    Connection connection = dataSource.getConnection();
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                            (p, m, a) -> {
+                                if (m.getName().equals("close")) {
+                                    open.decrementAndGet();
+                                }
+                                return m.invoke(connection, a);
+                            });
+                });
+    }
+
+    @Test
+    @DisplayName("Should propagate failures")
+    void shouldPropagateFailures() throws Exception {
+        ParallelExtractor extractor = new ParallelExtractor(dataSource, 2);
+
+        try (Connection connection = dataSource.getConnection()) {
+            MetadataExtractionException e = assertThrows(MetadataExtractionException.class,
+                    () -> extractor.map(connection, List.of(1, 2, 3), (conn, item) -> {
+                        if (item == 2) {
+                            throw new IllegalStateException("boom");
+                        }
+                        return item;
+                    }));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SchemaAssembler Tests")
+class SchemaAssemblerTest {
+
+    @Test
+    @DisplayName("Should assemble tables and views from flat rows")
+    void shouldAssembleTablesAndViewsFromFlatRows() {
+        SchemaAssembler assembler = new SchemaAssembler();
+        assembler.addTable("users", "User accounts");
+        assembler.addView("active_users", "SELECT * FROM users");
+
+        assembler.addColumn("users", ColumnMetadata.builder("name").dataType("varchar").ordinalPosition(2).build());
+        assembler.addColumn("users", ColumnMetadata.builder("id").dataType("int4").ordinalPosition(1).build());
+        assembler.addColumn("active_users", ColumnMetadata.builder("id").dataType("int4").ordinalPosition(1).build());
+        assembler.primaryKey("users", PrimaryKeyMetadata.builder().name("users_pkey").addColumn("id").build());
+        assembler.index("users", "ix_name").addColumn("name", IndexMetadata.SortOrder.ASC, 1);
+        assembler.addTrigger(TriggerMetadata.builder("trg_users").tableName("users").build());
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder("public");
+        assembler.addTo(builder);
+        SchemaMetadata schema = builder.build();
+
+        assertEquals(1, schema.getTables().size());
+        assertEquals(1, schema.getViews().size());
+
+        TableMetadata users = schema.getTables().get(0);
+        assertEquals("User accounts", users.getComment());
+        assertEquals(List.of("id", "name"), users.getColumns().stream().map(ColumnMetadata::getName).toList());
+        assertTrue(users.getColumns().get(0).isPrimaryKey());
+        assertFalse(users.getColumns().get(1).isPrimaryKey());
+        assertEquals(1, users.getIndexes().size());
+        assertEquals(1, users.getTriggers().size());
+
+        ViewMetadata view = schema.getViews().get(0);
+        assertEquals("SELECT * FROM users", view.getDefinition());
+        assertEquals(1, view.getColumns().size());
+    }
+
+    @Test
+    @DisplayName("Should ignore rows for unregistered relations")
+    void shouldIgnoreRowsForUnregisteredRelations() {
+        SchemaAssembler assembler = new SchemaAssembler();
+        assembler.addTable("users", null);
+
+        assembler.addColumn("orders", ColumnMetadata.builder("id").build());
+        assertNull(assembler.foreignKey("orders", "fk_orders_users"));
+        assertNull(assembler.index("orders", "ix_orders"));
+        assembler.addTrigger(TriggerMetadata.builder("trg_orders").tableName("orders").build());
+
+        SchemaMetadata.Builder builder = SchemaMetadata.builder("public");
+        assembler.addTo(builder);
+        SchemaMetadata schema = builder.build();
+
+        assertEquals(1, schema.getTables().size());
+        assertTrue(schema.getTables().get(0).getColumns().isEmpty());
+        assertTrue(schema.getTables().get(0).getTriggers().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SchemaChanges Tests")
+class SchemaChangesTest {
+
+    private final TableMetadata users = table("users", "id");
+    private final TableMetadata orders = table("orders", "id");
+    private final TableMetadata audit = table("audit", "id");
+    private final ViewMetadata activeUsers = ViewMetadata.builder("active_users").definition("SELECT 1").build();
+    private final SchemaMetadata previous = SchemaMetadata.builder("public")
+            .tables(List.of(audit, orders, users))
+            .addView(activeUsers)
+            .addProcedure(ProcedureMetadata.builder("purge").build())
+            .build();
+
+    @Test
+    @DisplayName("Should reuse unchanged relations, extract changed and new ones and drop removed ones")
+    void shouldMergeChanges() {
+        SchemaChanges changes = new SchemaChanges(previous, ExplorationOptions.defaults());
+        changes.addView("active_users", false);
+        changes.addTable("invoices", false, 0);
+        changes.addTable("orders", true, 0);
+        changes.addTable("users", false, 0);
+        changes.procedures(1, false);
+
+        assertEquals(Set.of("invoices", "orders"), changes.getChanged());
+        assertFalse(changes.isProceduresChanged());
+
+        TableMetadata newOrders = table("orders", "order_id");
+        TableMetadata invoices = table("invoices", "id");
+        SchemaMetadata merged = changes.merge(SchemaMetadata.builder("public")
+                .tables(List.of(invoices, newOrders))
+                .build());
+
+        assertEquals(List.of("invoices", "orders", "users"),
+                merged.getTables().stream().map(TableMetadata::getName).toList());
+        assertSame(invoices, merged.getTables().get(0));
+        assertSame(newOrders, merged.getTables().get(1));
+        assertSame(users, merged.getTables().get(2));
+        assertSame(activeUsers, merged.getViews().get(0));
+        assertEquals(previous.getProcedures(), merged.getProcedures());
+    }
+
+    @Test
+    @DisplayName("Should treat a different number of triggers or procedures as a change")
+    void shouldDetectDroppedTriggersAndProcedures() {
+        SchemaChanges changes = new SchemaChanges(previous, ExplorationOptions.defaults());
+        changes.addTable("audit", false, 1);
+        changes.addTable("users", false, 0);
+        changes.procedures(0, false);
+
+        assertEquals(Set.of("audit"), changes.getChanged());
+        assertTrue(changes.isProceduresChanged());
+        assertTrue(changes.merge(SchemaMetadata.builder("public").build()).getProcedures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reuse the previous schema when nothing changed")
+    void shouldReusePreviousSchemaWhenNothingChanged() {
+        SchemaChanges changes = new SchemaChanges(previous, ExplorationOptions.defaults());
+        changes.addTable("audit", false, 0);
+        changes.addTable("orders", false, 0);
+        changes.addTable("users", false, 0);
+        changes.addView("active_users", false);
+        changes.procedures(1, false);
+
+        assertFalse(changes.hasChanges());
+        assertEquals(previous, changes.merge(null));
+    }
+
+    private static TableMetadata table(String name, String column) {
+        return TableMetadata.builder(name)
+                .addColumn(ColumnMetadata.builder(column).dataType("integer").ordinalPosition(1).build())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package io.dbxmetadata.impl;
+
+import io.dbxmetadata.model.ColumnMetadata;
+import io.dbxmetadata.model.TableMetadata;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TableCache Tests")
+class TableCacheTest {
+
+    @Test
+    @DisplayName("Should look up tables by catalog, schema and name")
+    void shouldLookUpTables() {
+        TableCache cache = new TableCache(10);
+        TableMetadata users = table("users", "id");
+        cache.put("db", "public", users);
+
+        assertSame(users, cache.get("db", "public", "users"));
+        assertNull(cache.get("other", "public", "users"));
+        assertNull(cache.get("db", "audit", "users"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate a table in every catalog")
+    void shouldInvalidateTable() {
+        TableCache cache = new TableCache(10);
+        cache.put("a", "public", table("users", "id"));
+        cache.put("b", "public", table("users", "id"));
+        cache.put("a", "public", table("roles", "id"));
+
+        cache.invalidate("public", "users");
+
+        assertNull(cache.get("a", "public", "users"));
+        assertNull(cache.get("b", "public", "users"));
+        assertNotNull(cache.get("a", "public", "roles"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used tables")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+        TableCache cache = new TableCache(2);
+        cache.put(null, "public", table("a", "id"));
+        Thread.sleep(1);
+        cache.put(null, "public", table("b", "id"));
+        Thread.sleep(1);
+        cache.get(null, "public", "a");
+        Thread.sleep(1);
+        cache.put(null, "public", table("c", "id"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(null, "public", "a"));
+        assertNull(cache.get(null, "public", "b"));
+        assertNotNull(cache.get(null, "public", "c"));
+    }
+
+    @Test
+    @DisplayName("Should reuse cached instances of unchanged tables")
+    void shouldReuseUnchangedTables() {
+        TableCache cache = new TableCache(10);
+        TableMetadata users = table("users", "id");
+        TableMetadata roles = table("roles", "id");
+        cache.putAll(null, "public", List.of(users, roles));
+
+        TableMetadata sameUsers = table("users", "id");
+        TableMetadata changedRoles = table("roles", "name");
+        List<TableMetadata> reused = cache.reuse(null, "public", List.of(sameUsers, changedRoles));
+
+        assertSame(users, reused.get(0));
+        assertSame(changedRoles, reused.get(1));
+        assertSame(changedRoles, cache.get(null, "public", "roles"));
+    }
+
+    private static TableMetadata table(String name, String column) {
+        return TableMetadata.builder(name)
+                .addColumn(ColumnMetadata.builder(column).dataType("integer").ordinalPosition(1).build())
+                .build();
+    }
+}
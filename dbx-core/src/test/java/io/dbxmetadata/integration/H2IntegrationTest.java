@@ -1,14 +1,34 @@
 package io.dbxmetadata.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.dbxmetadata.api.DatabaseExplorer;
 import io.dbxmetadata.api.DatabaseExplorerFactory;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.impl.MetadataCache;
+import io.dbxmetadata.impl.TableCache;
 import io.dbxmetadata.model.*;
+import io.dbxmetadata.strategy.GenericJdbcMetadataStrategy;
+import io.dbxmetadata.util.JsonExporter;
+import io.dbxmetadata.util.MetadataReader;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -219,6 +239,424 @@ class H2IntegrationTest {
         assertFalse(summaryView.get().getColumns().isEmpty());
     }
 
+    @Test
+    @DisplayName("Should extract the same columns in bulk and per-table mode")
+    void shouldExtractSameColumnsInBulkAndPerTableMode() {
+        GenericJdbcMetadataStrategy strategy = new GenericJdbcMetadataStrategy();
+        SchemaMetadata schema = strategy.extractSchema(connection, "TEST_SCHEMA", new ExplorationContext());
+
+        for (TableMetadata table : schema.getTables()) {
+            TableMetadata single = strategy.extractTable(connection, null, "TEST_SCHEMA", table.getName(),
+                    new ExplorationContext());
+            assertEquals(single.getColumns(), table.getColumns(), "Columns differ for " + table.getName());
+        }
+        for (ViewMetadata view : schema.getViews()) {
+            ViewMetadata single = strategy.extractView(connection, null, "TEST_SCHEMA", view.getName());
+            assertEquals(single.getColumns(), view.getColumns(), "Columns differ for " + view.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Should distribute schema-wide triggers without per-table queries")
+    void shouldDistributeSchemaWideTriggers() {
+        AtomicInteger perTableCalls = new AtomicInteger();
+        GenericJdbcMetadataStrategy strategy = new GenericJdbcMetadataStrategy() {
+            @Override
+            public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                         ExplorationContext context) {
+                List<TriggerMetadata> triggers = new ArrayList<>();
+                triggers.add(TriggerMetadata.builder("TRG_USERS_AUDIT").tableName("USERS").build());
+                triggers.add(TriggerMetadata.builder("TRG_USERS_TOUCH").tableName("USERS").build());
+                return triggers;
+            }
+
+            @Override
+            protected List<TriggerMetadata> extractTriggersForTable(Connection connection, String catalog,
+                                                                    String schema, String tableName) {
+                perTableCalls.incrementAndGet();
+                return new ArrayList<>();
+            }
+        };
+
+        SchemaMetadata schema = strategy.extractSchema(connection, "TEST_SCHEMA", new ExplorationContext());
+
+        assertEquals(0, perTableCalls.get());
+        for (TableMetadata table : schema.getTables()) {
+            int expected = table.getName().equals("USERS") ? 2 : 0;
+            assertEquals(expected, table.getTriggers().size(), "Triggers differ for " + table.getName());
+        }
+
+        // The single-table API still queries its own triggers
+        strategy.extractTable(connection, null, "TEST_SCHEMA", "USERS", new ExplorationContext());
+        assertEquals(1, perTableCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep parameters of overloaded procedures apart")
+    void shouldKeepParametersOfOverloadedProceduresApart() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE ALIAS IF NOT EXISTS TEST_SCHEMA.PARSE_NUMBER FOR 'java.lang.Integer.parseInt'");
+        }
+
+        GenericJdbcMetadataStrategy strategy = new GenericJdbcMetadataStrategy();
+        List<ProcedureMetadata> procedures = strategy.extractProcedures(connection, null, "TEST_SCHEMA",
+                new ExplorationContext());
+
+        // Each parseInt overload keeps only its own arguments
+        List<Integer> parameterCounts = procedures.stream()
+                .filter(p -> p.getName().equals("PARSE_NUMBER"))
+                .map(p -> (int) p.getParameters().stream()
+                        .filter(param -> param.mode() != ProcedureMetadata.ParameterMode.RETURN)
+                        .count())
+                .toList();
+        assertTrue(parameterCounts.size() > 1);
+        assertTrue(parameterCounts.containsAll(List.of(1, 2)));
+        assertEquals(parameterCounts.size(), new java.util.HashSet<>(parameterCounts).size());
+    }
+
+    @Test
+    @DisplayName("Should explore in parallel with the same result as a single connection")
+    void shouldExploreInParallelWithSameResult() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        DatabaseMetadata sequential = DatabaseExplorerFactory.create(connection).explore();
+        DatabaseMetadata parallel = DatabaseExplorerFactory.create(dataSource, 4).explore();
+
+        assertEquals(sequential.getSchemas(), parallel.getSchemas());
+        assertEquals(sequential.getWarnings(), parallel.getWarnings());
+    }
+
+    @Test
+    @DisplayName("Should apply exploration options and count what was extracted")
+    void shouldApplyExplorationOptionsAndCount() {
+        GenericJdbcMetadataStrategy strategy = new GenericJdbcMetadataStrategy();
+        ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+                .includeProcedures(false)
+                .includeViewDefinitions(false)
+                .build());
+
+        DatabaseMetadata metadata = strategy.explore(connection, context);
+
+        assertEquals(metadata.getSchemas().size(), context.getSchemaCount());
+        assertEquals(metadata.getTotalTableCount(), context.getTableCount());
+        assertEquals(metadata.getTotalViewCount(), context.getViewCount());
+        assertEquals(0, context.getProcedureCount());
+        for (SchemaMetadata schema : metadata.getSchemas()) {
+            assertTrue(schema.getProcedures().isEmpty());
+            assertTrue(schema.getViews().stream().allMatch(v -> v.getDefinition() == null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep warnings of concurrent explorations apart")
+    void shouldKeepWarningsOfConcurrentExplorationsApart() throws Exception {
+        GenericJdbcMetadataStrategy strategy = new GenericJdbcMetadataStrategy() {
+            @Override
+            public List<TriggerMetadata> extractTriggers(Connection connection, String catalog, String schema,
+                                                         ExplorationContext context) {
+                context.addWarning("Triggers skipped for " + schema);
+                return new ArrayList<>();
+            }
+        };
+
+        List<CompletableFuture<DatabaseMetadata>> runs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(CompletableFuture.supplyAsync(() -> {
+                try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1", "sa", "")) {
+                    return strategy.explore(conn, new ExplorationContext());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        DatabaseMetadata expected = strategy.explore(connection, new ExplorationContext());
+        assertFalse(expected.getWarnings().isEmpty());
+        for (CompletableFuture<DatabaseMetadata> run : runs) {
+            assertEquals(expected.getWarnings(), run.get().getWarnings());
+        }
+    }
+
+    @Test
+    @DisplayName("Should explore asynchronously")
+    void shouldExploreAsynchronously() throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+
+        DatabaseMetadata metadata = explorer.exploreAsync(ExplorationOptions.defaults()).get();
+
+        assertEquals(explorer.explore().getSchemas(), metadata.getSchemas());
+        assertTrue(explorer.getSchemaAsync("TEST_SCHEMA").get().isPresent());
+    }
+
+    @Test
+    @DisplayName("Should return a partial result with a warning when the deadline passes")
+    void shouldReturnPartialResultWhenDeadlinePasses() throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+
+        DatabaseMetadata metadata = explorer.exploreAsync(ExplorationOptions.builder()
+                .timeout(Duration.ZERO)
+                .build()).get();
+
+        assertTrue(metadata.getSchemas().isEmpty());
+        assertTrue(metadata.getWarnings().stream().anyMatch(w -> w.contains("deadline")));
+    }
+
+    @Test
+    @DisplayName("Should stream every object after its schema header")
+    void shouldStreamEveryObjectAfterItsSchemaHeader() throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        DatabaseMetadata expected = explorer.explore();
+
+        List<MetadataEvent> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        explorer.stream(ExplorationOptions.defaults()).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(MetadataEvent event) {
+                events.add(event);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(30, TimeUnit.SECONDS);
+
+        List<String> started = new ArrayList<>();
+        int tables = 0;
+        for (MetadataEvent event : events) {
+            if (event instanceof MetadataEvent.SchemaStarted header) {
+                assertTrue(header.schema().getTables().isEmpty());
+                started.add(header.schema().getName());
+            } else if (event instanceof MetadataEvent.TableExtracted table) {
+                assertTrue(started.contains(table.schemaName()));
+                tables++;
+            }
+        }
+        assertEquals(expected.getSchemas().stream().map(SchemaMetadata::getName).toList(), started);
+        assertEquals(expected.getTotalTableCount(), tables);
+    }
+
+    @Test
+    @DisplayName("Should pause streaming without demand")
+    void shouldPauseStreamingWithoutDemand() throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+
+        List<MetadataEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch requested = new CountDownLatch(2);
+        // Any event beyond the demand, or a terminal signal
+        CountDownLatch unexpected = new CountDownLatch(1);
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+        explorer.stream(ExplorationOptions.defaults()).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(2);
+                subscribed.complete(subscription);
+            }
+
+            @Override
+            public void onNext(MetadataEvent event) {
+                events.add(event);
+                if (events.size() > 2) {
+                    unexpected.countDown();
+                }
+                requested.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                unexpected.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                unexpected.countDown();
+            }
+        });
+
+        assertTrue(requested.await(5, TimeUnit.SECONDS));
+        assertFalse(unexpected.await(100, TimeUnit.MILLISECONDS));
+
+        subscribed.get(5, TimeUnit.SECONDS).cancel();
+        assertFalse(unexpected.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON when streaming the export")
+    void shouldWriteSameJsonWhenStreamingExport(@TempDir Path tempDir) throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        Path treePath = tempDir.resolve("tree.json");
+        Path streamedPath = tempDir.resolve("streamed.json");
+
+        explorer.export(ExportOptions.builder().outputPath(treePath).build());
+        ExportResult result = explorer.export(ExportOptions.builder().outputPath(streamedPath).streaming(true).build());
+
+        assertTrue(result.isSuccess());
+        assertEquals(Files.size(streamedPath), result.getBytesWritten());
+        String timestamp = "\"extractedAt\" : \"[^\"]*\"";
+        assertEquals(Files.readString(treePath).replaceAll(timestamp, ""),
+                Files.readString(streamedPath).replaceAll(timestamp, ""));
+    }
+
+    @Test
+    @DisplayName("Should write one NDJSON line per object, streamed or not")
+    void shouldWriteNdjsonLinePerObject(@TempDir Path tempDir) throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        Path treePath = tempDir.resolve("tree.ndjson");
+        Path streamedPath = tempDir.resolve("streamed.ndjson");
+
+        ExportOptions.Builder options = ExportOptions.builder().format(ExportOptions.ExportFormat.NDJSON);
+        assertTrue(explorer.export(options.outputPath(treePath).build()).isSuccess());
+        assertTrue(explorer.export(options.outputPath(streamedPath).streaming(true).build()).isSuccess());
+
+        List<String> lines = Files.readAllLines(treePath);
+        DatabaseMetadata metadata = explorer.explore();
+        int objects = metadata.getSchemas().stream()
+                .mapToInt(s -> s.getTables().size() + s.getViews().size() + s.getProcedures().size())
+                .sum();
+        assertEquals(objects + metadata.getWarnings().size(), lines.size());
+
+        JsonNode users = lines.stream()
+                .map(line -> assertDoesNotThrow(() -> JsonExporter.getObjectMapper().readTree(line)))
+                .filter(node -> node.has("table") && node.get("table").get("name").asText().equals("USERS"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("TEST_SCHEMA", users.get("schema").asText());
+        assertTrue(users.has("extractedAt"));
+
+        String timestamp = "\"extractedAt\":\"[^\"]*\"";
+        assertEquals(Files.readString(treePath).replaceAll(timestamp, ""),
+                Files.readString(streamedPath).replaceAll(timestamp, ""));
+    }
+
+    @Test
+    @DisplayName("Should read back a streamed binary snapshot")
+    void shouldReadBackStreamedBinarySnapshot(@TempDir Path tempDir) throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        Path path = tempDir.resolve("snapshot.smile");
+
+        ExportResult result = explorer.export(ExportOptions.builder()
+                .format(ExportOptions.ExportFormat.SMILE)
+                .outputPath(path)
+                .streaming(true)
+                .build());
+
+        assertTrue(result.isSuccess());
+        assertEquals(explorer.explore(), MetadataReader.read(path, ExportOptions.ExportFormat.SMILE));
+    }
+
+    @Test
+    @DisplayName("Should serve explore and export from the cache")
+    void shouldServeExploreAndExportFromCache() throws Exception {
+        MetadataCache cache = MetadataCache.withTtl(Duration.ofMinutes(5));
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection, cache);
+
+        DatabaseMetadata metadata = explorer.explore();
+        assertSame(metadata, explorer.explore());
+        assertSame(metadata, explorer.exploreAsync(ExplorationOptions.defaults()).get(10, TimeUnit.SECONDS));
+        assertTrue(explorer.export(new ExportOptions(ExportOptions.ExportFormat.JSON, null)).isSuccess());
+        assertNotSame(metadata, explorer.explore(ExplorationOptions.builder().includeProcedures(false).build()));
+
+        assertEquals(new MetadataCache.Stats(3, 1, 0, 0), cache.getStats());
+    }
+
+    @Test
+    @DisplayName("Should start from the metadata stored by a previous explorer")
+    void shouldStartFromStoredMetadata(@TempDir Path directory) throws Exception {
+        DatabaseMetadata stored = DatabaseExplorerFactory.create(connection,
+                MetadataCache.withTtl(Duration.ofMinutes(5), directory)).explore();
+
+        MetadataCache cache = MetadataCache.withTtl(Duration.ofMinutes(5), directory);
+        DatabaseMetadata restored = DatabaseExplorerFactory.create(connection, cache).explore();
+
+        assertEquals(stored, restored);
+        assertEquals(stored.getExtractedAt(), restored.getExtractedAt());
+        assertEquals(0, cache.getStats().misses());
+
+        // The restored metadata is stale; let its background refresh finish before the connection
+        // and directory are used or cleaned up by anything else
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cache.getStats().refreshes() + cache.getStats().refreshFailures() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Background refresh did not finish");
+            Thread.sleep(10);
+        }
+        assertEquals(1, cache.getStats().refreshes());
+    }
+
+    @Test
+    @DisplayName("Should reuse cached tables until one is invalidated")
+    void shouldReuseCachedTablesUntilInvalidated() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA cache_schema");
+            stmt.execute("CREATE TABLE cache_schema.accounts (id INTEGER PRIMARY KEY)");
+            stmt.execute("CREATE TABLE cache_schema.ledgers (id INTEGER PRIMARY KEY)");
+        }
+        try {
+            TableCache tableCache = new TableCache(100);
+            DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection, MetadataCache.disabled(), tableCache);
+
+            SchemaMetadata first = explorer.getSchema("CACHE_SCHEMA").orElseThrow();
+            SchemaMetadata second = explorer.getSchema("CACHE_SCHEMA").orElseThrow();
+            assertSame(table(first, "ACCOUNTS"), table(second, "ACCOUNTS"));
+            assertSame(table(first, "LEDGERS"), table(second, "LEDGERS"));
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE cache_schema.accounts ADD COLUMN balance DECIMAL(12, 2)");
+            }
+            // Still served from the cache until invalidated
+            assertEquals(1, table(explorer.getSchema("CACHE_SCHEMA").orElseThrow(), "ACCOUNTS").getColumns().size());
+
+            explorer.invalidate("CACHE_SCHEMA", "ACCOUNTS");
+            SchemaMetadata third = explorer.getSchema("CACHE_SCHEMA").orElseThrow();
+            assertEquals(2, table(third, "ACCOUNTS").getColumns().size());
+            assertSame(table(first, "LEDGERS"), table(third, "LEDGERS"));
+        } finally {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("DROP SCHEMA cache_schema CASCADE");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should explore everything incrementally when changes cannot be tracked")
+    void shouldExploreEverythingIncrementallyWithoutChangeTracking() throws Exception {
+        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        DatabaseMetadata previous = explorer.explore();
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA incremental_schema");
+            stmt.execute("CREATE TABLE incremental_schema.events (id INTEGER PRIMARY KEY)");
+        }
+        try {
+            DatabaseMetadata current = explorer.exploreIncremental(previous);
+
+            assertTrue(current.getExtractedAt().isAfter(previous.getExtractedAt()));
+            assertEquals(previous.getTotalTableCount() + 1, current.getTotalTableCount());
+            assertEquals(explorer.explore().getSchemas(), current.getSchemas());
+        } finally {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("DROP SCHEMA incremental_schema CASCADE");
+            }
+        }
+    }
+
     @Test
     @DisplayName("Should list schemas")
     void shouldListSchemas() {
@@ -262,4 +700,11 @@ class H2IntegrationTest {
             java.nio.file.Files.deleteIfExists(tempFile);
         }
     }
+
+    private static TableMetadata table(SchemaMetadata schema, String name) {
+        return schema.getTables().stream()
+                .filter(t -> t.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
 }
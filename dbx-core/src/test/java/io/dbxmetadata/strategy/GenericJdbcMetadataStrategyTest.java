@@ -0,0 +1,84 @@
+package io.dbxmetadata.strategy;
+
+import io.dbxmetadata.api.DatabaseExplorer;
+import io.dbxmetadata.exception.MetadataExtractionException;
+import io.dbxmetadata.impl.DefaultDatabaseExplorer;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExplorationOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("GenericJdbcMetadataStrategy Tests")
+class GenericJdbcMetadataStrategyTest {
+
+    @Test
+    @DisplayName("Should stop between DatabaseMetaData calls once the run is cancelled")
+    void shouldStopBetweenCatalogCallsWhenCancelled() throws Exception {
+        MockCatalog catalog = new MockCatalog(sql -> List.of());
+        ExplorationContext context = new ExplorationContext();
+        // The driver's own statements are not tracked, so cancelling cannot interrupt this call
+        when(catalog.metaData().getTables(isNull(), any(), isNull(), any())).thenAnswer(invocation -> {
+            context.cancel();
+            return MockCatalog.resultSet(List.of());
+        });
+
+        MetadataExtractionException e = assertThrows(MetadataExtractionException.class, () ->
+                new GenericJdbcMetadataStrategy().extractSchema(catalog.connection(), "app", context));
+
+        assertEquals("Exploration was cancelled", e.getMessage());
+        verify(catalog.metaData(), times(1)).getTables(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not use a single connection from two threads at once")
+    void shouldSerializeCallsOnSingleConnection() throws Exception {
+        MockCatalog catalog = new MockCatalog(sql -> List.of());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        when(catalog.metaData().getSchemas()).thenAnswer(invocation -> {
+            assertEquals(1, active.incrementAndGet(), "Connection used concurrently");
+            try {
+                if (calls.incrementAndGet() == 1) {
+                    entered.countDown();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                }
+                return MockCatalog.resultSet(List.of());
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        when(catalog.metaData().getCatalogs()).thenAnswer(invocation -> MockCatalog.resultSet(List.of()));
+        DatabaseExplorer explorer = new DefaultDatabaseExplorer(catalog.connection(),
+                new GenericJdbcMetadataStrategy(), "H2", "2.2");
+
+        CompletableFuture<List<String>> listing = CompletableFuture.supplyAsync(explorer::listSchemas);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<DatabaseMetadata> exploring = explorer.exploreAsync(ExplorationOptions.defaults());
+
+        // Still waiting for the listing to give the connection back
+        assertThrows(TimeoutException.class, () -> exploring.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, calls.get());
+
+        release.countDown();
+        assertEquals(List.of(), listing.get(5, TimeUnit.SECONDS));
+        assertTrue(exploring.get(5, TimeUnit.SECONDS).getSchemas().isEmpty());
+        assertEquals(2, calls.get());
+    }
+}
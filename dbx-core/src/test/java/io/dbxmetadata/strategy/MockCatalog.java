@@ -0,0 +1,120 @@
+package io.dbxmetadata.strategy;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A mocked connection that answers every query with the rows the given function returns for its
+// SQL, in the order the server would send them. Rows are maps from column label to value.
+final class MockCatalog {
+
+    private final List<String> queries = new ArrayList<>();
+    private final Map<String, PreparedStatement> prepared = new LinkedHashMap<>();
+    private BiConsumer<String, PreparedStatement> onPrepare = (sql, stmt) -> {
+    };
+    private final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+    private final Connection connection = mock(Connection.class);
+
+    MockCatalog(Function<String, List<Map<String, Object>>> rows) throws SQLException {
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            queries.add(sql);
+            PreparedStatement stmt = mock(PreparedStatement.class);
+            when(stmt.executeQuery()).thenAnswer(i -> resultSet(rows.apply(sql)));
+            onPrepare.accept(sql, stmt);
+            prepared.put(sql, stmt);
+            return stmt;
+        });
+        when(connection.createStatement()).thenAnswer(invocation -> {
+            Statement stmt = mock(Statement.class);
+            when(stmt.execute(anyString())).thenAnswer(i -> {
+                queries.add(i.getArgument(0));
+                return false;
+            });
+            when(stmt.executeQuery(anyString())).thenAnswer(i -> {
+                String sql = i.getArgument(0);
+                queries.add(sql);
+                return resultSet(rows.apply(sql));
+            });
+            return stmt;
+        });
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    // For stubbing what the driver reports, such as the URL or product version
+    DatabaseMetaData metaData() {
+        return metaData;
+    }
+
+    // Stubs every statement prepared from now on, such as to fail a bind the server would reject
+    void onPrepare(BiConsumer<String, PreparedStatement> stubbing) {
+        this.onPrepare = stubbing;
+    }
+
+    // The last statement prepared from SQL containing the marker, for verifying its binds
+    PreparedStatement prepared(String marker) {
+        PreparedStatement found = null;
+        for (Map.Entry<String, PreparedStatement> entry : prepared.entrySet()) {
+            if (entry.getKey().contains(marker)) {
+                found = entry.getValue();
+            }
+        }
+        return found;
+    }
+
+    // Every statement run so far, in order
+    List<String> queries() {
+        return queries;
+    }
+
+    static ResultSet resultSet(List<Map<String, Object>> rows) {
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        // Current row, then the last value read for wasNull
+        Object[] state = {Map.of(), null};
+        return mock(ResultSet.class, invocation -> {
+            String method = invocation.getMethod().getName();
+            if (method.equals("next")) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                state[0] = iterator.next();
+                return true;
+            }
+            if (method.equals("wasNull")) {
+                return state[1] == null;
+            }
+            if (!method.startsWith("get") || invocation.getArguments().length != 1
+                    || !(invocation.getArgument(0) instanceof String label)) {
+                return null;
+            }
+            Object value = ((Map<?, ?>) state[0]).get(label);
+            state[1] = value;
+            return switch (method) {
+                case "getString" -> value != null ? value.toString() : null;
+                case "getInt" -> value != null ? ((Number) value).intValue() : 0;
+                case "getLong" -> value != null ? ((Number) value).longValue() : 0L;
+                case "getShort" -> value != null ? ((Number) value).shortValue() : (short) 0;
+                case "getBoolean" -> value instanceof Number number ? number.intValue() != 0 : Boolean.TRUE.equals(value);
+                default -> value;
+            };
+        });
+    }
+}
@@ -0,0 +1,304 @@
+package io.dbxmetadata.strategy;
+
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.model.ColumnMetadata;
+import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExplorationOptions;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
+import io.dbxmetadata.model.TableMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MsSqlMetadataStrategy Tests")
+class MsSqlMetadataStrategyTest {
+
+    private final MsSqlMetadataStrategy strategy = new MsSqlMetadataStrategy();
+    private final ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+            .includeProcedures(false)
+            .includeTriggers(false)
+            .build());
+    // Rows answered to queries containing the key
+    private final Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+    private MockCatalog catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows.put("r.definition", List.of(
+                row("name", "order_lines", "kind", "U", "comment", "Order lines"),
+                row("name", "orders", "kind", "U")));
+        rows.put("default_constraints", List.of(
+                column("order_lines", "order_id", 1, "int"),
+                column("order_lines", "region", 2, "int"),
+                column("order_lines", "line_no", 3, "int"),
+                column("orders", "order_id", 1, "int"),
+                column("orders", "region", 2, "int")));
+        catalog = new MockCatalog(sql -> rows.entrySet().stream()
+                .filter(entry -> sql.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should report column sizes like the JDBC driver")
+    void shouldReportColumnSizesLikeTheJdbcDriver() {
+        assertEquals(50, MsSqlMetadataStrategy.columnSize("varchar", 50, 0, 0));
+        assertEquals(50, MsSqlMetadataStrategy.columnSize("nvarchar", 100, 0, 0));
+        assertEquals(Integer.MAX_VALUE, MsSqlMetadataStrategy.columnSize("varchar", -1, 0, 0));
+        assertEquals(Integer.MAX_VALUE / 2, MsSqlMetadataStrategy.columnSize("nvarchar", -1, 0, 0));
+        assertEquals(10, MsSqlMetadataStrategy.columnSize("int", 4, 10, 0));
+        assertEquals(18, MsSqlMetadataStrategy.columnSize("decimal", 9, 18, 2));
+        assertEquals(23, MsSqlMetadataStrategy.columnSize("datetime", 8, 23, 3));
+        assertEquals(27, MsSqlMetadataStrategy.columnSize("datetime2", 8, 27, 7));
+        assertEquals(19, MsSqlMetadataStrategy.columnSize("datetime2", 6, 19, 0));
+        assertEquals(16, MsSqlMetadataStrategy.columnSize("time", 5, 16, 7));
+        assertEquals(36, MsSqlMetadataStrategy.columnSize("uniqueidentifier", 16, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should assemble primary keys in key_ordinal order")
+    void shouldAssemblePrimaryKeysInKeyOrder() {
+        // ORDER BY table, key_ordinal
+        rows.put("sys.key_constraints", List.of(
+                row("table_name", "order_lines", "constraint_name", "PK_order_lines", "column_name", "order_id"),
+                row("table_name", "order_lines", "constraint_name", "PK_order_lines", "column_name", "line_no"),
+                row("table_name", "orders", "constraint_name", "PK_orders", "column_name", "region"),
+                row("table_name", "orders", "constraint_name", "PK_orders", "column_name", "order_id")));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "dbo", context);
+
+        TableMetadata lines = schema.getTables().get(0);
+        assertEquals("PK_order_lines", lines.getPrimaryKey().getName());
+        assertEquals(List.of("order_id", "line_no"), lines.getPrimaryKey().getColumns());
+        assertEquals(List.of("region", "order_id"), schema.getTables().get(1).getPrimaryKey().getColumns());
+        assertEquals(List.of(true, false, true),
+                lines.getColumns().stream().map(ColumnMetadata::isPrimaryKey).toList());
+    }
+
+    @Test
+    @DisplayName("Should assemble composite foreign keys with their referential actions")
+    void shouldAssembleForeignKeysWithReferentialActions() {
+        // ORDER BY table, referenced schema and table, name, constraint_column_id
+        rows.put("sys.foreign_key_columns", List.of(
+                foreignKeyColumn("FK_lines_orders", "region", "region", 1, 2),
+                foreignKeyColumn("FK_lines_orders", "order_id", "order_id", 1, 2),
+                foreignKeyColumn("FK_lines_regions", "region", "id", 3, 0)));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "dbo", context);
+
+        List<ForeignKeyMetadata> foreignKeys = schema.getTables().get(0).getForeignKeys();
+        assertEquals(2, foreignKeys.size());
+        ForeignKeyMetadata fk = foreignKeys.get(0);
+        assertEquals("FK_lines_orders", fk.getName());
+        assertEquals(List.of("region", "order_id"), fk.getColumns());
+        assertEquals("sales", fk.getReferencedSchema());
+        assertEquals("orders", fk.getReferencedTable());
+        assertEquals(List.of("region", "order_id"), fk.getReferencedColumns());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.CASCADE, fk.getOnUpdate());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.SET_NULL, fk.getOnDelete());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.SET_DEFAULT, foreignKeys.get(1).getOnUpdate());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.NO_ACTION, foreignKeys.get(1).getOnDelete());
+        assertTrue(schema.getTables().get(1).getForeignKeys().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should assemble index columns in key_ordinal order with descending keys")
+    void shouldAssembleIndexColumnsWithDescendingKeys() {
+        // ORDER BY table, is_unique DESC, type, name, key_ordinal
+        rows.put("is_descending_key", List.of(
+                index("order_lines", "PK_order_lines", true, 1, "order_id", 1, false),
+                index("order_lines", "PK_order_lines", true, 1, "line_no", 2, false),
+                index("order_lines", "IX_lines_region_line", false, 2, "region", 1, false),
+                index("order_lines", "IX_lines_region_line", false, 2, "line_no", 2, true)));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "dbo", context);
+
+        List<IndexMetadata> indexes = schema.getTables().get(0).getIndexes();
+        assertEquals(List.of("PK_order_lines", "IX_lines_region_line"),
+                indexes.stream().map(IndexMetadata::getName).toList());
+        assertTrue(indexes.get(0).isUnique());
+        assertEquals(IndexMetadata.IndexType.CLUSTERED, indexes.get(0).getType());
+        assertFalse(indexes.get(1).isUnique());
+        assertEquals(IndexMetadata.IndexType.BTREE, indexes.get(1).getType());
+        assertEquals(List.of(
+                        new IndexMetadata.IndexColumn("region", IndexMetadata.SortOrder.ASC, 1),
+                        new IndexMetadata.IndexColumn("line_no", IndexMetadata.SortOrder.DESC, 2)),
+                indexes.get(1).getColumns());
+    }
+
+    @Test
+    @DisplayName("Should assemble defaults, identity columns and MS_Description comments")
+    void shouldAssembleDefaultsIdentityAndComments() {
+        Map<String, Object> id = column("orders", "id", 1, "int");
+        id.put("is_identity", true);
+        Map<String, Object> created = column("orders", "created_at", 2, "datetime2");
+        created.putAll(row("precision", 27, "scale", 7, "default_value", "(sysdatetime())",
+                "comment", "Creation time"));
+        rows.put("default_constraints", List.of(id, created));
+        rows.put("r.definition", List.of(
+                row("name", "orders", "kind", "U", "comment", "Customer orders"),
+                row("name", "recent_orders", "kind", "V", "definition", "CREATE VIEW recent_orders AS ...")));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "dbo", context);
+
+        TableMetadata orders = schema.getTables().get(0);
+        assertEquals("Customer orders", orders.getComment());
+        ColumnMetadata idColumn = orders.getColumns().get(0);
+        assertEquals("int identity", idColumn.getDataType());
+        assertTrue(idColumn.isAutoIncrement());
+        assertNull(idColumn.getDefaultValue());
+        assertNull(idColumn.getComment());
+        ColumnMetadata createdColumn = orders.getColumns().get(1);
+        assertEquals("datetime2", createdColumn.getDataType());
+        assertEquals(27, createdColumn.getSize());
+        assertEquals("(sysdatetime())", createdColumn.getDefaultValue());
+        assertEquals("Creation time", createdColumn.getComment());
+        assertEquals("CREATE VIEW recent_orders AS ...", schema.getViews().get(0).getDefinition());
+    }
+
+    @Test
+    @DisplayName("Should re-read only relations whose modify_date changed and drop removed ones")
+    void shouldReadChangedRelations() throws Exception {
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "dbo", context);
+        rows.put("r.definition", List.of(
+                row("name", "customers", "kind", "U"),
+                row("name", "order_lines", "kind", "U"),
+                row("name", "recent_orders", "kind", "V")));
+        // sys.objects.type is char(2), so it comes back padded
+        rows.put("AS trigger_count", List.of(
+                row("name", "customers", "type", "U ", "modified", 0, "trigger_count", 0),
+                row("name", "order_lines", "type", "U ", "modified", 0, "trigger_count", 0),
+                row("name", "recent_orders", "type", "V ", "modified", 1, "trigger_count", 0)));
+        catalog.queries().clear();
+
+        SchemaMetadata schema = strategy.extractSchemaChanges(catalog.connection(), previous, null,
+                Duration.ofMinutes(5), context);
+
+        assertTrue(catalog.queries().get(0).contains("DATEADD(SECOND, -?, GETDATE())"));
+        assertTrue(catalog.queries().stream().anyMatch(sql -> sql.contains("IN (?, ?)")));
+        assertEquals(List.of("customers", "order_lines"),
+                schema.getTables().stream().map(TableMetadata::getName).toList());
+        assertSame(previous.getTables().get(0), schema.getTables().get(1));
+        assertEquals(List.of("recent_orders"), schema.getViews().stream().map(v -> v.getName()).toList());
+    }
+
+    @Test
+    @DisplayName("Should bind the age as the int DATEADD takes")
+    void shouldBindAgeAsInt() throws Exception {
+        ExplorationContext withProcedures = new ExplorationContext(ExplorationOptions.builder()
+                .includeTriggers(false)
+                .build());
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "dbo", withProcedures);
+
+        strategy.extractSchemaChanges(catalog.connection(), previous, null, Duration.ofMinutes(5), withProcedures);
+
+        for (String marker : List.of("AS trigger_count", "routine_count")) {
+            PreparedStatement stmt = catalog.prepared(marker);
+            verify(stmt).setInt(1, 300);
+            verify(stmt, never()).setLong(anyInt(), anyLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Should explore incrementally rather than fall back to a full read")
+    void shouldNotFallBackToFullRead() throws Exception {
+        SchemaMetadata previousSchema = strategy.extractSchema(catalog.connection(), "dbo", context);
+        DatabaseMetadata previous = DatabaseMetadata.builder()
+                .extractedAt(Instant.now().minus(Duration.ofMinutes(5)))
+                .addSchema(previousSchema)
+                .build();
+        when(catalog.metaData().getSchemas()).thenAnswer(invocation ->
+                MockCatalog.resultSet(List.of(row("TABLE_SCHEM", "dbo"))));
+        rows.put("AS trigger_count", List.of(
+                row("name", "order_lines", "type", "U ", "modified", 0, "trigger_count", 0),
+                row("name", "orders", "type", "U ", "modified", 0, "trigger_count", 0)));
+        // As SQL Server answers a bigint bound to DATEADD
+        catalog.onPrepare((sql, stmt) -> {
+            try {
+                doThrow(new SQLException("Argument data type bigint is invalid for argument 2 of dateadd function.",
+                        "S0001", 8116)).when(stmt).setLong(anyInt(), anyLong());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        catalog.queries().clear();
+
+        DatabaseMetadata metadata = strategy.exploreIncremental(catalog.connection(), previous, context);
+
+        assertTrue(catalog.queries().stream().noneMatch(sql -> sql.contains("r.definition")));
+        assertSame(previousSchema.getTables().get(0), metadata.getSchemas().get(0).getTables().get(0));
+        assertSame(previousSchema.getTables().get(1), metadata.getSchemas().get(0).getTables().get(1));
+    }
+
+    @Test
+    @DisplayName("Should re-read procedures only when one was altered or the count changed")
+    void shouldReadChangedProcedures() throws Exception {
+        ExplorationContext withProcedures = new ExplorationContext(ExplorationOptions.builder()
+                .includeTriggers(false)
+                .build());
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "dbo", withProcedures);
+        rows.put("AS trigger_count", List.of(
+                row("name", "order_lines", "type", "U ", "modified", 0, "trigger_count", 0),
+                row("name", "orders", "type", "U ", "modified", 0, "trigger_count", 0)));
+        rows.put("routine_count", List.of(row("routine_count", 0, "modified", 0)));
+        catalog.queries().clear();
+
+        SchemaMetadata unchanged = strategy.extractSchemaChanges(catalog.connection(), previous, null,
+                Duration.ofMinutes(5), withProcedures);
+
+        assertEquals(2, catalog.queries().size());
+        assertSame(previous.getTables().get(0), unchanged.getTables().get(0));
+
+        rows.put("routine_count", List.of(row("routine_count", 1, "modified", 0)));
+        catalog.queries().clear();
+        strategy.extractSchemaChanges(catalog.connection(), previous, null, Duration.ofMinutes(5), withProcedures);
+
+        assertTrue(catalog.queries().size() > 2);
+    }
+
+    private static Map<String, Object> column(String table, String name, int id, String type) {
+        return row("table_name", table, "column_name", name, "column_id", id, "type_name", type,
+                "base_type_name", type, "max_length", 4, "precision", 10, "scale", 0, "is_nullable", false);
+    }
+
+    private static Map<String, Object> foreignKeyColumn(String name, String column, String referencedColumn,
+                                                        int updateAction, int deleteAction) {
+        return row("table_name", "order_lines", "fk_name", name, "referenced_schema", "sales",
+                "referenced_table", "orders", "column_name", column, "referenced_column", referencedColumn,
+                "update_referential_action", updateAction, "delete_referential_action", deleteAction);
+    }
+
+    private static Map<String, Object> index(String table, String name, boolean unique, int type, String column,
+                                             int ordinal, boolean descending) {
+        return row("table_name", table, "index_name", name, "is_unique", unique, "type", type,
+                "column_name", column, "key_ordinal", ordinal, "is_descending_key", descending);
+    }
+
+    private static Map<String, Object> row(Object... labelsAndValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,220 @@
+package io.dbxmetadata.strategy;
+
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.model.ExplorationOptions;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
+import io.dbxmetadata.model.TableMetadata;
+import io.dbxmetadata.model.ViewMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MySqlMetadataStrategy Tests")
+class MySqlMetadataStrategyTest {
+
+    private final MySqlMetadataStrategy strategy = new MySqlMetadataStrategy();
+    private final ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+            .includeProcedures(false)
+            .includeTriggers(false)
+            .build());
+    // Rows answered to queries containing the key
+    private final Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+    private MockCatalog catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // ORDER BY BINARY TABLE_NAME puts the view between the tables
+        rows.put("v.VIEW_DEFINITION", List.of(
+                row("TABLE_NAME", "order_lines", "TABLE_TYPE", "BASE TABLE", "TABLE_COMMENT", "Lines"),
+                row("TABLE_NAME", "order_totals", "TABLE_TYPE", "VIEW", "TABLE_COMMENT", "VIEW",
+                        "VIEW_DEFINITION", "select `order_id` from `shop`.`order_lines`"),
+                row("TABLE_NAME", "orders", "TABLE_TYPE", "BASE TABLE", "TABLE_COMMENT", "")));
+        rows.put("COLUMN_SIZE", List.of(
+                column("order_lines", "order_id", 1),
+                column("order_lines", "region", 2),
+                column("order_lines", "line_no", 3),
+                column("order_totals", "order_id", 1),
+                column("orders", "order_id", 1),
+                column("orders", "region", 2)));
+        catalog = new MockCatalog(sql -> rows.entrySet().stream()
+                .filter(entry -> sql.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should assemble views mixed with tables")
+    void shouldAssembleViewsMixedWithTables() {
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "shop", context);
+
+        assertEquals("shop", schema.getCatalog());
+        assertEquals(List.of("order_lines", "orders"),
+                schema.getTables().stream().map(TableMetadata::getName).toList());
+        assertEquals("Lines", schema.getTables().get(0).getComment());
+        assertNull(schema.getTables().get(1).getComment());
+        assertEquals(List.of("order_id", "region", "line_no"),
+                schema.getTables().get(0).getColumns().stream().map(c -> c.getName()).toList());
+
+        ViewMetadata view = schema.getViews().get(0);
+        assertEquals(1, schema.getViews().size());
+        assertEquals("order_totals", view.getName());
+        assertEquals("select `order_id` from `shop`.`order_lines`", view.getDefinition());
+        assertEquals(List.of("order_id"), view.getColumns().stream().map(c -> c.getName()).toList());
+    }
+
+    @Test
+    @DisplayName("Should assemble composite primary and foreign keys in key order")
+    void shouldAssembleCompositeKeys() {
+        // ORDER BY table, referenced schema and table (NULL first), constraint, ORDINAL_POSITION
+        rows.put("KEY_COLUMN_USAGE", List.of(
+                key("order_lines", "PRIMARY", "order_id", null, null),
+                key("order_lines", "PRIMARY", "line_no", null, null),
+                key("order_lines", "fk_lines_orders", "region", "orders", "region"),
+                key("order_lines", "fk_lines_orders", "order_id", "orders", "order_id"),
+                key("orders", "PRIMARY", "region", null, null),
+                key("orders", "PRIMARY", "order_id", null, null)));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "shop", context);
+
+        TableMetadata lines = schema.getTables().get(0);
+        TableMetadata orders = schema.getTables().get(1);
+        assertEquals("PRIMARY", lines.getPrimaryKey().getName());
+        assertEquals(List.of("order_id", "line_no"), lines.getPrimaryKey().getColumns());
+        assertEquals(List.of("region", "order_id"), orders.getPrimaryKey().getColumns());
+        assertEquals(List.of(true, false, true),
+                lines.getColumns().stream().map(c -> c.isPrimaryKey()).toList());
+
+        ForeignKeyMetadata fk = lines.getForeignKeys().get(0);
+        assertEquals(1, lines.getForeignKeys().size());
+        assertEquals("fk_lines_orders", fk.getName());
+        assertEquals(List.of("region", "order_id"), fk.getColumns());
+        assertEquals("orders", fk.getReferencedTable());
+        assertEquals(List.of("region", "order_id"), fk.getReferencedColumns());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.CASCADE, fk.getOnDelete());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.RESTRICT, fk.getOnUpdate());
+        assertTrue(orders.getForeignKeys().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should assemble multi-column indexes in SEQ_IN_INDEX order")
+    void shouldAssembleMultiColumnIndexes() {
+        // ORDER BY table, NON_UNIQUE, INDEX_NAME, SEQ_IN_INDEX
+        rows.put("SEQ_IN_INDEX", List.of(
+                index("order_lines", "PRIMARY", 0, 1, "order_id", "A"),
+                index("order_lines", "PRIMARY", 0, 2, "line_no", "A"),
+                index("order_lines", "ix_lines_region_line", 1, 1, "region", "A"),
+                index("order_lines", "ix_lines_region_line", 1, 2, "line_no", "D"),
+                index("orders", "ix_orders_region", 1, 1, "region", null)));
+
+        SchemaMetadata schema = strategy.extractSchema(catalog.connection(), "shop", context);
+
+        List<IndexMetadata> indexes = schema.getTables().get(0).getIndexes();
+        assertEquals(List.of("PRIMARY", "ix_lines_region_line"),
+                indexes.stream().map(IndexMetadata::getName).toList());
+        assertTrue(indexes.get(0).isUnique());
+        assertFalse(indexes.get(1).isUnique());
+        assertEquals(IndexMetadata.IndexType.BTREE, indexes.get(1).getType());
+        assertEquals(List.of(
+                        new IndexMetadata.IndexColumn("region", IndexMetadata.SortOrder.ASC, 1),
+                        new IndexMetadata.IndexColumn("line_no", IndexMetadata.SortOrder.DESC, 2)),
+                indexes.get(1).getColumns());
+        assertEquals(List.of(new IndexMetadata.IndexColumn("region", IndexMetadata.SortOrder.ASC, 1)),
+                schema.getTables().get(1).getIndexes().get(0).getColumns());
+    }
+
+    @Test
+    @DisplayName("Should read table timestamps live and re-read only changed tables and views")
+    void shouldReadChangesWithLiveStatistics() throws Exception {
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "shop", context);
+        rows.put("STATS_EXPIRY", List.of(row("STATS_EXPIRY", 86400L)));
+        rows.put("AS MODIFIED", List.of(
+                change("order_lines", "BASE TABLE", true),
+                change("order_totals", "VIEW", null),
+                change("orders", "BASE TABLE", false)));
+        catalog.queries().clear();
+
+        SchemaMetadata schema = strategy.extractSchemaChanges(catalog.connection(), previous, null,
+                Duration.ofMinutes(5), context);
+
+        List<String> queries = catalog.queries();
+        assertTrue(queries.get(0).contains("@@SESSION.information_schema_stats_expiry"));
+        assertEquals("SET SESSION information_schema_stats_expiry = 0", queries.get(1));
+        assertTrue(queries.get(2).contains("AS MODIFIED"));
+        assertEquals("SET SESSION information_schema_stats_expiry = 86400", queries.get(3));
+        assertTrue(queries.stream().anyMatch(sql -> sql.contains("IN (?, ?)")));
+        assertNotSame(previous.getTables().get(0), schema.getTables().get(0));
+        assertSame(previous.getTables().get(1), schema.getTables().get(1));
+        assertEquals(1, schema.getViews().size());
+    }
+
+    @Test
+    @DisplayName("Should read the whole schema when a table has no CREATE_TIME")
+    void shouldReadEverythingWithoutCreateTime() throws Exception {
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "shop", context);
+        rows.put("STATS_EXPIRY", List.of(row("STATS_EXPIRY", 0L)));
+        rows.put("AS MODIFIED", List.of(
+                change("order_lines", "BASE TABLE", false),
+                change("orders", "BASE TABLE", null)));
+        catalog.queries().clear();
+
+        assertNull(strategy.extractSchemaChanges(catalog.connection(), previous, null, Duration.ofMinutes(5), context));
+        assertEquals("SET SESSION information_schema_stats_expiry = 0",
+                catalog.queries().get(catalog.queries().size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should read the whole schema on servers without information_schema_stats_expiry")
+    void shouldReadEverythingWithoutStatsExpiry() throws Exception {
+        SchemaMetadata previous = strategy.extractSchema(catalog.connection(), "shop", context);
+        catalog.queries().clear();
+
+        assertNull(strategy.extractSchemaChanges(catalog.connection(), previous, null, Duration.ofMinutes(5), context));
+        assertEquals(1, catalog.queries().size());
+    }
+
+    private static Map<String, Object> change(String table, String type, Boolean modified) {
+        Map<String, Object> row = row("TABLE_NAME", table, "TABLE_TYPE", type, "TRIGGER_COUNT", 0);
+        row.put("MODIFIED", modified);
+        return row;
+    }
+
+    private static Map<String, Object> column(String table, String name, int position) {
+        return row("TABLE_NAME", table, "COLUMN_NAME", name, "ORDINAL_POSITION", position, "IS_NULLABLE", "NO",
+                "EXTRA", "", "COLUMN_COMMENT", "", "TYPE_NAME", "INT", "COLUMN_SIZE", 10);
+    }
+
+    private static Map<String, Object> key(String table, String constraint, String column,
+                                           String referencedTable, String referencedColumn) {
+        Map<String, Object> row = row("TABLE_NAME", table, "CONSTRAINT_NAME", constraint, "COLUMN_NAME", column);
+        if (referencedTable != null) {
+            row.putAll(row("REFERENCED_TABLE_NAME", referencedTable, "REFERENCED_COLUMN_NAME", referencedColumn,
+                    "UPDATE_RULE", "RESTRICT", "DELETE_RULE", "CASCADE"));
+        }
+        return row;
+    }
+
+    private static Map<String, Object> index(String table, String name, int nonUnique, int seq, String column,
+                                             String collation) {
+        return row("TABLE_NAME", table, "INDEX_NAME", name, "NON_UNIQUE", nonUnique, "SEQ_IN_INDEX", seq,
+                "COLUMN_NAME", column, "COLLATION", collation);
+    }
+
+    private static Map<String, Object> row(Object... labelsAndValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
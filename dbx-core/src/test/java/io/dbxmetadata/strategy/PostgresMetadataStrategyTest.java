@@ -0,0 +1,305 @@
+package io.dbxmetadata.strategy;
+
+import io.dbxmetadata.api.DatabaseExplorer;
+import io.dbxmetadata.impl.CatalogFingerprints;
+import io.dbxmetadata.impl.DefaultDatabaseExplorer;
+import io.dbxmetadata.impl.ExplorationContext;
+import io.dbxmetadata.impl.MetadataCache;
+import io.dbxmetadata.impl.ParallelExtractor;
+import io.dbxmetadata.model.DatabaseMetadata;
+import io.dbxmetadata.model.ExplorationOptions;
+import io.dbxmetadata.model.ForeignKeyMetadata;
+import io.dbxmetadata.model.IndexMetadata;
+import io.dbxmetadata.model.ProcedureMetadata;
+import io.dbxmetadata.model.SchemaMetadata;
+import io.dbxmetadata.model.TableMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PostgresMetadataStrategy Tests")
+class PostgresMetadataStrategyTest {
+
+    private final PostgresMetadataStrategy strategy = new PostgresMetadataStrategy();
+    private final ExplorationContext context = new ExplorationContext(ExplorationOptions.builder()
+            .includeProcedures(false)
+            .includeTriggers(false)
+            .build());
+    // Rows answered to queries containing the key
+    private final Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+    private MockCatalog catalog;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows.put("AS hash", List.of(fingerprint("orders", "a1"), fingerprint("users", "b1")));
+        rows.put("pg_get_viewdef(c.oid) END AS definition",
+                List.of(row("name", "orders", "kind", "r"), row("name", "users", "kind", "r")));
+
+        catalog = new MockCatalog(sql -> rows.entrySet().stream()
+                .filter(entry -> sql.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(List.of()));
+        connection = catalog.connection();
+    }
+
+    @Test
+    @DisplayName("Should reuse relations whose catalog fingerprint is unchanged")
+    void shouldReuseUnchangedRelations() throws Exception {
+        ExplorationContext tracked = tracking();
+        SchemaMetadata first = strategy.extractSchema(connection, "public", tracked);
+        CatalogFingerprints.Schema fingerprints = tracked.getFingerprints().schema("public");
+        catalog.queries().clear();
+
+        ExplorationContext next = tracking();
+        SchemaMetadata second = strategy.extractSchemaChanges(connection, first, fingerprints,
+                Duration.ofMinutes(1), next);
+
+        assertEquals(1, catalog.queries().size());
+        assertSame(first.getTables().get(0), second.getTables().get(0));
+        assertSame(first.getTables().get(1), second.getTables().get(1));
+        assertEquals(fingerprints, next.getFingerprints().schema("public"));
+    }
+
+    @Test
+    @DisplayName("Should read again only relations whose fingerprint changed")
+    void shouldReadChangedRelations() throws Exception {
+        ExplorationContext tracked = tracking();
+        SchemaMetadata first = strategy.extractSchema(connection, "public", tracked);
+        rows.put("AS hash", List.of(fingerprint("orders", "a2"), fingerprint("users", "b1")));
+        catalog.queries().clear();
+
+        ExplorationContext next = tracking();
+        SchemaMetadata second = strategy.extractSchemaChanges(connection, first,
+                tracked.getFingerprints().schema("public"), Duration.ofMinutes(1), next);
+
+        assertTrue(catalog.queries().stream().anyMatch(sql -> sql.contains("IN (?)")));
+        assertNotSame(first.getTables().get(0), second.getTables().get(0));
+        assertSame(first.getTables().get(1), second.getTables().get(1));
+        assertEquals("a2", next.getFingerprints().schema("public").relations().get("orders"));
+    }
+
+    @Test
+    @DisplayName("Should not fingerprint a schema when changes are not tracked")
+    void shouldNotFingerprintWithoutTracking() {
+        strategy.extractSchema(connection, "public", context);
+
+        assertTrue(catalog.queries().stream().noneMatch(sql -> sql.contains("AS hash")));
+        assertTrue(context.getFingerprints().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should extract everything when no fingerprints were recorded")
+    void shouldExtractEverythingWithoutFingerprints() throws Exception {
+        SchemaMetadata previous = SchemaMetadata.builder("public").build();
+
+        assertNull(strategy.extractSchemaChanges(connection, previous, null, Duration.ofMinutes(1), tracking()));
+        assertTrue(catalog.queries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should re-read only changed relations after a restart from stored metadata")
+    void shouldRefreshIncrementallyAfterRestart(@TempDir Path directory) throws Exception {
+        when(catalog.metaData().getSchemas()).thenAnswer(invocation ->
+                MockCatalog.resultSet(List.of(row("TABLE_SCHEM", "public"))));
+        when(catalog.metaData().getURL()).thenReturn("jdbc:postgresql://localhost/test");
+        when(catalog.metaData().getUserName()).thenReturn("app");
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        List<Runnable> background = new ArrayList<>();
+
+        DatabaseMetadata stored = explorer(dataSource, directory, background).explore();
+
+        // As after a restart: a new cache, strategy and explorer over the same directory
+        catalog.queries().clear();
+        DatabaseExplorer restarted = explorer(dataSource, directory, background);
+        assertEquals(stored, restarted.explore());
+        assertTrue(catalog.queries().isEmpty());
+
+        background.remove(0).run();
+        assertFalse(catalog.queries().isEmpty());
+        assertTrue(catalog.queries().stream().allMatch(sql -> sql.contains("AS hash")));
+        assertEquals(stored.getSchemas(), restarted.explore().getSchemas());
+    }
+
+    @Test
+    @DisplayName("Should assemble multi-column keys in key order")
+    void shouldAssembleMultiColumnKeys() {
+        rows.put("pg_get_viewdef(c.oid) END AS definition",
+                List.of(row("name", "order_lines", "kind", "r"), row("name", "orders", "kind", "r")));
+        rows.put("AS type_mod", List.of(
+                column("order_lines", "order_id", 1), column("order_lines", "region", 2),
+                column("order_lines", "line_no", 3),
+                column("orders", "order_id", 1), column("orders", "region", 2)));
+        // ORDER BY table, primary key first, then foreign keys by target and name, key position last
+        rows.put("conkey", List.of(
+                primaryKeyColumn("order_lines", "order_lines_pkey", "order_id"),
+                primaryKeyColumn("order_lines", "order_lines_pkey", "line_no"),
+                foreignKeyColumn("order_lines", "fk_lines_orders", "region", "region"),
+                foreignKeyColumn("order_lines", "fk_lines_orders", "order_id", "order_id"),
+                primaryKeyColumn("orders", "orders_pkey", "region"),
+                primaryKeyColumn("orders", "orders_pkey", "order_id")));
+
+        SchemaMetadata schema = strategy.extractSchema(connection, "public", context);
+
+        TableMetadata lines = schema.getTables().get(0);
+        TableMetadata orders = schema.getTables().get(1);
+        assertEquals(List.of("order_id", "line_no"), lines.getPrimaryKey().getColumns());
+        assertEquals(List.of("region", "order_id"), orders.getPrimaryKey().getColumns());
+        assertEquals(List.of(true, false, true),
+                lines.getColumns().stream().map(c -> c.isPrimaryKey()).toList());
+
+        ForeignKeyMetadata fk = lines.getForeignKeys().get(0);
+        assertEquals(1, lines.getForeignKeys().size());
+        assertEquals("fk_lines_orders", fk.getName());
+        assertEquals(List.of("region", "order_id"), fk.getColumns());
+        assertEquals("public", fk.getReferencedSchema());
+        assertEquals("orders", fk.getReferencedTable());
+        assertEquals(List.of("region", "order_id"), fk.getReferencedColumns());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.CASCADE, fk.getOnDelete());
+        assertEquals(ForeignKeyMetadata.ForeignKeyAction.NO_ACTION, fk.getOnUpdate());
+        assertTrue(orders.getForeignKeys().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should assemble multi-column indexes with their column positions and sort orders")
+    void shouldAssembleMultiColumnIndexes() {
+        rows.put("_pg_expandarray", List.of(
+                indexColumn("orders", "orders_pkey", true, 1, 1, "id", "A"),
+                indexColumn("orders", "ix_orders_region_created", false, 3, 1, "region", "A"),
+                indexColumn("orders", "ix_orders_region_created", false, 3, 2, "created_at", "D"),
+                indexColumn("users", "ix_users_email", false, 2, 1, "email", "A")));
+
+        SchemaMetadata schema = strategy.extractSchema(connection, "public", context);
+
+        List<IndexMetadata> indexes = schema.getTables().get(0).getIndexes();
+        assertEquals(List.of("orders_pkey", "ix_orders_region_created"),
+                indexes.stream().map(IndexMetadata::getName).toList());
+        assertTrue(indexes.get(0).isUnique());
+        assertFalse(indexes.get(1).isUnique());
+        assertEquals(IndexMetadata.IndexType.BTREE, indexes.get(1).getType());
+        assertEquals(List.of(
+                        new IndexMetadata.IndexColumn("region", IndexMetadata.SortOrder.ASC, 1),
+                        new IndexMetadata.IndexColumn("created_at", IndexMetadata.SortOrder.DESC, 2)),
+                indexes.get(1).getColumns());
+        assertEquals(IndexMetadata.IndexType.HASH, schema.getTables().get(1).getIndexes().get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Should keep the parameters of overloaded functions apart by oid")
+    void shouldKeepOverloadParametersApart() {
+        rows.put("pg_get_function_result", List.of(
+                routine(16401L, "area"),
+                routine(16402L, "area")));
+        // ORDER BY oid, ordinal; RETURNS TABLE columns come back with mode 't'
+        rows.put("proallargtypes", List.of(
+                parameter(16401L, "radius", "i", 1),
+                parameter(16402L, "width", "i", 1),
+                parameter(16402L, "height", "i", 2),
+                parameter(16402L, "unit", "o", 3),
+                parameter(16402L, "value", "t", 4)));
+
+        List<ProcedureMetadata> procedures = strategy.extractProcedures(connection, null, "public", context);
+
+        assertEquals(2, procedures.size());
+        assertEquals(List.of(new ProcedureMetadata.ParameterMetadata("radius", "float8",
+                ProcedureMetadata.ParameterMode.IN, 1)), procedures.get(0).getParameters());
+        assertEquals(List.of(
+                        new ProcedureMetadata.ParameterMetadata("width", "float8",
+                                ProcedureMetadata.ParameterMode.IN, 1),
+                        new ProcedureMetadata.ParameterMetadata("height", "float8",
+                                ProcedureMetadata.ParameterMode.IN, 2),
+                        new ProcedureMetadata.ParameterMetadata("unit", "float8",
+                                ProcedureMetadata.ParameterMode.OUT, 3)),
+                procedures.get(1).getParameters());
+    }
+
+    @Test
+    @DisplayName("Should name parameter types as the column query names column types")
+    void shouldNameParameterTypesLikeColumnTypes() {
+        strategy.extractSchema(connection, "public", tracking());
+        strategy.extractProcedures(connection, null, "public", context);
+
+        String typeName = "CASE WHEN tn.nspname = ANY (current_schemas(true)) THEN t.typname";
+        String columns = catalog.queries().stream().filter(sql -> sql.contains("AS type_name")).findFirst()
+                .orElseThrow();
+        String parameters = catalog.queries().stream().filter(sql -> sql.contains("proallargtypes")).findFirst()
+                .orElseThrow();
+        assertTrue(columns.contains(typeName));
+        assertTrue(parameters.contains(typeName));
+        assertFalse(parameters.contains("format_type"));
+    }
+
+    private static DatabaseExplorer explorer(DataSource dataSource, Path directory, List<Runnable> background) {
+        return new DefaultDatabaseExplorer(dataSource, new ParallelExtractor(dataSource, 1, background::add),
+                new PostgresMetadataStrategy(), "PostgreSQL", "16.1",
+                MetadataCache.withTtl(Duration.ofMinutes(1), directory), null);
+    }
+
+    // As for a cached load or refresh
+    private static ExplorationContext tracking() {
+        return new ExplorationContext(ExplorationOptions.builder()
+                .includeProcedures(false)
+                .includeTriggers(false)
+                .build()).trackChanges(null);
+    }
+
+    private static Map<String, Object> fingerprint(String name, String hash) {
+        return row("name", name, "kind", "r", "hash", hash, "trigger_count", 0);
+    }
+
+    private static Map<String, Object> column(String table, String name, int position) {
+        return row("table_name", table, "column_name", name, "type_name", "int4", "type_oid", 23,
+                "type_mod", -1, "type_kind", "b", "not_null", true, "ordinal_position", position);
+    }
+
+    private static Map<String, Object> primaryKeyColumn(String table, String name, String column) {
+        return row("table_name", table, "constraint_name", name, "constraint_type", "p", "column_name", column);
+    }
+
+    private static Map<String, Object> foreignKeyColumn(String table, String name, String column,
+                                                        String referencedColumn) {
+        return row("table_name", table, "constraint_name", name, "constraint_type", "f", "column_name", column,
+                "referenced_schema", "public", "referenced_table", "orders", "referenced_column", referencedColumn,
+                "update_rule", "a", "delete_rule", "c");
+    }
+
+    private static Map<String, Object> indexColumn(String table, String name, boolean unique, int type,
+                                                   int position, String column, String sortOrder) {
+        return row("table_name", table, "index_name", name, "is_unique", unique, "index_type", type,
+                "ordinal_position", position, "column_name", column, "sort_order", sortOrder);
+    }
+
+    private static Map<String, Object> routine(long oid, String name) {
+        return row("specific_id", oid, "name", name, "type", "FUNCTION", "return_type", "double precision");
+    }
+
+    private static Map<String, Object> parameter(long oid, String name, String mode, int ordinal) {
+        return row("specific_id", oid, "name", name, "data_type", "float8", "mode", mode,
+                "ordinal", ordinal);
+    }
+
+    private static Map<String, Object> row(Object... labelsAndValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
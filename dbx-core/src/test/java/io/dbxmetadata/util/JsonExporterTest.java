@@ -1,13 +1,23 @@
 package io.dbxmetadata.util;
 
+import io.dbxmetadata.impl.ExplorationContext;
 import io.dbxmetadata.model.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -77,7 +87,7 @@ class JsonExporterTest {
 
     @Test
     @DisplayName("Should filter comments when disabled")
-    void shouldFilterCommentsWhenDisabled() {
+    void shouldFilterCommentsWhenDisabled() throws Exception {
         ColumnMetadata col = ColumnMetadata.builder("id")
                 .dataType("INTEGER")
                 .comment("Primary key column")
@@ -100,10 +110,52 @@ class JsonExporterTest {
         ExportOptions options = ExportOptions.builder()
                 .format(ExportOptions.ExportFormat.JSON)
                 .includeComments(false)
+                .outputPath(tempDir.resolve("no-comments.json"))
                 .build();
 
         ExportResult result = JsonExporter.export(metadata, options);
         assertTrue(result.isSuccess());
+
+        String json = Files.readString(options.getOutputPath());
+        assertFalse(json.contains("comment"));
+        assertTrue(json.contains("\"dataType\" : \"INTEGER\""));
+        // The model itself is written, not a filtered copy
+        assertEquals("Test table comment", table.getComment());
+    }
+
+    @Test
+    @DisplayName("Should write excluded lists empty and leave out excluded text")
+    void shouldWriteExcludedListsEmpty() throws Exception {
+        TableMetadata table = TableMetadata.builder("users")
+                .addIndex(IndexMetadata.builder().name("ix_users").build())
+                .addTrigger(TriggerMetadata.builder("trg_users").tableName("users").build())
+                .build();
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .addSchema(SchemaMetadata.builder("test_schema")
+                        .addTable(table)
+                        .addView(ViewMetadata.builder().name("v_users").definition("SELECT 1").build())
+                        .addProcedure(ProcedureMetadata.builder("get_user").build())
+                        .build())
+                .build();
+
+        ExportOptions options = ExportOptions.builder()
+                .includeIndexDetails(false)
+                .includeTriggers(false)
+                .includeProcedures(false)
+                .includeViewDefinitions(false)
+                .prettyPrint(false)
+                .outputPath(tempDir.resolve("filtered.json"))
+                .build();
+        assertTrue(JsonExporter.export(metadata, options).isSuccess());
+
+        String json = Files.readString(options.getOutputPath());
+        assertTrue(json.contains("\"indexes\":[],\"triggers\":[]"));
+        assertTrue(json.contains("\"procedures\":[]"));
+        assertFalse(json.contains("ix_users"));
+        assertFalse(json.contains("definition"));
+        // Plain serialization is unaffected by earlier filtered exports
+        assertTrue(JsonExporter.toJson(metadata).contains("ix_users"));
     }
 
     @Test
@@ -137,6 +189,163 @@ class JsonExporterTest {
         assertTrue(json.contains("extractedAt"));
     }
 
+    @Test
+    @DisplayName("Should write to caller-owned sinks and report real bytes")
+    void shouldWriteToCallerOwnedSinks() throws Exception {
+        DatabaseMetadata metadata = createSampleMetadata();
+        ExportOptions options = ExportOptions.builder().build();
+        byte[] expected = JsonExporter.toJson(metadata).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ExportResult streamResult = JsonExporter.export(metadata, options, ExportSink.toStream(stream));
+        assertTrue(streamResult.isSuccess());
+        assertNull(streamResult.getOutputPath());
+        assertArrayEquals(expected, stream.toByteArray());
+        assertEquals(expected.length, streamResult.getBytesWritten());
+        assertNotNull(streamResult.getElapsed());
+
+        StringWriter writer = new StringWriter();
+        ExportResult writerResult = JsonExporter.export(metadata, options, ExportSink.toWriter(writer));
+        assertEquals(JsonExporter.toJson(metadata), writer.toString());
+        assertEquals(writer.toString().length(), writerResult.getBytesWritten());
+
+        Path channelPath = tempDir.resolve("channel.json");
+        try (FileChannel channel = FileChannel.open(channelPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            JsonExporter.export(metadata, options, ExportSink.toChannel(channel));
+            assertTrue(channel.isOpen());
+        }
+        assertArrayEquals(expected, Files.readAllBytes(channelPath));
+    }
+
+    @Test
+    @DisplayName("Should compress while writing and report both sizes")
+    void shouldCompressWhileWriting() throws Exception {
+        DatabaseMetadata metadata = createSampleMetadata();
+        byte[] plain = JsonExporter.toJson(metadata).getBytes(StandardCharsets.UTF_8);
+
+        for (ExportOptions.Compression compression : new ExportOptions.Compression[]{
+                ExportOptions.Compression.GZIP, ExportOptions.Compression.DEFLATE}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportOptions options = ExportOptions.builder().compression(compression).build();
+            ExportResult result = JsonExporter.export(metadata, options, ExportSink.toStream(out));
+
+            assertTrue(result.isSuccess());
+            assertEquals(out.size(), result.getBytesWritten());
+            assertEquals(plain.length, result.getUncompressedBytes());
+            assertTrue(result.getBytesWritten() < result.getUncompressedBytes());
+
+            InputStream compressed = new ByteArrayInputStream(out.toByteArray());
+            try (InputStream in = compression == ExportOptions.Compression.GZIP
+                    ? new GZIPInputStream(compressed)
+                    : new InflaterInputStream(compressed)) {
+                assertArrayEquals(plain, in.readAllBytes());
+            }
+        }
+
+        ExportOptions gzipFile = ExportOptions.builder()
+                .compression(ExportOptions.Compression.GZIP)
+                .outputPath(tempDir.resolve("metadata.json.gz"))
+                .build();
+        ExportResult result = JsonExporter.export(metadata, gzipFile);
+        assertEquals(Files.size(gzipFile.getOutputPath()), result.getBytesWritten());
+        assertEquals(metadata, MetadataReader.read(gzipFile.getOutputPath(), ExportOptions.ExportFormat.JSON,
+                ExportOptions.Compression.GZIP));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonExporter.export(metadata, gzipFile, ExportSink.toWriter(new StringWriter())));
+    }
+
+    @Test
+    @DisplayName("Should stream the same JSON as the tree export")
+    void shouldStreamSameJsonAsTreeExport() throws Exception {
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .productVersion("1.0")
+                .addSchema(SchemaMetadata.builder("empty").owner("admin").build())
+                .addSchema(SchemaMetadata.builder("test_schema")
+                        .addTable(createSampleMetadata().getSchemas().get(0).getTables().get(0))
+                        .addView(ViewMetadata.builder().name("v_users").definition("SELECT 1").build())
+                        .addProcedure(createMetadataWithProcedures().getSchemas().get(0).getProcedures().get(0))
+                        .build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+
+        for (boolean prettyPrint : new boolean[]{true, false}) {
+            ExportOptions options = ExportOptions.builder().prettyPrint(prettyPrint).build();
+            assertEquals(JsonExporter.toJson(metadata, prettyPrint), stream(metadata, options));
+        }
+
+        ExportOptions filtered = ExportOptions.builder()
+                .includeProcedures(false)
+                .includeViewDefinitions(false)
+                .outputPath(tempDir.resolve("filtered.json"))
+                .build();
+        JsonExporter.export(metadata, filtered);
+        assertEquals(Files.readString(filtered.getOutputPath()), stream(metadata, filtered));
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes as databind in every format")
+    void shouldWriteSameBytesAsDatabind() throws Exception {
+        TableMetadata users = createSampleMetadata().getSchemas().get(0).getTables().get(0);
+        TableMetadata orders = TableMetadata.builder("orders")
+                .addColumn(ColumnMetadata.builder("user_id").dataType("INTEGER").comment("Owner")
+                        .defaultValue("0").ordinalPosition(1).build())
+                .addForeignKey(ForeignKeyMetadata.builder().name("fk_orders_users").addColumn("user_id")
+                        .referencedTable("users").addReferencedColumn("id")
+                        .onDelete(ForeignKeyMetadata.ForeignKeyAction.CASCADE).build())
+                .addIndex(IndexMetadata.builder().name("ix_orders_user").type(IndexMetadata.IndexType.BTREE)
+                        .addColumn("user_id", IndexMetadata.SortOrder.ASC, 1).build())
+                .addTrigger(TriggerMetadata.builder("trg_orders").tableName("orders")
+                        .timing(TriggerMetadata.TriggerTiming.AFTER).event(TriggerMetadata.TriggerEvent.DELETE)
+                        .build())
+                .comment("Orders \"placed\" by users\n")
+                .rowCount(7L)
+                .build();
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .url("jdbc:test:shop")
+                .extractedAt(Instant.parse("2024-01-15T10:30:00.120Z"))
+                .addSchema(SchemaMetadata.builder("shop")
+                        .catalog("main")
+                        .addTable(users)
+                        .addTable(orders)
+                        .addView(ViewMetadata.builder().name("v_orders").definition("SELECT * FROM orders")
+                                .comment("Größe").addColumn(orders.getColumns().get(0)).build())
+                        .addProcedure(createMetadataWithProcedures().getSchemas().get(0).getProcedures().get(0))
+                        .build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+
+        for (ExportOptions.ExportFormat format : new ExportOptions.ExportFormat[]{
+                ExportOptions.ExportFormat.JSON, ExportOptions.ExportFormat.SMILE, ExportOptions.ExportFormat.CBOR}) {
+            for (boolean prettyPrint : new boolean[]{true, false}) {
+                ExportOptions options = ExportOptions.builder().format(format).prettyPrint(prettyPrint).build();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                JsonExporter.export(metadata, options, ExportSink.toStream(out));
+
+                assertArrayEquals(JsonExporter.mapper(format, prettyPrint).writeValueAsBytes(metadata),
+                        out.toByteArray(), format + (prettyPrint ? " pretty" : ""));
+            }
+        }
+        assertEquals(JsonExporter.getObjectMapper().writeValueAsString(metadata), JsonExporter.toJson(metadata));
+    }
+
+    private static String stream(DatabaseMetadata metadata, ExportOptions options) throws Exception {
+        JsonStreamWriter writer = new JsonStreamWriter(options);
+        ExplorationContext context = new ExplorationContext(ExplorationOptions.defaults(), null, writer);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.start(ExportSink.toStream(out), metadata);
+        for (SchemaMetadata schema : metadata.getSchemas()) {
+            context.emitSchema(schema);
+        }
+        writer.finish(metadata.getWarnings(), metadata.getExtractedAt());
+
+        assertEquals(out.size(), writer.getBytesWritten());
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
     private DatabaseMetadata createSampleMetadata() {
         ColumnMetadata idCol = ColumnMetadata.builder("id")
                 .dataType("INTEGER")
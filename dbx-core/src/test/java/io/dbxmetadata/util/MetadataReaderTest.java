@@ -0,0 +1,160 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetadataReader Tests")
+class MetadataReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back every export format")
+    void shouldReadBackEveryExportFormat() throws Exception {
+        DatabaseMetadata metadata = createMetadata();
+
+        for (ExportOptions.ExportFormat format : ExportOptions.ExportFormat.values()) {
+            Path path = tempDir.resolve("snapshot." + format.name().toLowerCase());
+            ExportResult result = export(metadata, format, path);
+            assertTrue(result.isSuccess(), format + ": " + result.getErrorMessage());
+
+            DatabaseMetadata read = MetadataReader.read(path, format);
+            assertEquals(metadata.getExtractedAt(), read.getExtractedAt(), format.name());
+            assertEquals(metadata.getWarnings(), read.getWarnings(), format.name());
+            assertEquals(metadata.getSchemas().get(0).getTables(), read.getSchemas().get(0).getTables(), format.name());
+            assertEquals(metadata.getSchemas().get(0).getViews(), read.getSchemas().get(0).getViews(), format.name());
+            assertEquals(metadata.getSchemas().get(0).getProcedures(), read.getSchemas().get(0).getProcedures(),
+                    format.name());
+            if (format != ExportOptions.ExportFormat.NDJSON) {
+                assertEquals(metadata, read, format.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should import schema by schema with warnings and extraction time")
+    void shouldImportSchemaBySchema() throws Exception {
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .userName("reader")
+                .extractedAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .schemas(createMetadata().getSchemas())
+                .addSchema(SchemaMetadata.builder("audit").catalog("main").build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+
+        for (ExportOptions.ExportFormat format : ExportOptions.ExportFormat.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonExporter.export(metadata, ExportOptions.builder().format(format).build(), ExportSink.toStream(out));
+
+            List<SchemaMetadata> schemas = new ArrayList<>();
+            DatabaseMetadata header = MetadataReader.read(new ByteArrayInputStream(out.toByteArray()), format,
+                    schemas::add);
+
+            assertEquals(metadata.getSchemas().get(0).getTables(), schemas.get(0).getTables(), format.name());
+            assertTrue(header.getSchemas().isEmpty());
+            assertEquals(metadata.getWarnings(), header.getWarnings(), format.name());
+            assertEquals(metadata.getExtractedAt(), header.getExtractedAt(), format.name());
+            if (format != ExportOptions.ExportFormat.NDJSON) {
+                assertEquals(metadata.getSchemas(), schemas, format.name());
+                assertEquals("reader", header.getUserName());
+            } else {
+                // Schemas without objects have no lines
+                assertEquals(1, schemas.size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should write binary snapshots smaller than pretty-printed JSON")
+    void shouldWriteSmallerBinarySnapshots() throws Exception {
+        DatabaseMetadata metadata = createMetadata();
+
+        long json = export(metadata, ExportOptions.ExportFormat.JSON, tempDir.resolve("a.json")).getBytesWritten();
+        long smile = export(metadata, ExportOptions.ExportFormat.SMILE, tempDir.resolve("a.smile")).getBytesWritten();
+        long cbor = export(metadata, ExportOptions.ExportFormat.CBOR, tempDir.resolve("a.cbor")).getBytesWritten();
+
+        assertTrue(smile < json, "Smile " + smile + " vs JSON " + json);
+        assertTrue(cbor < json, "CBOR " + cbor + " vs JSON " + json);
+    }
+
+    @Test
+    @DisplayName("Should leave caller streams open and reject writers for binary formats")
+    void shouldLeaveStreamsOpenAndRejectWritersForBinary() throws Exception {
+        DatabaseMetadata metadata = createMetadata();
+        ExportOptions options = ExportOptions.builder().format(ExportOptions.ExportFormat.SMILE).build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(JsonExporter.export(metadata, options, ExportSink.toStream(out)).isSuccess());
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray()) {
+            @Override
+            public void close() {
+                fail("Caller stream was closed");
+            }
+        };
+        assertEquals(metadata, MetadataReader.read(in, ExportOptions.ExportFormat.SMILE));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonExporter.export(metadata, options, ExportSink.toWriter(new StringWriter())));
+    }
+
+    private static ExportResult export(DatabaseMetadata metadata, ExportOptions.ExportFormat format, Path path) {
+        return JsonExporter.export(metadata, ExportOptions.builder().format(format).outputPath(path).build());
+    }
+
+    private static DatabaseMetadata createMetadata() {
+        TableMetadata users = TableMetadata.builder("users")
+                .addColumn(ColumnMetadata.builder("id").dataType("INTEGER").primaryKey(true).nullable(false)
+                        .autoIncrement(true).ordinalPosition(1).build())
+                .addColumn(ColumnMetadata.builder("name").dataType("VARCHAR").size(100).comment("Full name")
+                        .ordinalPosition(2).build())
+                .primaryKey(PrimaryKeyMetadata.builder().name("pk_users").addColumn("id").build())
+                .addIndex(IndexMetadata.builder().name("ix_users_name").unique(true)
+                        .addColumn("name", IndexMetadata.SortOrder.DESC, 1).build())
+                .addTrigger(TriggerMetadata.builder("trg_users").tableName("users")
+                        .timing(TriggerMetadata.TriggerTiming.BEFORE).event(TriggerMetadata.TriggerEvent.INSERT)
+                        .build())
+                .comment("User accounts")
+                .rowCount(42L)
+                .build();
+        TableMetadata orders = TableMetadata.builder("orders")
+                .addColumn(ColumnMetadata.builder("user_id").dataType("INTEGER").ordinalPosition(1).build())
+                .addForeignKey(ForeignKeyMetadata.builder().name("fk_orders_users").addColumn("user_id")
+                        .referencedSchema("app").referencedTable("users").addReferencedColumn("id")
+                        .onDelete(ForeignKeyMetadata.ForeignKeyAction.CASCADE).build())
+                .build();
+
+        return DatabaseMetadata.builder()
+                .productName("TestDB")
+                .productVersion("1.0")
+                .url("jdbc:test:app")
+                .extractedAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .addSchema(SchemaMetadata.builder("app")
+                        .owner("admin")
+                        .addTable(users)
+                        .addTable(orders)
+                        .addView(ViewMetadata.builder().name("v_users").definition("SELECT * FROM users")
+                                .addColumn(users.getColumns().get(0)).build())
+                        .addProcedure(ProcedureMetadata.builder("get_user")
+                                .type(ProcedureMetadata.ProcedureType.FUNCTION)
+                                .returnType("INTEGER")
+                                .addParameter("user_id", "INTEGER", ProcedureMetadata.ParameterMode.IN, 1)
+                                .build())
+                        .build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+    }
+}
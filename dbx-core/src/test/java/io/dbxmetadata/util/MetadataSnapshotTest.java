@@ -0,0 +1,111 @@
+package io.dbxmetadata.util;
+
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetadataSnapshot Tests")
+class MetadataSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back the whole snapshot")
+    void shouldReadBackWholeSnapshot() throws Exception {
+        DatabaseMetadata metadata = createMetadata();
+        Path path = tempDir.resolve("metadata.snapshot");
+
+        ExportResult result = MetadataSnapshot.write(metadata, path);
+        assertTrue(result.isSuccess());
+        assertEquals(Files.size(path), result.getBytesWritten());
+
+        MetadataSnapshot snapshot = MetadataSnapshot.open(path);
+        DatabaseMetadata read = snapshot.toMetadata();
+        assertEquals(metadata, read);
+        assertEquals(metadata.getExtractedAt(), read.getExtractedAt());
+        assertEquals(List.of("app", "audit"), snapshot.getSchemaNames());
+    }
+
+    @Test
+    @DisplayName("Should resolve single tables by name")
+    void shouldResolveSingleTablesByName() throws Exception {
+        DatabaseMetadata metadata = createMetadata();
+        Path path = tempDir.resolve("metadata.snapshot");
+        MetadataSnapshot.write(metadata, path);
+
+        MetadataSnapshot snapshot = MetadataSnapshot.open(path);
+        SchemaMetadata app = metadata.findSchema("app").orElseThrow();
+        assertEquals(List.of("users", "orders", "accounts"), snapshot.getTableNames("app"));
+        for (TableMetadata table : app.getTables()) {
+            assertEquals(table, snapshot.findTable("app", table.getName()).orElseThrow());
+        }
+        assertTrue(snapshot.findTable("app", "missing").isEmpty());
+        assertTrue(snapshot.findTable("missing", "users").isEmpty());
+        assertEquals(app, snapshot.findSchema("app").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not snapshots")
+    void shouldRejectFilesThatAreNotSnapshots() throws Exception {
+        Path path = tempDir.resolve("metadata.json");
+        JsonExporter.export(createMetadata(), new ExportOptions(ExportOptions.ExportFormat.JSON, path));
+
+        assertThrows(IOException.class, () -> MetadataSnapshot.open(path));
+    }
+
+    private static DatabaseMetadata createMetadata() {
+        TableMetadata users = TableMetadata.builder("users")
+                .addColumn(ColumnMetadata.builder("id").dataType("INTEGER").primaryKey(true).nullable(false)
+                        .autoIncrement(true).ordinalPosition(1).build())
+                .addColumn(ColumnMetadata.builder("name").dataType("VARCHAR").size(100).comment("Full name")
+                        .defaultValue("'anonymous'").ordinalPosition(2).build())
+                .primaryKey(PrimaryKeyMetadata.builder().name("pk_users").addColumn("id").build())
+                .addIndex(IndexMetadata.builder().name("ix_users_name").unique(true)
+                        .type(IndexMetadata.IndexType.BTREE)
+                        .addColumn("name", IndexMetadata.SortOrder.DESC, 1).build())
+                .addTrigger(TriggerMetadata.builder("trg_users").tableName("users")
+                        .timing(TriggerMetadata.TriggerTiming.BEFORE).event(TriggerMetadata.TriggerEvent.INSERT)
+                        .definition("EXECUTE FUNCTION audit()").build())
+                .comment("User accounts")
+                .rowCount(42L)
+                .build();
+        TableMetadata orders = TableMetadata.builder("orders")
+                .addColumn(ColumnMetadata.builder("user_id").dataType("INTEGER").ordinalPosition(1).build())
+                .addForeignKey(ForeignKeyMetadata.builder().name("fk_orders_users").addColumn("user_id")
+                        .referencedSchema("app").referencedTable("users").addReferencedColumn("id")
+                        .onDelete(ForeignKeyMetadata.ForeignKeyAction.CASCADE).build())
+                .build();
+
+        return DatabaseMetadata.builder()
+                .productName("TestDB")
+                .productVersion("1.0")
+                .url("jdbc:test:app")
+                .extractedAt(Instant.parse("2024-01-15T10:30:00.123456789Z"))
+                .addSchema(SchemaMetadata.builder("app")
+                        .owner("admin")
+                        .addTable(users)
+                        .addTable(orders)
+                        .addTable(TableMetadata.builder("accounts").type(TableMetadata.TableType.VIEW).build())
+                        .addView(ViewMetadata.builder().name("v_users").definition("SELECT * FROM users")
+                                .updatable(true).addColumn(users.getColumns().get(0)).build())
+                        .addProcedure(ProcedureMetadata.builder("get_user")
+                                .type(ProcedureMetadata.ProcedureType.FUNCTION)
+                                .returnType("INTEGER")
+                                .addParameter("user_id", "INTEGER", ProcedureMetadata.ParameterMode.IN, 1)
+                                .build())
+                        .build())
+                .addSchema(SchemaMetadata.builder("audit").catalog("main").build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+    }
+}
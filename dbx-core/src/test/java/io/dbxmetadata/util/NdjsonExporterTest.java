@@ -0,0 +1,81 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NdjsonExporter Tests")
+class NdjsonExporterTest {
+
+    private static final Instant EXTRACTED_AT = Instant.parse("2024-01-15T10:30:00Z");
+
+    @Test
+    @DisplayName("Should write one self-contained line per object")
+    void shouldWriteOneLinePerObject() throws Exception {
+        List<JsonNode> lines = export(ExportOptions.builder().format(ExportOptions.ExportFormat.NDJSON).build());
+
+        assertEquals(4, lines.size());
+        assertEquals("users", lines.get(0).get("table").get("name").asText());
+        assertEquals("v_users", lines.get(1).get("view").get("name").asText());
+        assertEquals("get_user", lines.get(2).get("procedure").get("name").asText());
+        for (JsonNode line : lines.subList(0, 3)) {
+            assertEquals("test_schema", line.get("schema").asText());
+            assertEquals("2024-01-15T10:30:00Z", line.get("extractedAt").asText());
+        }
+        assertEquals("Permission denied for schema: secret", lines.get(3).get("warning").asText());
+    }
+
+    @Test
+    @DisplayName("Should honor include flags")
+    void shouldHonorIncludeFlags() throws Exception {
+        List<JsonNode> lines = export(ExportOptions.builder()
+                .format(ExportOptions.ExportFormat.NDJSON)
+                .includeProcedures(false)
+                .includeComments(false)
+                .includeViewDefinitions(false)
+                .build());
+
+        assertEquals(3, lines.size());
+        assertFalse(lines.get(0).get("table").has("comment"));
+        assertFalse(lines.get(1).get("view").has("definition"));
+        assertTrue(lines.stream().noneMatch(line -> line.has("procedure")));
+    }
+
+    private static List<JsonNode> export(ExportOptions options) throws Exception {
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .extractedAt(EXTRACTED_AT)
+                .addSchema(SchemaMetadata.builder("test_schema")
+                        .addTable(TableMetadata.builder("users")
+                                .addColumn(ColumnMetadata.builder("id").dataType("INTEGER").build())
+                                .comment("User accounts")
+                                .build())
+                        .addView(ViewMetadata.builder().name("v_users").definition("SELECT 1").build())
+                        .addProcedure(ProcedureMetadata.builder("get_user").build())
+                        .build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = NdjsonExporter.export(metadata, options, ExportSink.toStream(out));
+        assertTrue(result.isSuccess());
+        assertEquals(out.size(), result.getBytesWritten());
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(JsonExporter.getObjectMapper().readTree(line));
+        }
+        return lines;
+    }
+}
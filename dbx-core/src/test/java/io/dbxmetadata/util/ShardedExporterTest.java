@@ -0,0 +1,115 @@
+package io.dbxmetadata.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dbxmetadata.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedExporter Tests")
+class ShardedExporterTest {
+
+    private static final FileTime OLD = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should write one file per schema and a manifest describing them")
+    void shouldWriteOneFilePerSchemaAndManifest() throws Exception {
+        ExportResult result = ShardedExporter.export(createMetadata("users"), options(ExportOptions.Compression.NONE));
+        assertTrue(result.isSuccess());
+
+        JsonNode manifest = JsonExporter.getObjectMapper().readTree(tempDir.resolve("manifest.json").toFile());
+        assertEquals("TestDB", manifest.get("productName").asText());
+        assertEquals(3, manifest.get("shards").size());
+        assertEquals("My_Schema.json", manifest.get("shards").get(2).get("file").asText());
+        for (JsonNode shard : manifest.get("shards")) {
+            byte[] content = Files.readAllBytes(tempDir.resolve(shard.get("file").asText()));
+            assertEquals(content.length, shard.get("bytes").asLong());
+            assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)),
+                    shard.get("sha256").asText());
+        }
+
+        SchemaMetadata app = JsonExporter.getObjectMapper()
+                .readValue(tempDir.resolve("app.json").toFile(), SchemaMetadata.class);
+        assertEquals(createMetadata("users").findSchema("app").orElseThrow(), app);
+    }
+
+    @Test
+    @DisplayName("Should rewrite only the shards whose content changed")
+    void shouldRewriteOnlyChangedShards() throws Exception {
+        ExportOptions options = options(ExportOptions.Compression.GZIP);
+        assertTrue(ShardedExporter.export(createMetadata("users"), options).isSuccess());
+        Files.setLastModifiedTime(tempDir.resolve("app.json.gz"), OLD);
+        Files.setLastModifiedTime(tempDir.resolve("audit.json.gz"), OLD);
+
+        ExportResult result = ShardedExporter.export(createMetadata("customers"), options);
+        assertTrue(result.isSuccess());
+        assertNotEquals(OLD, Files.getLastModifiedTime(tempDir.resolve("app.json.gz")));
+        assertEquals(OLD, Files.getLastModifiedTime(tempDir.resolve("audit.json.gz")));
+    }
+
+    @Test
+    @DisplayName("Should remove shards of schemas that are gone")
+    void shouldRemoveShardsOfSchemasThatAreGone() {
+        ExportOptions options = options(ExportOptions.Compression.NONE);
+        assertTrue(ShardedExporter.export(createMetadata("users"), options).isSuccess());
+        assertTrue(Files.exists(tempDir.resolve("audit.json")));
+
+        DatabaseMetadata metadata = DatabaseMetadata.builder()
+                .productName("TestDB")
+                .addSchema(SchemaMetadata.builder("app").build())
+                .build();
+        assertTrue(ShardedExporter.export(metadata, options).isSuccess());
+        assertFalse(Files.exists(tempDir.resolve("audit.json")));
+        assertTrue(Files.exists(tempDir.resolve("app.json")));
+    }
+
+    @Test
+    @DisplayName("Should refuse NDJSON shards")
+    void shouldRefuseNdjsonShards() {
+        ExportOptions options = ExportOptions.builder()
+                .format(ExportOptions.ExportFormat.NDJSON)
+                .outputPath(tempDir)
+                .sharded(true)
+                .build();
+
+        assertFalse(JsonExporter.export(createMetadata("users"), options).isSuccess());
+    }
+
+    private ExportOptions options(ExportOptions.Compression compression) {
+        return ExportOptions.builder()
+                .outputPath(tempDir)
+                .compression(compression)
+                .sharded(true)
+                .build();
+    }
+
+    private static DatabaseMetadata createMetadata(String tableName) {
+        return DatabaseMetadata.builder()
+                .productName("TestDB")
+                .extractedAt(Instant.now())
+                .addSchema(SchemaMetadata.builder("app")
+                        .addTable(TableMetadata.builder(tableName)
+                                .addColumn(ColumnMetadata.builder("id").dataType("INTEGER").ordinalPosition(1).build())
+                                .build())
+                        .build())
+                .addSchema(SchemaMetadata.builder("audit")
+                        .addTable(TableMetadata.builder("log").build())
+                        .build())
+                .addSchema(SchemaMetadata.builder("My Schema").build())
+                .addWarning("Permission denied for schema: secret")
+                .build();
+    }
+}
@@ -2,11 +2,15 @@ package io.dbxmetadata;
 
 import io.dbxmetadata.api.DatabaseExplorer;
 import io.dbxmetadata.api.DatabaseExplorerFactory;
+import io.dbxmetadata.impl.MetadataCache;
+import io.dbxmetadata.impl.TableCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -22,10 +26,23 @@ public class DbxMetadataAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(DbxMetadataAutoConfiguration.class);
 
+    // Exposed as a bean so applications can read its statistics or invalidate it
     @Bean
     @ConditionalOnMissingBean
-    public DatabaseExplorer databaseExplorer(DataSource dataSource, DbxMetadataProperties properties)
-            throws SQLException {
+    @ConditionalOnProperty(prefix = "dbx.metadata", name = "cache-enabled", havingValue = "true")
+    public MetadataCache metadataCache(DbxMetadataProperties properties) {
+        if (properties.getCacheDirectory() != null) {
+            log.info("Caching metadata for {} in {}", properties.getCacheTtl(), properties.getCacheDirectory());
+            return MetadataCache.withTtl(properties.getCacheTtl(), properties.getCacheDirectory());
+        }
+        log.info("Caching metadata for {}", properties.getCacheTtl());
+        return MetadataCache.withTtl(properties.getCacheTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DatabaseExplorer databaseExplorer(DataSource dataSource, DbxMetadataProperties properties,
+                                             ObjectProvider<MetadataCache> metadataCache) throws SQLException {
 
         if (!properties.isEnabled()) {
             log.info("DBX Metadata is disabled via configuration");
@@ -38,9 +55,21 @@ public class DbxMetadataAutoConfiguration {
             log.debug("Successfully tested database connection");
         }
 
-        // Create explorer with a fresh connection
-        Connection connection = dataSource.getConnection();
-        DatabaseExplorer explorer = DatabaseExplorerFactory.create(connection);
+        MetadataCache cache = metadataCache.getIfAvailable(MetadataCache::disabled);
+        TableCache tableCache = properties.getTableCacheSize() > 0
+                ? new TableCache(properties.getTableCacheSize())
+                : null;
+        DatabaseExplorer explorer;
+        if (properties.getParallelism() > 1 || cache.isEnabled()) {
+            // Borrow pooled connections per exploration, so background cache refreshes never share
+            // a connection with the application's own calls
+            explorer = DatabaseExplorerFactory.create(dataSource, properties.getParallelism(), null, cache,
+                    tableCache);
+        } else {
+            // Create explorer with a fresh connection
+            Connection connection = dataSource.getConnection();
+            explorer = DatabaseExplorerFactory.create(connection, cache, tableCache);
+        }
 
         log.info("DatabaseExplorer configured for {} {}",
                 explorer.getDatabaseProductName(),
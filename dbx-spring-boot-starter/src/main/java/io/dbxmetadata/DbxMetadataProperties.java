@@ -2,6 +2,9 @@ package io.dbxmetadata;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "dbx.metadata")
 public class DbxMetadataProperties {
 
@@ -15,6 +18,23 @@ public class DbxMetadataProperties {
      */
     private boolean cacheEnabled = false;
 
+    /**
+     * How long cached metadata is considered fresh. Older metadata is still served while it is
+     * refreshed in the background.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * Directory where cached metadata is also stored, so a restart begins with the last exploration
+     * while it is validated in the background. Unset keeps the cache in memory only.
+     */
+    private Path cacheDirectory;
+
+    /**
+     * Number of tables kept for reuse by later explorations until invalidated; 0 disables the table cache.
+     */
+    private int tableCacheSize = 0;
+
     /**
      * Default schema to use if not specified.
      */
@@ -40,6 +60,11 @@ public class DbxMetadataProperties {
      */
     private boolean includeViewDefinitions = true;
 
+    /**
+     * Number of pooled connections to explore with; 1 keeps a single dedicated connection.
+     */
+    private int parallelism = 1;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -56,6 +81,30 @@ public class DbxMetadataProperties {
         this.cacheEnabled = cacheEnabled;
     }
 
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public int getTableCacheSize() {
+        return tableCacheSize;
+    }
+
+    public void setTableCacheSize(int tableCacheSize) {
+        this.tableCacheSize = tableCacheSize;
+    }
+
     public String getDefaultSchema() {
         return defaultSchema;
     }
@@ -95,4 +144,12 @@ public class DbxMetadataProperties {
     public void setIncludeViewDefinitions(boolean includeViewDefinitions) {
         this.includeViewDefinitions = includeViewDefinitions;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 }